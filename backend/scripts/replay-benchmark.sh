@@ -0,0 +1,67 @@
+#!/usr/bin/env bash
+#
+# 녹화한 알라딘 요청으로 분석 처리량/지연 측정 (알라딘에 요청하지 않음)
+#
+# 1) 녹화: 평소처럼 실행하면서 요청/응답 기록
+#    java -jar build/libs/*.jar --aladin.archive.mode=record --aladin.archive.path=archive/session.bba
+# 2) 측정: 같은 세션의 분석 요청(BundleRequest JSON, 한 줄에 1건)을 재생 모드 서버에 동시에 보냄
+#    ./scripts/replay-benchmark.sh archive/session.bba requests.jsonl [동시 요청 수, 기본 4]
+#
+# 환경 변수
+#   REPLAY_LATENCY=true   녹화한 네트워크 시간 재현 (기본 false: 파서/스케줄러만 측정)
+#   REQUEST_DELAY_MS=0    요청 간격 (기본 0: 요청 예산 대기 없이 측정, 운영 값과 비교하려면 500)
+#
+set -euo pipefail
+
+cd "$(dirname "$0")/.."
+
+ARCHIVE=${1:?아카이브 파일 경로 필요}
+REQUESTS=${2:?분석 요청 파일 경로 필요 (BundleRequest JSON, 한 줄에 1건)}
+CONCURRENCY=${3:-4}
+PORT=${PORT:-18081}
+BASE_URL="http://localhost:${PORT}/api"
+
+BOOT_JAR=$(ls build/libs/*.jar 2>/dev/null | grep -v -- '-plain.jar' | head -1 || true)
+if [[ -z "$BOOT_JAR" ]]; then
+    echo "./gradlew bootJar 필요"
+    exit 1
+fi
+
+java -jar "$BOOT_JAR" --server.port="${PORT}" \
+    --aladin.archive.mode=replay \
+    --aladin.archive.path="${ARCHIVE}" \
+    --aladin.archive.replay-latency="${REPLAY_LATENCY:-false}" \
+    --aladin.request-delay-ms="${REQUEST_DELAY_MS:-0}" \
+    --bundle.default-time-budget-ms=0 \
+    --bundle.admission.max-wait-ms=86400000 >/dev/null 2>&1 &
+SERVER_PID=$!
+trap 'kill "$SERVER_PID" 2>/dev/null || true; wait "$SERVER_PID" 2>/dev/null || true' EXIT
+
+until curl -sf "${BASE_URL}/health" >/dev/null 2>&1; do
+    if ! kill -0 "$SERVER_PID" 2>/dev/null; then
+        echo "서버 시작 실패 (아카이브 경로 확인: ${ARCHIVE})"
+        exit 1
+    fi
+    sleep 0.1
+done
+
+RESULTS=$(mktemp)
+TOTAL=$(grep -c . "$REQUESTS")
+
+# 요청별: 응답 시간(ms) 상태 코드
+start=$(date +%s%N)
+grep . "$REQUESTS" | xargs -d '\n' -P "$CONCURRENCY" -I{} \
+    curl -s -o /dev/null -w '%{time_total} %{http_code}\n' \
+        -H 'Content-Type: application/json' -d '{}' "${BASE_URL}/bundle/analyze" >> "$RESULTS"
+end=$(date +%s%N)
+
+elapsed_ms=$(( (end - start) / 1000000 ))
+sort -n "$RESULTS" | awk -v total="$TOTAL" -v elapsed="$elapsed_ms" -v c="$CONCURRENCY" '
+    { ms[NR] = $1 * 1000; if ($2 != 200) failed++ }
+    END {
+        printf "분석 %d건 (동시 %d), 전체 %dms, 처리량 %.2f건/초, 실패 %d건\n",
+            total, c, elapsed, total * 1000 / elapsed, failed
+        printf "응답 시간  p50 %dms  p90 %dms  최대 %dms\n",
+            ms[int(NR * 0.5 + 0.5)], ms[int(NR * 0.9 + 0.5)], ms[NR]
+    }'
+rm -f "$RESULTS"
@@ -0,0 +1,78 @@
+#!/usr/bin/env bash
+#
+# 시작 시간 벤치마크: JVM / JVM+AOT / CDS+AOT / 네이티브 이미지
+#
+# 사전 빌드 (없는 모드는 건너뜀):
+#   ./gradlew bootJar          → JVM
+#   ./gradlew cdsArchive       → JVM+AOT, CDS+AOT
+#   ./gradlew nativeCompile    → 네이티브 (GraalVM 필요)
+#
+# 사용법: ./scripts/startup-benchmark.sh [반복 횟수, 기본 5]
+# 측정 구간: 프로세스 시작 → /api/health 첫 응답 (첫 사용자 요청을 받을 수 있는 시점)
+#
+set -euo pipefail
+
+cd "$(dirname "$0")/.."
+
+RUNS=${1:-5}
+PORT=${PORT:-18080}
+HEALTH_URL="http://localhost:${PORT}/api/health"
+
+BOOT_JAR=$(ls build/libs/*.jar 2>/dev/null | grep -v -- '-plain.jar' | head -1 || true)
+CDS_DIR=build/cds
+NATIVE_BIN=build/native/nativeCompile/book-bundle-backend
+
+# $2: 실행 명령 (kill이 애플리케이션에 전달되도록 exec로 실행)
+measure() {
+    local name=$1
+    local command=$2
+    local times=()
+
+    for _ in $(seq "$RUNS"); do
+        local start end pid
+        start=$(date +%s%N)
+        bash -c "${command} --server.port=${PORT}" >/dev/null 2>&1 &
+        pid=$!
+
+        until curl -sf "$HEALTH_URL" >/dev/null 2>&1; do
+            if ! kill -0 "$pid" 2>/dev/null; then
+                echo "${name}: 실행 실패 (${command})"
+                return
+            fi
+            sleep 0.02
+        done
+        end=$(date +%s%N)
+
+        kill "$pid"
+        wait "$pid" 2>/dev/null || true
+        times+=($(( (end - start) / 1000000 )))
+    done
+
+    local sorted
+    sorted=($(printf '%s\n' "${times[@]}" | sort -n))
+    printf "%-10s 중앙값 %6dms  (최소 %dms, 최대 %dms, %d회)\n" \
+        "$name" "${sorted[$((RUNS / 2))]}" "${sorted[0]}" "${sorted[-1]}" "$RUNS"
+}
+
+echo "시작 시간 벤치마크 (포트 ${PORT}, ${RUNS}회 반복)"
+echo "------------------------------------------------------------"
+
+if [[ -n "$BOOT_JAR" ]]; then
+    measure "JVM" "exec java -jar ${BOOT_JAR}"
+else
+    echo "JVM:       건너뜀 (./gradlew bootJar 필요)"
+fi
+
+if [[ -f "${CDS_DIR}/application.jsa" ]]; then
+    # CDS 아카이브는 만들 때와 같은 클래스패스(상대 경로)로 실행해야 적용됨
+    measure "JVM+AOT" "cd ${CDS_DIR} && exec java -Dspring.aot.enabled=true -jar application.jar"
+    measure "CDS+AOT" "cd ${CDS_DIR} && exec java -XX:SharedArchiveFile=application.jsa -Dspring.aot.enabled=true -jar application.jar"
+else
+    echo "CDS+AOT:   건너뜀 (./gradlew cdsArchive 필요)"
+fi
+
+if [[ -x "$NATIVE_BIN" ]]; then
+    measure "Native" "exec ${NATIVE_BIN}"
+else
+    echo "Native:    건너뜀 (./gradlew nativeCompile 필요, GraalVM JDK)"
+fi
@@ -3,19 +3,21 @@ package com.bookbundle.config;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.scheduling.annotation.EnableAsync;
+import org.springframework.scheduling.annotation.EnableScheduling;
 import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 
 import java.util.concurrent.Executor;
 
 /**
- * 비동기 처리를 위한 ThreadPool 설정
+ * 비동기 처리를 위한 ThreadPool 설정 (+ 주기 작업: 판매자-책 그래프 정리)
  */
 @Configuration
 @EnableAsync
+@EnableScheduling
 public class AsyncConfig {
 
     /**
-     * 크롤링 작업용 스레드 풀
+     * 크롤링 작업용 스레드 풀 (CrawlScheduler가 요청 슬롯 수만큼만 작업을 넘김)
      * - corePoolSize: 5 (동시 5개 요청)
      * - maxPoolSize: 10 (최대 10개)
      * - queueCapacity: 100
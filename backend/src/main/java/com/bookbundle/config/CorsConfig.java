@@ -31,6 +31,9 @@ public class CorsConfig {
         // 허용할 헤더
         config.setAllowedHeaders(List.of("*"));
         
+        // 브라우저에서 읽을 수 있는 응답 헤더 (과부하 시 재시도 대기 시간)
+        config.setExposedHeaders(List.of("Retry-After"));
+        
         // 자격 증명 허용
         config.setAllowCredentials(true);
         
@@ -0,0 +1,62 @@
+package com.bookbundle.config;
+
+import com.bookbundle.crawler.AladinCrawlerService;
+import com.bookbundle.dto.BatchBundleRequest;
+import com.bookbundle.dto.BookItem;
+import com.bookbundle.dto.BookSearchPage;
+import com.bookbundle.dto.BookSearchResult;
+import com.bookbundle.dto.BundleRequest;
+import com.bookbundle.dto.BundleResult;
+import com.bookbundle.dto.PrefetchRequest;
+import com.bookbundle.dto.SellerInfo;
+import com.bookbundle.dto.WatchRequest;
+import com.bookbundle.dto.WatchStatus;
+import com.bookbundle.service.SellerHitStatistics;
+import org.springframework.aot.hint.MemberCategory;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.RuntimeHintsRegistrar;
+import org.springframework.aot.hint.annotation.RegisterReflectionForBinding;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.ImportRuntimeHints;
+
+/**
+ * AOT / 네이티브 이미지용 런타임 힌트
+ * - DTO: Jackson 직렬화/역직렬화 + Bean Validation (리플렉션 접근)
+ * - 캐시 항목: Redis 저장소의 JSON 변환
+ * - Jsoup: 리플렉션으로 생성하는 내부 클래스 (문자 엔티티는 클래스에 포함되어 있어 리소스 힌트 불필요)
+ *
+ * JVM 실행에는 영향 없음 (processAot / nativeCompile 시에만 사용)
+ */
+@Configuration(proxyBeanMethods = false)
+@ImportRuntimeHints(RuntimeHintsConfig.BookBundleRuntimeHints.class)
+@RegisterReflectionForBinding({
+        BookItem.class,
+        BookItem.Quality.class,
+        BookSearchResult.class,
+        BookSearchPage.class,
+        BundleRequest.class,
+        BatchBundleRequest.class,
+        BundleResult.class,
+        PrefetchRequest.class,
+        SellerInfo.class,
+        SellerInfo.SellerBookItem.class,
+        WatchRequest.class,
+        WatchStatus.class,
+        AladinCrawlerService.CachedVerification.class,
+        AladinCrawlerService.UsedSummary.class,
+        AladinCrawlerService.SearchPage.class,
+        AladinCrawlerService.SellerMetadata.class,
+        SellerHitStatistics.Counts.class
+})
+public class RuntimeHintsConfig {
+
+    static class BookBundleRuntimeHints implements RuntimeHintsRegistrar {
+
+        @Override
+        public void registerHints(RuntimeHints hints, ClassLoader classLoader) {
+            // Jsoup이 연결 시 Class.forName으로 생성하는 인증 처리기 (Java 9+ 구현)
+            hints.reflection().registerTypeIfPresent(classLoader, "org.jsoup.helper.RequestAuthHandler",
+                    MemberCategory.INVOKE_DECLARED_CONSTRUCTORS);
+        }
+    }
+}
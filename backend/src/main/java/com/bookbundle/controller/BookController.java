@@ -1,20 +1,38 @@
 package com.bookbundle.controller;
 
+import com.bookbundle.dto.BatchBundleRequest;
+import com.bookbundle.dto.BookSearchPage;
 import com.bookbundle.dto.BookSearchResult;
 import com.bookbundle.dto.BundleRequest;
 import com.bookbundle.dto.BundleResult;
+import com.bookbundle.dto.PrefetchRequest;
+import com.bookbundle.dto.WatchRequest;
+import com.bookbundle.dto.WatchStatus;
+import com.bookbundle.service.AnalysisOverloadedException;
 import com.bookbundle.service.BookBundleService;
+import com.bookbundle.service.BookSearchService;
+import com.bookbundle.service.BundleWatchService;
+import com.bookbundle.service.CartPrefetchService;
+import com.bookbundle.service.SearchEnrichmentService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.async.DeferredResult;
 
 import java.io.IOException;
 import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 
 /**
  * 북번들 REST API 컨트롤러
+ * 분석 API는 비동기로 응답 (분석이 끝날 때까지 요청 스레드를 점유하지 않음)
  */
 @Slf4j
 @RestController
@@ -23,44 +41,218 @@ import java.util.List;
 @CrossOrigin(origins = "http://localhost:5173")
 public class BookController {
 
+    // 클라이언트가 분석을 취소한 경우의 응답 코드 (응답을 기다리는 쪽이 없음)
+    private static final int STATUS_CLIENT_CLOSED_REQUEST = 499;
+
+    // 분석 시간 제한에 더하는 응답 여유 시간 (결과 정리 + 전송)
+    private static final long ASYNC_TIMEOUT_MARGIN_MS = 5000;
+
+    // 검색 결과 보강은 응답 시간 제한 없음 (서비스에서 대기 시간 제한)
+    private static final long NO_ASYNC_TIMEOUT = 0;
+
+    // 검색 결과 보강 요청 1회당 최대 책 수 (검색 결과 1페이지 분량)
+    private static final int MAX_ENRICHMENT_ITEMS = BookSearchService.MAX_PAGE_SIZE;
+
     private final BookBundleService bookBundleService;
+    private final BookSearchService bookSearchService;
+    private final SearchEnrichmentService searchEnrichmentService;
+    private final BundleWatchService bundleWatchService;
+    private final CartPrefetchService cartPrefetchService;
+
+    @Value("${bundle.async-timeout-ms}")
+    private long asyncTimeoutMs;
+
+    @Value("${bundle.batch.time-budget-ms}")
+    private long batchTimeBudgetMs;
 
     /**
      * 책 검색 API
-     * GET /api/books/search?keyword=클린코드
+     * GET /api/books/search?keyword=클린코드&cursor=2.5&size=20
+     * 커서 위치부터 size건 (cursor는 이전 응답의 nextCursor, 없으면 처음부터)
+     * 필요한 알라딘 결과 페이지만 조회해 바로 응답 (비어 있는 중고 정보는 캐시에서 채우고 나머지는 백그라운드 조회)
      */
     @GetMapping("/books/search")
-    public ResponseEntity<List<BookSearchResult>> searchBooks(
-            @RequestParam String keyword) {
+    public ResponseEntity<BookSearchPage> searchBooks(
+            @RequestParam String keyword,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size) {
+        
+        log.info("책 검색 요청: {} (커서: {}, {}건)", keyword, cursor, size);
         
-        log.info("책 검색 요청: {}", keyword);
+        if (keyword.isBlank() || size < 1 || size > BookSearchService.MAX_PAGE_SIZE) {
+            return ResponseEntity.badRequest().build();
+        }
         
         try {
-            List<BookSearchResult> results = bookBundleService.searchBooks(keyword);
-            return ResponseEntity.ok(results);
+            BookSearchPage page = bookSearchService.search(keyword, cursor, size);
+            searchEnrichmentService.enrich(page.getItems());
+            return ResponseEntity.ok(page);
+        } catch (IllegalArgumentException e) {
+            log.warn("책 검색 요청 오류: {}", e.getMessage());
+            return ResponseEntity.badRequest().build();
         } catch (IOException e) {
             log.error("책 검색 실패", e);
             return ResponseEntity.internalServerError().build();
         }
     }
 
+    /**
+     * 검색 결과 보강 API
+     * GET /api/books/enrichment?itemIds=1,2,3
+     * 책별 중고 판매자 수/최저가 (조회 중인 책은 끝날 때까지 기다렸다가 응답, 끝나지 않은 책은 제외)
+     */
+    @GetMapping("/books/enrichment")
+    public DeferredResult<ResponseEntity<List<BookSearchResult>>> getEnrichment(
+            @RequestParam List<Long> itemIds) {
+        
+        if (itemIds.size() > MAX_ENRICHMENT_ITEMS) {
+            DeferredResult<ResponseEntity<List<BookSearchResult>>> badRequest = new DeferredResult<>();
+            badRequest.setResult(ResponseEntity.badRequest().build());
+            return badRequest;
+        }
+        
+        return toDeferredResult(searchEnrichmentService.getEnrichment(itemIds), NO_ASYNC_TIMEOUT, "검색 결과 보강");
+    }
+
     /**
      * 북번들 분석 API
      * POST /api/bundle/analyze
      */
     @PostMapping("/bundle/analyze")
-    public ResponseEntity<BundleResult> analyzeBundle(
+    public DeferredResult<ResponseEntity<BundleResult>> analyzeBundle(
             @Valid @RequestBody BundleRequest request) {
         
         log.info("북번들 분석 요청: {}권", request.getBooks().size());
         
-        try {
-            BundleResult result = bookBundleService.analyzeBundle(request);
-            return ResponseEntity.ok(result);
-        } catch (Exception e) {
-            log.error("북번들 분석 실패", e);
-            return ResponseEntity.internalServerError().build();
-        }
+        // 분석 자체의 시간 제한이 더 길면 그만큼 기다림 (응답 시간 초과는 안전장치)
+        long timeoutMs = request.getTimeBudgetMs() != null
+                ? Math.max(asyncTimeoutMs, request.getTimeBudgetMs() + ASYNC_TIMEOUT_MARGIN_MS)
+                : asyncTimeoutMs;
+        
+        return toDeferredResult(bookBundleService.analyzeBundle(request), timeoutMs, "북번들 분석");
+    }
+
+    /**
+     * 장바구니 미리 조회 API
+     * POST /api/bundle/prefetch
+     * 확장이 장바구니를 추출하면 호출, 분석 요청 전에 원본 ID/판매자 목록을 낮은 몫으로 조회 (바로 202 응답)
+     */
+    @PostMapping("/bundle/prefetch")
+    public ResponseEntity<Void> prefetchCart(@Valid @RequestBody PrefetchRequest request) {
+        int scheduled = cartPrefetchService.prefetch(request.getItemIds());
+        log.info("장바구니 미리 조회 요청: {}건 (새로 등록 {}건)", request.getItemIds().size(), scheduled);
+        return ResponseEntity.accepted().build();
+    }
+
+    /**
+     * 북번들 분석 취소 API
+     * POST /api/bundle/analyze/{clientId}/cancel
+     * 탭을 닫을 때 진행 중인 분석의 크롤링 중단 (navigator.sendBeacon으로 호출)
+     */
+    @PostMapping("/bundle/analyze/{clientId}/cancel")
+    public ResponseEntity<Void> cancelAnalysis(@PathVariable String clientId) {
+        boolean cancelled = bookBundleService.cancelAnalysis(clientId);
+        return cancelled ? ResponseEntity.noContent().build() : ResponseEntity.notFound().build();
+    }
+
+    /**
+     * 북번들 일괄 분석 API
+     * POST /api/bundle/analyze/batch
+     * 여러 장바구니가 책/판매자 조회 결과를 공유 (요청 순서대로 결과 반환)
+     * 단건 분석과 같이 과부하면 503 + Retry-After, 일괄 분석 시간 제한 + 여유 시간까지 응답
+     */
+    @PostMapping("/bundle/analyze/batch")
+    public DeferredResult<ResponseEntity<List<BundleResult>>> analyzeBundles(
+            @Valid @RequestBody BatchBundleRequest request) {
+        
+        log.info("북번들 일괄 분석 요청: 장바구니 {}개", request.getRequests().size());
+        
+        long timeoutMs = batchTimeBudgetMs > 0 ? batchTimeBudgetMs + ASYNC_TIMEOUT_MARGIN_MS : NO_ASYNC_TIMEOUT;
+        return toDeferredResult(bookBundleService.analyzeBundles(request.getRequests()), timeoutMs, "북번들 일괄 분석");
+    }
+
+    /**
+     * 번들 감시 등록 API
+     * POST /api/watches
+     * 조건을 만족하는 판매자가 나타나면 감시 상태의 matches에 담김 (감시 수 초과 시 503)
+     */
+    @PostMapping("/watches")
+    public ResponseEntity<WatchStatus> registerWatch(@Valid @RequestBody WatchRequest request) {
+        log.info("번들 감시 등록 요청: {}권", request.getBooks().size());
+        
+        return bundleWatchService.register(request)
+                .map(ResponseEntity::ok)
+                .orElseGet(() -> ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).build());
+    }
+
+    /**
+     * 번들 감시 상태 API
+     * GET /api/watches/{watchId}
+     */
+    @GetMapping("/watches/{watchId}")
+    public ResponseEntity<WatchStatus> getWatch(@PathVariable String watchId) {
+        return bundleWatchService.get(watchId)
+                .map(ResponseEntity::ok)
+                .orElseGet(() -> ResponseEntity.notFound().build());
+    }
+
+    /**
+     * 번들 감시 삭제 API
+     * DELETE /api/watches/{watchId}
+     */
+    @DeleteMapping("/watches/{watchId}")
+    public ResponseEntity<Void> removeWatch(@PathVariable String watchId) {
+        boolean removed = bundleWatchService.remove(watchId);
+        return removed ? ResponseEntity.noContent().build() : ResponseEntity.notFound().build();
+    }
+
+    /**
+     * 분석 결과를 비동기 응답으로 변환
+     * - 성공: 200, 취소: 499, 실패: 500
+     * - 대기 작업이 많아 분석을 받지 않음: 503 + Retry-After
+     * - 응답 시간 초과: 503 (진행 중인 분석 취소)
+     * - 요청 연결 오류 (클라이언트 연결 끊김 등): 진행 중인 분석 취소
+     * 
+     * @param timeoutMs 응답 시간 제한 (0이면 제한 없음)
+     */
+    private <T> DeferredResult<ResponseEntity<T>> toDeferredResult(
+            CompletableFuture<T> future, long timeoutMs, String name) {
+        
+        DeferredResult<ResponseEntity<T>> deferred = new DeferredResult<>(timeoutMs);
+        
+        deferred.onTimeout(() -> {
+            log.warn("{} 응답 시간 초과: {}ms", name, timeoutMs);
+            deferred.setResult(ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).build());
+            future.cancel(false);
+        });
+        deferred.onError(e -> {
+            log.info("{} 요청 연결 오류, 분석 중단: {}", name, e.toString());
+            future.cancel(false);
+        });
+        
+        future.whenComplete((result, e) -> {
+            if (e == null) {
+                deferred.setResult(ResponseEntity.ok(result));
+                return;
+            }
+            
+            Throwable cause = e instanceof CompletionException && e.getCause() != null ? e.getCause() : e;
+            if (cause instanceof AnalysisOverloadedException overloaded) {
+                log.warn("{} 거부 (과부하): {}", name, cause.getMessage());
+                deferred.setResult(ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                        .header(HttpHeaders.RETRY_AFTER, String.valueOf(overloaded.getRetryAfterSeconds()))
+                        .build());
+            } else if (cause instanceof CancellationException) {
+                // 클라이언트가 새 분석을 요청했거나 취소함
+                log.info("{} 취소됨", name);
+                deferred.setResult(ResponseEntity.status(STATUS_CLIENT_CLOSED_REQUEST).build());
+            } else {
+                log.error("{} 실패", name, cause);
+                deferred.setResult(ResponseEntity.internalServerError().build());
+            }
+        });
+        
+        return deferred;
     }
 
     /**
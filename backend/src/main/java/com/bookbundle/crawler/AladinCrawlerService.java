@@ -1,9 +1,12 @@
 package com.bookbundle.crawler;
 
+import com.bookbundle.crawler.CrawlProfiler.UrlClass;
+import com.bookbundle.crawler.SellerBookGraph.ListedSeller;
 import com.bookbundle.dto.BookItem;
 import com.bookbundle.dto.BookSearchResult;
 import com.bookbundle.dto.SellerInfo;
 import com.bookbundle.dto.SellerInfo.SellerBookItem;
+import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.jsoup.Jsoup;
 import org.jsoup.nodes.Document;
@@ -12,7 +15,10 @@ import org.jsoup.select.Elements;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
+import java.io.ByteArrayInputStream;
 import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.time.Duration;
 import java.util.*;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
@@ -22,41 +28,193 @@ import java.util.regex.Pattern;
  */
 @Slf4j
 @Service
+@RequiredArgsConstructor
 public class AladinCrawlerService {
 
     @Value("${aladin.base-url}")
     private String baseUrl;
 
-    @Value("${aladin.request-delay-ms}")
-    private int requestDelayMs;
+    // 판매자-책 검증 결과 보관 시간 (보유: 가격/등급이 바뀌거나 팔릴 수 있어 짧게, 미보유: 따로 설정)
+    @Value("${aladin.verification-cache.found-ttl}")
+    private Duration verificationFoundTtl;
 
-    @Value("${aladin.user-agent}")
-    private String userAgent;
+    @Value("${aladin.verification-cache.not-found-ttl}")
+    private Duration verificationNotFoundTtl;
+
+    // 판매자 정보 보관 시간 (배송비 정책/유형은 거의 바뀌지 않으므로 길게)
+    @Value("${aladin.seller-metadata.ttl}")
+    private Duration sellerMetadataTtl;
+
+    // 상점 검색 페이지에서 판매자 정보를 다시 저장하는 기준 (이보다 최근 정보가 있으면 파싱/저장 생략)
+    @Value("${bundle.seller-metadata.refresh-after}")
+    private Duration sellerMetadataRefreshAfter;
+
+    private final RequestThrottle requestThrottle;
+    private final CrawlCoordinationStore coordinationStore;
+    private final PageFetcher pageFetcher;
+    private final SellerBookGraph sellerGraph;
+
+    // 판매자 코드 -> 이 노드가 저장하거나 읽은 판매자 정보의 fetchedAt (접근 순서, 넘으면 가장 오래 안 쓴 판매자부터 제거)
+    private static final int MAX_KNOWN_SELLER_METADATA = 10_000;
+    private final LinkedHashMap<String, Long> knownSellerMetadataAt = new LinkedHashMap<>(256, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, Long> eldest) {
+            return size() > MAX_KNOWN_SELLER_METADATA;
+        }
+    };
 
     private static final Pattern SC_PATTERN = Pattern.compile("SC=(\\d+)");
     private static final Pattern ITEM_ID_PATTERN = Pattern.compile("ItemId=(\\d+)");
+    private static final Pattern ISBN13_PATTERN = Pattern.compile("ISBN=(97[89]\\d{10})(?!\\d)", Pattern.CASE_INSENSITIVE);
     private static final Pattern PRICE_PATTERN = Pattern.compile("([\\d,]+)원");
     // 화살표 뒤의 실제 판매가 패턴 (17,000원→13,980원 형식에서 판매가 추출)
     private static final Pattern SELLING_PRICE_PATTERN = Pattern.compile("→([\\d,]+)원");
     
-    // 중고 상품 ID -> 원본 책 ID 매핑 캐시 (중복 요청 방지)
-    private final Map<Long, Long> originalIdCache = new HashMap<>();
+    // 상점 정보의 배송비/무료배송 기준/만족도 패턴 (배송비 2,500원, 20,000원 이상 무료, 만족도 98.5%)
+    private static final Pattern SHIPPING_FEE_PATTERN = Pattern.compile("배송비\\s*:?\\s*([\\d,]+)원");
+    private static final Pattern FREE_SHIPPING_FEE_PATTERN = Pattern.compile("배송비\\s*:?\\s*무료");
+    private static final Pattern FREE_SHIPPING_THRESHOLD_PATTERN = Pattern.compile("([\\d,]+)원\\s*이상[^\\d]{0,15}무료");
+    private static final Pattern SATISFACTION_PATTERN = Pattern.compile("만족도\\s*:?\\s*([\\d.]+)\\s*%");
+    
+    // 판매자 이름 옆 배지 (중고 모두보기에서는 이름과 별도 링크)
+    private static final List<String> SELLER_BADGES = List.of("전문셀러", "실버셀러");
+    private static final String GENERAL_SELLER = "일반";
+    
+    // 판매 목록의 등급 표기
+    private static final List<String> QUALITY_GRADES = List.of("최상", "상", "중", "하");
+    
+    // 중고 상품 ID -> 원본 책 ID 매핑 캐시 (중복 요청 방지, 노드 간 공유)
+    private static final String ORIGINAL_ID_CACHE = "original-id";
+    private static final Duration ORIGINAL_ID_TTL = Duration.ofDays(7);
+
+    // 판매자-책 상세 검증 결과 캐시 ("판매자코드:원본ID", 노드 간 공유)
+    private static final String VERIFICATION_CACHE = "seller-book";
+
+    // 판매자-책 그래프 (노드 메모리, 프로파일 캐시 통계 이름)
+    private static final String SELLER_GRAPH = "seller-graph";
+
+    // 판매자 정보 캐시 (판매자 코드, 노드 간 공유)
+    private static final String SELLER_METADATA_CACHE = "seller-metadata";
+
+    // 검색 결과 페이지 캐시 ("페이지:검색어", 노드 간 공유) + 알라딘에 요청하는 페이지 크기
+    private static final String SEARCH_PAGE_CACHE = "search-page";
+    private static final Duration SEARCH_PAGE_TTL = Duration.ofMinutes(10);
+    public static final int SEARCH_PAGE_SIZE = 25;
+
+    // 책별 중고 요약 캐시 (검색 결과 보강용)
+    private static final String USED_SUMMARY_CACHE = "used-summary";
+    private static final Duration USED_SUMMARY_TTL = Duration.ofMinutes(30);
+
+    /**
+     * 책별 중고 요약 (판매자 수 + 판매 행에서 읽은 최저가, 읽지 못했으면 null)
+     */
+    public record UsedSummary(int sellerCount, Integer minPrice) {
+    }
+
+    /**
+     * 검색 결과 한 페이지 (last: 다음 페이지 없음)
+     */
+    public record SearchPage(List<BookSearchResult> items, boolean last) {
+    }
+
+    /**
+     * 판매자 정보 (상점 페이지에서 읽지 못한 값은 null, fetchedAt: 읽은 시각)
+     */
+    public record SellerMetadata(String sellerType, Double satisfactionRate, Integer shippingFee,
+                                 Integer freeShippingThreshold, long fetchedAt) {
+
+        /**
+         * 배송비 정책을 읽었는지 (못 읽었으면 총액 계산에 기본 배송비 사용)
+         */
+        public boolean hasShippingPolicy() {
+            return shippingFee != null;
+        }
+    }
+
+    /**
+     * 판매자-책 검증 결과 캐시 항목 (미보유도 저장해 같은 상점 검색을 반복하지 않음)
+     */
+    public record CachedVerification(boolean found, String quality, Integer price, String productUrl) {
+
+        /**
+         * 요청한 책 기준 검증 결과로 변환 (미보유면 empty)
+         */
+        public Optional<SellerBookItem> toBookItem(Long itemId, String title) {
+            if (!found) return Optional.empty();
+            return Optional.of(SellerBookItem.builder()
+                    .itemId(itemId)
+                    .title(title)
+                    .quality(quality)
+                    .price(price)
+                    .productUrl(productUrl)
+                    .build());
+        }
+    }
 
     /**
-     * 책 제목으로 검색
+     * 요청 예산(동시 요청 수 + 요청 간격) 안에서 페이지 조회 (aladin.archive.mode에 따라 직접 요청/녹화/재생)
+     * 분석이 취소되어 스레드가 인터럽트되면 요청 대기/본문 읽기를 중단하고 InterruptedException
+     * 프로파일 대상 분석의 작업이면 대기/네트워크/파싱 시간 기록
      */
-    public List<BookSearchResult> searchBooks(String keyword) throws IOException {
+    private Document fetch(UrlClass urlClass, String url, int timeoutMs) throws IOException, InterruptedException {
+        CrawlProfiler profiler = CrawlProfiler.current();
+        CrawlProfiler.Fetch timing = profiler != null ? profiler.startFetch(urlClass, url) : null;
+        try {
+            return fetch(url, timeoutMs, timing);
+        } catch (Exception e) {
+            if (timing != null) timing.failed(e);
+            throw e;
+        }
+    }
+
+    private Document fetch(String url, int timeoutMs, CrawlProfiler.Fetch timing) throws IOException, InterruptedException {
+        long pacingWaitNanos = requestThrottle.acquire();
+        if (timing != null) timing.acquired(pacingWaitNanos);
+        try {
+            PageFetcher.Page page = pageFetcher.fetch(url, timeoutMs);
+            if (timing != null) timing.received();
+            
+            Document doc = Jsoup.parse(new ByteArrayInputStream(page.body()), page.charset(), page.url());
+            if (timing != null) timing.parsed();
+            
+            // Jsoup은 본문을 읽다가 인터럽트되면 읽은 데까지만 반환하므로, 잘린 페이지를 결과로 쓰지 않음
+            if (Thread.interrupted()) {
+                throw new InterruptedException("요청 중단: " + url);
+            }
+            return doc;
+        } finally {
+            requestThrottle.release();
+        }
+    }
+
+    /**
+     * 검색 결과 한 페이지 조회 (page: 1부터, 캐시 우선)
+     * 결과가 페이지 크기(SEARCH_PAGE_SIZE)보다 적으면 마지막 페이지로 봄
+     */
+    public SearchPage searchBooks(String keyword, int page) throws IOException {
+        Optional<SearchPage> cached = getCachedSearchPage(keyword, page);
+        if (cached.isPresent()) {
+            return cached.get();
+        }
+        
         String url = baseUrl + "/search/wsearchresult.aspx?SearchTarget=Used&KeyWord=" + 
-                     java.net.URLEncoder.encode(keyword, "UTF-8");
+                     java.net.URLEncoder.encode(keyword, "UTF-8") +
+                     "&ViewRowsCount=" + SEARCH_PAGE_SIZE + "&page=" + page;
         
-        log.info("책 검색: {}", keyword);
+        log.info("책 검색: {} ({}페이지)", keyword, page);
         
-        Document doc = Jsoup.connect(url)
-                .userAgent(userAgent)
-                .timeout(10000)
-                .get();
+        Document doc;
+        try {
+            doc = fetch(UrlClass.SEARCH, url, 10000);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("책 검색 중단: " + keyword);
+        }
 
-        List<BookSearchResult> results = new ArrayList<>();
+        // 같은 책이 여러 요소에 걸쳐 나올 수 있으므로 ItemId로 중복 제거 (페이지 순서 유지)
+        // 마지막 페이지 여부는 중복 제거 전 행 수로 판단 (중복이 있는 꽉 찬 페이지를 마지막으로 보지 않도록)
+        Map<Long, BookSearchResult> results = new LinkedHashMap<>();
+        int rowCount = 0;
         
         // 검색 결과 파싱
         Elements items = doc.select(".ss_book_box");
@@ -65,7 +223,8 @@ public class AladinCrawlerService {
             try {
                 BookSearchResult book = parseSearchResult(item);
                 if (book != null && book.getItemId() != null) {
-                    results.add(book);
+                    rowCount++;
+                    results.putIfAbsent(book.getItemId(), book);
                 }
             } catch (Exception e) {
                 log.warn("검색 결과 파싱 실패: {}", e.getMessage());
@@ -77,9 +236,10 @@ public class AladinCrawlerService {
             Elements altItems = doc.select("[class*='ss_book']");
             for (Element item : altItems) {
                 try {
-                    BookSearchResult book = parseSearchResultAlt(item, doc);
+                    BookSearchResult book = parseSearchResultAlt(item);
                     if (book != null && book.getItemId() != null) {
-                        results.add(book);
+                        rowCount++;
+                        results.putIfAbsent(book.getItemId(), book);
                     }
                 } catch (Exception e) {
                     log.warn("대체 파싱 실패: {}", e.getMessage());
@@ -87,8 +247,22 @@ public class AladinCrawlerService {
             }
         }
         
-        log.info("검색 결과: {}건", results.size());
-        return results;
+        SearchPage result = new SearchPage(new ArrayList<>(results.values()), rowCount < SEARCH_PAGE_SIZE);
+        coordinationStore.putCached(SEARCH_PAGE_CACHE, searchPageKey(keyword, page), result, SEARCH_PAGE_TTL);
+        
+        log.info("검색 결과: {}건 ({}페이지{})", result.items().size(), page, result.last() ? ", 마지막" : "");
+        return result;
+    }
+
+    /**
+     * 검색 결과 페이지 캐시 조회 (없거나 만료되었으면 empty)
+     */
+    public Optional<SearchPage> getCachedSearchPage(String keyword, int page) {
+        return coordinationStore.getCached(SEARCH_PAGE_CACHE, searchPageKey(keyword, page), SearchPage.class);
+    }
+
+    private String searchPageKey(String keyword, int page) {
+        return page + ":" + keyword;
     }
 
     private BookSearchResult parseSearchResult(Element item) {
@@ -117,24 +291,33 @@ public class AladinCrawlerService {
             if (parts.length > 1) publisher = parts[1].trim();
         }
         
+        // ISBN (결과 안 링크에 있으면, 판매자 상점 검증을 ISBN 검색으로 하기 위해)
+        Matcher isbnMatcher = ISBN13_PATTERN.matcher(item.html());
+        String isbn13 = isbnMatcher.find() ? isbnMatcher.group(1) : null;
+        
         // 표지 이미지
         Element coverEl = item.selectFirst("img[src*='cover']");
         String cover = coverEl != null ? coverEl.attr("src") : "";
         
-        // 중고 정보
+        // 중고 정보 (결과 페이지에 없으면 null → 중고 요약으로 나중에 보강)
         Element usedEl = item.selectFirst("a[href*='TabType=1']");
-        int usedCount = 0;
-        int usedMinPrice = 0;
+        Integer usedCount = null;
+        Integer usedMinPrice = null;
         if (usedEl != null) {
             String usedText = usedEl.text();
             Matcher countMatcher = Pattern.compile("\\((\\d+)\\)").matcher(usedText);
             if (countMatcher.find()) {
                 usedCount = Integer.parseInt(countMatcher.group(1));
             }
+            Matcher priceMatcher = PRICE_PATTERN.matcher(usedText);
+            if (priceMatcher.find()) {
+                usedMinPrice = Integer.parseInt(priceMatcher.group(1).replace(",", ""));
+            }
         }
         
         return BookSearchResult.builder()
                 .itemId(itemId)
+                .isbn13(isbn13)
                 .title(title)
                 .author(author)
                 .publisher(publisher)
@@ -144,9 +327,11 @@ public class AladinCrawlerService {
                 .build();
     }
     
-    private BookSearchResult parseSearchResultAlt(Element item, Document doc) {
-        // 대체 파싱 로직
-        Elements links = doc.select("a[href*='wuseditemall'][href*='ItemId']");
+    /**
+     * 대체 파싱 (결과 요소 안의 중고 모두보기 링크에서 ItemId/제목 추출)
+     */
+    private BookSearchResult parseSearchResultAlt(Element item) {
+        Elements links = item.select("a[href*='wuseditemall'][href*='ItemId']");
         
         for (Element link : links) {
             String href = link.attr("href");
@@ -174,22 +359,19 @@ public class AladinCrawlerService {
      */
     public Long getOriginalItemId(Long usedItemId) throws IOException, InterruptedException {
         // 캐시 확인
-        if (originalIdCache.containsKey(usedItemId)) {
-            Long cachedId = originalIdCache.get(usedItemId);
-            log.debug("캐시에서 원본 ID 조회: {} -> {}", usedItemId, cachedId);
-            return cachedId;
+        Optional<Long> cachedId = coordinationStore.getCached(ORIGINAL_ID_CACHE, usedItemId.toString(), Long.class);
+        CrawlProfiler profiler = CrawlProfiler.current();
+        if (profiler != null) profiler.recordCache(ORIGINAL_ID_CACHE, cachedId.isPresent());
+        if (cachedId.isPresent()) {
+            log.debug("캐시에서 원본 ID 조회: {} -> {}", usedItemId, cachedId.get());
+            return cachedId.get();
         }
         
         String url = baseUrl + "/shop/wproduct.aspx?ItemId=" + usedItemId;
         
         log.info("원본 ID 추출 시도: ItemId={}", usedItemId);
         
-        Thread.sleep(requestDelayMs);
-        
-        Document doc = Jsoup.connect(url)
-                .userAgent(userAgent)
-                .timeout(10000)
-                .get();
+        Document doc = fetch(UrlClass.PRODUCT, url, 10000);
         
         // 방법 1: "중고 모두보기" 링크에서 원본 ItemId 추출
         Elements usedAllLinks = doc.select("a[href*='wuseditemall.aspx'][href*='ItemId=']");
@@ -201,7 +383,7 @@ public class AladinCrawlerService {
                 // 자기 자신이 아닌 다른 ID를 찾으면 그게 원본
                 if (!originalId.equals(usedItemId)) {
                     log.info("원본 ID 발견 (중고 모두보기): {} -> {}", usedItemId, originalId);
-                    originalIdCache.put(usedItemId, originalId);
+                    cacheOriginalId(usedItemId, originalId);
                     return originalId;
                 }
             }
@@ -220,7 +402,7 @@ public class AladinCrawlerService {
                 // 자기 자신이 아닌 ID이고, 훨씬 작은 숫자면 원본일 가능성 높음
                 if (!foundId.equals(usedItemId) && foundId < usedItemId / 2) {
                     log.info("원본 ID 발견 (상품 링크): {} -> {}", usedItemId, foundId);
-                    originalIdCache.put(usedItemId, foundId);
+                    cacheOriginalId(usedItemId, foundId);
                     return foundId;
                 }
             }
@@ -235,41 +417,139 @@ public class AladinCrawlerService {
             Long originalId = Long.parseLong(scriptMatcher.group(1));
             if (!originalId.equals(usedItemId)) {
                 log.info("원본 ID 발견 (스크립트): {} -> {}", usedItemId, originalId);
-                originalIdCache.put(usedItemId, originalId);
+                cacheOriginalId(usedItemId, originalId);
                 return originalId;
             }
         }
         
         // 원본 ID를 찾지 못한 경우, 입력받은 ID가 이미 원본이거나 찾을 수 없음
         log.info("원본 ID 찾지 못함, 입력 ID 사용: {}", usedItemId);
-        originalIdCache.put(usedItemId, usedItemId);
+        cacheOriginalId(usedItemId, usedItemId);
         return usedItemId;
     }
 
     /**
-     * 특정 책의 판매자 목록 조회 (userUsed만)
-     * 장바구니에서 가져온 중고 상품 ID를 원본 책 ID로 변환 후 조회
+     * 캐시된 원본 책 ID (없으면 empty, 요청하지 않음)
+     * 작업 등록 전에 호출되므로 수집기는 직접 전달 (적중만 기록, 미적중은 이어서 하는 조회에서 기록)
      */
-    public List<SellerInfo> getSellersByItemId(Long itemId, String minQuality) throws IOException, InterruptedException {
-        // 먼저 원본 책 ID 추출 시도
-        Long originalItemId = getOriginalItemId(itemId);
+    public Optional<Long> getCachedOriginalItemId(Long usedItemId, CrawlProfiler profiler) {
+        Optional<Long> cachedId = coordinationStore.getCached(ORIGINAL_ID_CACHE, usedItemId.toString(), Long.class);
+        if (profiler != null && cachedId.isPresent()) profiler.recordCache(ORIGINAL_ID_CACHE, true);
+        return cachedId;
+    }
+
+    private void cacheOriginalId(Long usedItemId, Long originalId) {
+        coordinationStore.putCached(ORIGINAL_ID_CACHE, usedItemId.toString(), originalId, ORIGINAL_ID_TTL);
+    }
+
+    /**
+     * 원본 책 ID로 판매자 목록 조회 (원본 ID 변환은 호출하는 쪽에서: 확장이 전달한 ID -> 캐시 -> getOriginalItemId)
+     * 여러 중고 상품이 같은 원본 책을 가리킬 때 한 번만 조회하기 위해 사용
+     * 
+     * 판매 행에서 등급/가격/상품 URL을 읽을 수 있으면 최소 등급 이상인 매물 중 최저가를
+     * SellerInfo.books에 담아 반환 (상세 검증 생략 가능), 최소 등급 미만 매물만 있는 판매자는 제외
+     * 행을 읽을 수 없는 판매자는 books가 빈 상태로 반환 (상세 검증 필요)
+     * 
+     * 판매자-책 그래프에 최근 조회한 판매 목록이 있으면 요청하지 않음
+     * (그래프에는 등급 필터 전 목록을 저장하므로 최소 등급이 달라도 같은 목록 사용)
+     */
+    public List<SellerInfo> getSellersByOriginalItemId(Long originalItemId, String minQuality) 
+            throws IOException, InterruptedException {
+        Optional<List<ListedSeller>> cached = sellerGraph.getListing(originalItemId);
+        CrawlProfiler profiler = CrawlProfiler.current();
+        if (profiler != null) profiler.recordCache(SELLER_GRAPH, cached.isPresent());
+        
+        List<ListedSeller> listing = cached.isPresent() ? cached.get() : fetchListing(originalItemId);
+        return toSellerInfos(originalItemId, listing, minQuality);
+    }
+
+    /**
+     * 판매자-책 그래프에 최근 판매 목록이 있으면 요청 없이 판매자 목록 반환 (없거나 오래되었으면 empty)
+     * 작업 등록 전에 호출되므로 수집기는 직접 전달 (적중만 기록, 미적중은 이어서 하는 조회에서 기록)
+     */
+    public Optional<List<SellerInfo>> getFreshSellers(Long originalItemId, String minQuality, CrawlProfiler profiler) {
+        Optional<List<ListedSeller>> cached = sellerGraph.getListing(originalItemId);
+        if (profiler != null && cached.isPresent()) profiler.recordCache(SELLER_GRAPH, true);
+        return cached.map(listing -> toSellerInfos(originalItemId, listing, minQuality));
+    }
+
+    /**
+     * 원본 책 ID로 판매 목록을 한 번만 조회해 최소 등급별 판매자 목록으로 거름
+     * 여러 장바구니가 같은 책을 다른 최소 등급으로 찾을 때 사용 (등급마다 따로 조회하지 않음)
+     * 
+     * @return 최소 등급 -> 판매자 목록 (null 등급 = 등급 필터 없음)
+     */
+    public Map<String, List<SellerInfo>> getSellersByQuality(Long originalItemId, Collection<String> minQualities)
+            throws IOException, InterruptedException {
+        Optional<List<ListedSeller>> cached = sellerGraph.getListing(originalItemId);
+        CrawlProfiler profiler = CrawlProfiler.current();
+        if (profiler != null) profiler.recordCache(SELLER_GRAPH, cached.isPresent());
         
+        List<ListedSeller> listing = cached.isPresent() ? cached.get() : fetchListing(originalItemId);
+        return toSellerInfosByQuality(originalItemId, listing, minQualities);
+    }
+
+    /**
+     * 판매자-책 그래프에 최근 판매 목록이 있으면 요청 없이 최소 등급별 판매자 목록 반환 (없거나 오래되었으면 empty)
+     */
+    public Optional<Map<String, List<SellerInfo>>> getFreshSellersByQuality(
+            Long originalItemId, Collection<String> minQualities, CrawlProfiler profiler) {
+        Optional<List<ListedSeller>> cached = sellerGraph.getListing(originalItemId);
+        if (profiler != null && cached.isPresent()) profiler.recordCache(SELLER_GRAPH, true);
+        return cached.map(listing -> toSellerInfosByQuality(originalItemId, listing, minQualities));
+    }
+
+    private Map<String, List<SellerInfo>> toSellerInfosByQuality(
+            Long originalItemId, List<ListedSeller> listing, Collection<String> minQualities) {
+        Map<String, List<SellerInfo>> result = new HashMap<>();
+        for (String minQuality : minQualities) {
+            if (!result.containsKey(minQuality)) {
+                result.put(minQuality, toSellerInfos(originalItemId, listing, minQuality));
+            }
+        }
+        return result;
+    }
+
+    /**
+     * 중고 모두보기 조회 후 판매자별 등급별 최저가를 그래프에 반영 (등급 필터 전, 판매자 링크 순서)
+     */
+    private List<ListedSeller> fetchListing(Long originalItemId) throws IOException, InterruptedException {
         String url = baseUrl + "/shop/UsedShop/wuseditemall.aspx?ItemId=" + originalItemId + "&TabType=1";
         
-        log.info("판매자 목록 조회: 입력ID={}, 원본ID={}", itemId, originalItemId);
+        // 요청 예산 안에서 조회
+        Document doc = fetch(UrlClass.USED_LIST, url, 10000);
         
-        // 요청 간격 유지
-        Thread.sleep(requestDelayMs);
+        // 판매 행별 등급, 가격 파싱 -> 판매자별 등급별 최저가 (읽을 수 없는 행은 상세 검증에 맡김)
+        Map<String, int[]> levelPrices = new HashMap<>();
+        Map<String, long[]> levelItemIds = new HashMap<>();
         
-        Document doc = Jsoup.connect(url)
-                .userAgent(userAgent)
-                .timeout(10000)
-                .get();
-
-        List<SellerInfo> sellers = new ArrayList<>();
-        Map<String, SellerInfo> sellerMap = new HashMap<>();
+        Elements rows = doc.select(".Ere_sub_row, .ss_book_list tbody tr");
+        for (Element row : rows) {
+            Element sellerLink = row.selectFirst("a[href*='wshopitem.aspx?SC=']");
+            if (sellerLink == null) continue;
+            
+            Matcher scMatcher = SC_PATTERN.matcher(sellerLink.attr("href"));
+            if (!scMatcher.find()) continue;
+            String sellerCode = scMatcher.group(1);
+            
+            String quality = findListingQuality(row);
+            int price = parseSellingPrice(row);
+            if (quality == null || price == 0) continue;
+            
+            int level = BookItem.Quality.fromKorean(quality).getLevel() - 1;
+            int[] prices = levelPrices.computeIfAbsent(sellerCode, code -> new int[SellerBookGraph.QUALITY_LEVELS]);
+            long[] itemIds = levelItemIds.computeIfAbsent(sellerCode, code -> new long[SellerBookGraph.QUALITY_LEVELS]);
+            if (prices[level] == 0 || price < prices[level]) {
+                prices[level] = price;
+                Element productLink = row.selectFirst("a[href*='wproduct.aspx'][href*='ItemId=']");
+                Matcher itemIdMatcher = productLink != null ? ITEM_ID_PATTERN.matcher(productLink.attr("href")) : null;
+                itemIds[level] = itemIdMatcher != null && itemIdMatcher.find() ? Long.parseLong(itemIdMatcher.group(1)) : 0;
+            }
+        }
         
-        // 판매자 링크에서 SC 추출
+        // 판매자 링크에서 SC 추출 (배지 링크는 판매자 유형으로만 사용)
+        Map<String, String> sellerNames = new LinkedHashMap<>();
+        Map<String, String> sellerTypes = new HashMap<>();
         Elements sellerLinks = doc.select("a[href*='wshopitem.aspx?SC=']");
         
         for (Element link : sellerLinks) {
@@ -282,183 +562,419 @@ public class AladinCrawlerService {
             
             String sellerCode = scMatcher.group(1);
             
-            // SC=0 제외, 이미 처리된 판매자 제외
+            // SC=0 제외
             if ("0".equals(sellerCode)) continue;
-            if (name.isEmpty() || name.contains("전문셀러") || name.contains("실버셀러")) continue;
-            if (sellerMap.containsKey(sellerCode)) continue;
             
-            SellerInfo seller = SellerInfo.builder()
-                    .sellerCode(sellerCode)
-                    .sellerName(name)
-                    .shopUrl(baseUrl + "/shop/usedshop/wshopitem.aspx?SC=" + sellerCode)
-                    .books(new ArrayList<>())
-                    .build();
+            // 배지 분리 ("실버셀러" 링크 또는 "실버셀러 판매자명" 형식)
+            for (String badge : SELLER_BADGES) {
+                if (name.contains(badge)) {
+                    sellerTypes.put(sellerCode, badge);
+                    name = name.replace(badge, "").trim();
+                }
+            }
             
-            sellerMap.put(sellerCode, seller);
+            // 이름이 없는 링크, 이미 처리된 판매자 제외
+            if (name.isEmpty()) continue;
+            sellerNames.putIfAbsent(sellerCode, name);
         }
         
-        // 등급, 가격 정보 파싱 (추가 로직 필요시)
-        Elements rows = doc.select(".Ere_sub_row, .ss_book_list tbody tr");
-        // TODO: 등급별 필터링 로직 추가
+        List<ListedSeller> listing = new ArrayList<>();
+        sellerNames.forEach((sellerCode, name) -> listing.add(new ListedSeller(sellerCode, name,
+                sellerTypes.get(sellerCode),
+                levelPrices.getOrDefault(sellerCode, new int[SellerBookGraph.QUALITY_LEVELS]),
+                levelItemIds.getOrDefault(sellerCode, new long[SellerBookGraph.QUALITY_LEVELS]))));
+        
+        sellerGraph.putListing(originalItemId, listing);
+        return listing;
+    }
+
+    /**
+     * 등급 필터 전 판매 목록 -> 최소 등급 이상 매물 중 최저가를 담은 판매자 목록
+     */
+    private List<SellerInfo> toSellerInfos(Long originalItemId, List<ListedSeller> listing, String minQuality) {
+        BookItem.Quality min = minQuality != null ? BookItem.Quality.fromKorean(minQuality) : null;
+        int maxLevel = min != null ? min.getLevel() - 1 : SellerBookGraph.QUALITY_LEVELS - 1;
+        
+        List<SellerInfo> sellers = new ArrayList<>();
+        int priced = 0;
+        int belowQuality = 0;
+        
+        for (ListedSeller seller : listing) {
+            // 최소 등급 이상 매물 중 최저가 (같은 가격이면 좋은 등급)
+            int best = -1;
+            boolean hasListing = false;
+            for (int level = 0; level < SellerBookGraph.QUALITY_LEVELS; level++) {
+                if (seller.levelPrices()[level] == 0) continue;
+                hasListing = true;
+                if (level <= maxLevel && (best < 0 || seller.levelPrices()[level] < seller.levelPrices()[best])) {
+                    best = level;
+                }
+            }
+            
+            // 최소 등급 이상 매물이 없는 판매자 제외
+            if (hasListing && best < 0) {
+                belowQuality++;
+                continue;
+            }
+            
+            List<SellerBookItem> books = new ArrayList<>();
+            if (best >= 0) {
+                long usedItemId = seller.levelItemIds()[best];
+                books.add(SellerBookItem.builder()
+                        .itemId(originalItemId)
+                        .quality(BookItem.Quality.values()[best].getKorean())
+                        .price(seller.levelPrices()[best])
+                        .productUrl(productUrl(usedItemId))
+                        .build());
+                priced++;
+            }
+            
+            sellers.add(SellerInfo.builder()
+                    .sellerCode(seller.sellerCode())
+                    .sellerName(seller.sellerName())
+                    .sellerType(seller.sellerType())
+                    .shopUrl(baseUrl + "/shop/usedshop/wshopitem.aspx?SC=" + seller.sellerCode())
+                    .books(books)
+                    .build());
+        }
         
-        sellers.addAll(sellerMap.values());
-        log.info("판매자 {}명 발견 (원본ID={})", sellers.size(), originalItemId);
+        log.info("판매자 {}명 발견 (원본ID={}, 가격 확인 {}명, 등급 미달 제외 {}명)", 
+                 sellers.size(), originalItemId, priced, belowQuality);
         
         return sellers;
     }
 
+    /**
+     * 책별 중고 요약 캐시 조회 (없거나 만료되었으면 empty)
+     */
+    public Optional<UsedSummary> getCachedUsedSummary(Long itemId) {
+        return coordinationStore.getCached(USED_SUMMARY_CACHE, itemId.toString(), UsedSummary.class);
+    }
+
+    /**
+     * 책별 중고 요약 조회 (중고 모두보기 1회, 캐시 우선)
+     * 검색 결과의 ItemId는 원본 책 ID이므로 원본 ID 변환 생략
+     */
+    public UsedSummary getUsedSummary(Long itemId) throws IOException, InterruptedException {
+        Optional<UsedSummary> cached = getCachedUsedSummary(itemId);
+        if (cached.isPresent()) {
+            return cached.get();
+        }
+        
+        List<SellerInfo> sellers = getSellersByOriginalItemId(itemId, null);
+        Integer minPrice = sellers.stream()
+                .flatMap(seller -> seller.getBooks().stream())
+                .map(SellerBookItem::getPrice)
+                .filter(Objects::nonNull)
+                .min(Integer::compare)
+                .orElse(null);
+        
+        UsedSummary summary = new UsedSummary(sellers.size(), minPrice);
+        coordinationStore.putCached(USED_SUMMARY_CACHE, itemId.toString(), summary, USED_SUMMARY_TTL);
+        return summary;
+    }
+
+    /**
+     * 판매 행의 판매가 추출 (화살표 뒤 판매가 -> p1_bold -> 일반 가격 패턴 순), 없으면 0
+     */
+    private int parseSellingPrice(Element row) {
+        String rowText = row.text();
+        
+        // 1. 먼저 화살표 뒤 판매가 시도 (정확한 판매가)
+        Matcher sellingPriceMatcher = SELLING_PRICE_PATTERN.matcher(rowText);
+        if (sellingPriceMatcher.find()) {
+            return Integer.parseInt(sellingPriceMatcher.group(1).replace(",", ""));
+        }
+        
+        // 2. HTML에서 p1_bold 클래스 가격 추출 시도
+        Element boldPrice = row.selectFirst(".p1_bold");
+        if (boldPrice != null) {
+            String boldText = boldPrice.text().replace(",", "").replace("원", "").trim();
+            try {
+                return Integer.parseInt(boldText);
+            } catch (NumberFormatException ignored) {}
+        }
+        
+        // 3. 일반 가격 패턴 폴백
+        Matcher priceMatcher = PRICE_PATTERN.matcher(rowText);
+        if (priceMatcher.find()) {
+            return Integer.parseInt(priceMatcher.group(1).replace(",", ""));
+        }
+        return 0;
+    }
+
+    /**
+     * 판매자 상점 검색 결과 행의 등급 추출 (우선순위: 최상 > 상 > 중 > 하, 없으면 중)
+     */
+    private String parseShopQuality(String rowText) {
+        if (rowText.contains("[중고-최상]") || rowText.contains("최상")) {
+            return "최상";
+        } else if (rowText.contains("[중고-상]")) {
+            return "상";
+        } else if (rowText.contains("[중고-중]")) {
+            return "중";
+        } else if (rowText.contains("[중고-하]")) {
+            return "하";
+        }
+        return "중";
+    }
+
+    /**
+     * 중고 모두보기 판매 행의 등급 추출 ([중고-등급] 표기 또는 등급만 적힌 칸), 없으면 null
+     * 제목에 "상", "중" 등이 들어갈 수 있으므로 행 전체 텍스트의 부분 일치는 쓰지 않음
+     */
+    private String findListingQuality(Element row) {
+        String rowText = row.text();
+        for (String grade : QUALITY_GRADES) {
+            if (rowText.contains("[중고-" + grade + "]")) return grade;
+        }
+        for (Element cell : row.select("td, span, div")) {
+            String text = cell.ownText().trim();
+            if (QUALITY_GRADES.contains(text)) return text;
+        }
+        return null;
+    }
+
+    /**
+     * 판매자 정보 캐시 조회 (없거나 만료되었으면 empty)
+     */
+    public Optional<SellerMetadata> getCachedSellerMetadata(String sellerCode) {
+        Optional<SellerMetadata> cached = coordinationStore.getCached(SELLER_METADATA_CACHE, sellerCode, SellerMetadata.class);
+        cached.ifPresent(metadata -> rememberSellerMetadataAt(sellerCode, metadata.fetchedAt()));
+        return cached;
+    }
+
+    /**
+     * 판매자 상점 첫 페이지에서 판매자 정보 조회 후 캐시 저장
+     * 정보를 읽지 못해도 빈 값으로 저장 (보관 시간 동안 같은 상점을 다시 조회하지 않음)
+     */
+    public SellerMetadata fetchSellerMetadata(String sellerCode) throws IOException, InterruptedException {
+        String url = baseUrl + "/shop/usedshop/wshopitem.aspx?SC=" + sellerCode;
+        Document doc = fetch(UrlClass.SELLER_SHOP, url, 15000);
+        
+        SellerMetadata metadata = parseSellerMetadata(doc)
+                .orElseGet(() -> new SellerMetadata(null, null, null, null, System.currentTimeMillis()));
+        cacheSellerMetadata(sellerCode, metadata);
+        
+        log.debug("판매자 {} 정보: 유형={}, 만족도={}, 배송비={}, 무료배송 기준={}", sellerCode,
+                metadata.sellerType(), metadata.satisfactionRate(), metadata.shippingFee(), metadata.freeShippingThreshold());
+        return metadata;
+    }
+
+    private void cacheSellerMetadata(String sellerCode, SellerMetadata metadata) {
+        coordinationStore.putCached(SELLER_METADATA_CACHE, sellerCode, metadata, sellerMetadataTtl);
+        rememberSellerMetadataAt(sellerCode, metadata.fetchedAt());
+    }
+
+    private void rememberSellerMetadataAt(String sellerCode, long fetchedAt) {
+        synchronized (knownSellerMetadataAt) {
+            knownSellerMetadataAt.merge(sellerCode, fetchedAt, Math::max);
+        }
+    }
+
+    /**
+     * 판매자 정보가 없거나 bundle.seller-metadata.refresh-after보다 오래되었는지
+     * 노드 메모리에서 최근 정보를 확인했으면 저장소를 조회하지 않음
+     */
+    private boolean isSellerMetadataStale(String sellerCode) {
+        long refreshAfterMs = sellerMetadataRefreshAfter.toMillis();
+        Long knownAt;
+        synchronized (knownSellerMetadataAt) {
+            knownAt = knownSellerMetadataAt.get(sellerCode);
+        }
+        if (knownAt != null && System.currentTimeMillis() - knownAt <= refreshAfterMs) {
+            return false;
+        }
+        return getCachedSellerMetadata(sellerCode)
+                .map(metadata -> System.currentTimeMillis() - metadata.fetchedAt() > refreshAfterMs)
+                .orElse(true);
+    }
+
+    /**
+     * 상점 페이지의 판매자 정보 영역에서 유형/만족도/배송비 정책 추출 (배송비도 만족도도 없으면 empty)
+     * 정보 영역을 찾지 못하면 empty (페이지의 다른 판매자 매물 배송비/배지를 읽지 않도록 본문 전체는 보지 않음)
+     */
+    private Optional<SellerMetadata> parseSellerMetadata(Document doc) {
+        Element info = doc.selectFirst(".ss_shop_info, .shop_info, .seller_info, #shopInfo");
+        if (info == null) {
+            return Optional.empty();
+        }
+        String text = info.text();
+        
+        Integer shippingFee = null;
+        Matcher feeMatcher = SHIPPING_FEE_PATTERN.matcher(text);
+        if (feeMatcher.find()) {
+            shippingFee = Integer.parseInt(feeMatcher.group(1).replace(",", ""));
+        } else if (FREE_SHIPPING_FEE_PATTERN.matcher(text).find()) {
+            shippingFee = 0;
+        }
+        
+        Integer freeShippingThreshold = null;
+        Matcher thresholdMatcher = FREE_SHIPPING_THRESHOLD_PATTERN.matcher(text);
+        if (thresholdMatcher.find()) {
+            freeShippingThreshold = Integer.parseInt(thresholdMatcher.group(1).replace(",", ""));
+        }
+        
+        Double satisfactionRate = null;
+        Matcher satisfactionMatcher = SATISFACTION_PATTERN.matcher(text);
+        if (satisfactionMatcher.find()) {
+            try {
+                satisfactionRate = Double.parseDouble(satisfactionMatcher.group(1));
+            } catch (NumberFormatException ignored) {}
+        }
+        
+        if (shippingFee == null && satisfactionRate == null) {
+            return Optional.empty();
+        }
+        
+        String sellerType = SELLER_BADGES.stream().filter(text::contains).findFirst().orElse(GENERAL_SELLER);
+        return Optional.of(new SellerMetadata(sellerType, satisfactionRate, shippingFee, freeShippingThreshold,
+                System.currentTimeMillis()));
+    }
+
+    /**
+     * 판매자-책 검증 결과 캐시 조회 (없거나 만료되었으면 empty)
+     * 검증 작업 등록 전에 호출되어 작업 스레드가 아닐 수 있으므로 수집기는 직접 전달 (없으면 null)
+     */
+    public Optional<CachedVerification> getCachedVerification(String sellerCode, Long originalItemId, CrawlProfiler profiler) {
+        // 이 노드가 검증한 결과는 그래프에서 (상품 URL은 찾은 상품 ID로 다시 만듦)
+        Optional<CachedVerification> fromGraph = sellerGraph.getVerification(sellerCode, originalItemId)
+                .map(verification -> verification.found()
+                        ? new CachedVerification(true, BookItem.Quality.values()[verification.quality()].getKorean(),
+                                verification.price(), productUrl(verification.itemId()))
+                        : new CachedVerification(false, null, null, null));
+        if (profiler != null) profiler.recordCache(SELLER_GRAPH, fromGraph.isPresent());
+        if (fromGraph.isPresent()) {
+            return fromGraph;
+        }
+        
+        Optional<CachedVerification> cached = coordinationStore.getCached(
+                VERIFICATION_CACHE, sellerCode + ":" + originalItemId, CachedVerification.class);
+        if (profiler != null) profiler.recordCache(VERIFICATION_CACHE, cached.isPresent());
+        return cached;
+    }
+
+    /**
+     * 판매자-책 검증 결과 캐시 저장 (보유/미보유에 따라 보관 시간 다름)
+     */
+    public void cacheVerification(String sellerCode, Long originalItemId, Optional<SellerBookItem> result) {
+        CachedVerification entry = result
+                .map(item -> new CachedVerification(true, item.getQuality(), item.getPrice(), item.getProductUrl()))
+                .orElseGet(() -> new CachedVerification(false, null, null, null));
+        coordinationStore.putCached(VERIFICATION_CACHE, sellerCode + ":" + originalItemId, entry,
+                entry.found() ? verificationFoundTtl : verificationNotFoundTtl);
+        sellerGraph.putVerification(sellerCode, originalItemId, entry.found(),
+                entry.found() && entry.price() != null ? entry.price() : 0,
+                entry.found() ? BookItem.Quality.fromKorean(entry.quality()).getLevel() - 1 : 0,
+                itemIdOf(entry.productUrl()));
+    }
+
+    /**
+     * 중고 상품 페이지 URL (상품 ID를 모르면 null)
+     */
+    private String productUrl(long usedItemId) {
+        return usedItemId != 0 ? baseUrl + "/shop/wproduct.aspx?ItemId=" + usedItemId : null;
+    }
+
+    /**
+     * 상품 링크의 ItemId (없으면 0)
+     */
+    private static long itemIdOf(String href) {
+        if (href == null) return 0;
+        Matcher matcher = ITEM_ID_PATTERN.matcher(href);
+        return matcher.find() ? Long.parseLong(matcher.group(1)) : 0;
+    }
+
     /**
      * 특정 판매자가 특정 책을 보유하고 있는지 확인
      * 
-     * 중요: 장바구니의 ItemId는 특정 중고 상품 ID이므로,
-     * 판매자 상점에서는 책 제목으로 검색해야 합니다.
+     * ISBN을 알면 판매자 상점을 ISBN으로 검색 → 그 책의 매물만 나오므로 검색 결과 행(.bo3 상품 링크)으로 바로 확정
+     * (결과 행이 없으면 미보유, 제목 비교나 제목 검색으로 다시 조회하지 않음 → 사이드바/추천 링크에 속지 않음)
+     * ISBN을 모르면 책 제목으로 검색 (정규화 후 앞 20자)
+     * → 상품 링크의 ItemId가 장바구니 상품/원본 책 ID와 같은 행 우선, 없으면 제목이 비슷한 첫 행
+     *   (제목 비교는 시리즈의 다른 권도 맞을 수 있으므로 ISBN 검색이 더 정확)
+     * 
+     * @param originalItemId 원본 책 ID (모르면 null)
+     * @param isbn13         ISBN 13자리 (모르면 null → 제목 검색)
      */
-    public Optional<SellerBookItem> checkSellerHasBook(String sellerCode, Long itemId, String bookTitle) 
+    public Optional<SellerBookItem> checkSellerHasBook(
+            String sellerCode, Long itemId, Long originalItemId, String isbn13, String bookTitle) 
             throws IOException, InterruptedException {
         
-        // 검색 키워드 정제 (특수문자 제거, 부제목 제거)
-        String searchKeyword = normalizeBookTitle(bookTitle);
+        // 검색 키워드: ISBN -> 정제한 제목 (특수문자 제거, 부제목 제거)
+        boolean byIsbn = isbn13 != null && !isbn13.isBlank();
+        String searchKeyword = byIsbn ? isbn13.trim() : normalizeBookTitle(bookTitle);
         
         // 판매자 상점에서 책 검색
         String url = baseUrl + "/shop/usedshop/wshopitem.aspx?SC=" + sellerCode + 
                      "&KeyWord=" + java.net.URLEncoder.encode(searchKeyword, "UTF-8");
         
-        log.debug("판매자 {} 상점 검색: '{}' (원본: '{}')", sellerCode, searchKeyword, bookTitle);
+        log.debug("판매자 {} 상점 검색: '{}' ({})", sellerCode, searchKeyword, byIsbn ? "ISBN" : "원본: '" + bookTitle + "'");
+        
+        Document doc = fetch(UrlClass.SELLER_SHOP, url, 15000);  // 타임아웃 증가
+        
+        // 상점 정보는 검색 결과 페이지에도 있으므로 없거나 오래되었을 때만 추가 요청 없이 갱신
+        if (isSellerMetadataStale(sellerCode)) {
+            parseSellerMetadata(doc).ifPresent(metadata -> cacheSellerMetadata(sellerCode, metadata));
+        }
+        
+        Element matched = byIsbn ? findIsbnResultRow(doc) : findTitleResultRow(doc, itemId, originalItemId, bookTitle);
         
-        Thread.sleep(requestDelayMs);
+        if (matched == null) {
+            log.debug("❌ 판매자 {} 책 없음: '{}'", sellerCode, bookTitle);
+            return Optional.empty();
+        }
         
-        Document doc = Jsoup.connect(url)
-                .userAgent(userAgent)
-                .timeout(15000)  // 타임아웃 증가
-                .get();
+        // 가격, 등급 추출 (상위 행에서)
+        Element row = matched.closest("tr, td, .ss_book_box, div[class*='book'], li");
+        int price = row != null ? parseSellingPrice(row) : 0;
+        String quality = row != null ? parseShopQuality(row.text()) : "중";
         
-        // 검색 결과에서 책 찾기 (제목 매칭)
-        // 방법 1: 상품 링크에서 제목 확인
-        Elements productLinks = doc.select("a.bo3[href*='wproduct.aspx']");
+        // 상품 링크는 찾은 행의 ItemId 기준 (Phase 1 매물과 같은 형식)
+        long matchedItemId = itemIdOf(matched.attr("href"));
         
-        log.debug("판매자 {} 검색 결과: {}건의 상품 링크", sellerCode, productLinks.size());
+        log.info("✅ 판매자 {} 책 발견: '{}' (등급: {}, 가격: {}원)", 
+                 sellerCode, bookTitle, quality, price);
         
+        return Optional.of(SellerBookItem.builder()
+                .itemId(itemId)
+                .title(bookTitle)
+                .quality(quality)
+                .price(price)
+                .productUrl(productUrl(matchedItemId))
+                .build());
+    }
+    
+    /**
+     * ISBN 검색 결과의 첫 상품 행 링크 (검색 결과 목록의 .bo3 링크만 봄, 없으면 null)
+     */
+    private Element findIsbnResultRow(Document doc) {
+        Element link = doc.selectFirst("a.bo3[href*='ItemId=']");
+        log.debug("ISBN 검색 결과 행: {}", link != null ? "있음" : "없음");
+        return link;
+    }
+    
+    /**
+     * 제목 검색 결과에서 상품 링크 한 번만 훑음: ItemId 일치 행 우선, 없으면 제목이 비슷한 첫 행 (없으면 null)
+     */
+    private Element findTitleResultRow(Document doc, Long itemId, Long originalItemId, String bookTitle) {
+        Elements productLinks = doc.select("a[href*='ItemId=']");
+        log.debug("제목 검색 결과: {}건의 상품 링크", productLinks.size());
+        
+        Element matched = null;
         for (Element link : productLinks) {
-            String linkTitle = link.text().trim();
-            
-            // 제목 유사도 확인 (정규화된 제목으로 비교)
-            if (isTitleMatch(linkTitle, bookTitle)) {
-                // 가격, 등급 추출
-                Element row = link.closest("tr, td, .ss_book_box, div[class*='book'], li");
-                int price = 0;
-                String quality = "중";
-                
-                if (row != null) {
-                    String rowText = row.text();
-                    
-                    // 1. 먼저 화살표 뒤 판매가 시도 (정확한 판매가)
-                    Matcher sellingPriceMatcher = SELLING_PRICE_PATTERN.matcher(rowText);
-                    if (sellingPriceMatcher.find()) {
-                        price = Integer.parseInt(sellingPriceMatcher.group(1).replace(",", ""));
-                    } else {
-                        // 2. HTML에서 p1_bold 클래스 가격 추출 시도
-                        Element boldPrice = row.selectFirst(".p1_bold");
-                        if (boldPrice != null) {
-                            String boldText = boldPrice.text().replace(",", "");
-                            try {
-                                price = Integer.parseInt(boldText);
-                            } catch (NumberFormatException ignored) {}
-                        }
-                        // 3. 일반 가격 패턴 폴백
-                        if (price == 0) {
-                            Matcher priceMatcher = PRICE_PATTERN.matcher(rowText);
-                            if (priceMatcher.find()) {
-                                price = Integer.parseInt(priceMatcher.group(1).replace(",", ""));
-                            }
-                        }
-                    }
-                    
-                    // 등급 추출 (우선순위: 최상 > 상 > 중 > 하)
-                    if (rowText.contains("[중고-최상]") || rowText.contains("최상")) {
-                        quality = "최상";
-                    } else if (rowText.contains("[중고-상]")) {
-                        quality = "상";
-                    } else if (rowText.contains("[중고-중]")) {
-                        quality = "중";
-                    } else if (rowText.contains("[중고-하]")) {
-                        quality = "하";
-                    }
+            Matcher matcher = ITEM_ID_PATTERN.matcher(link.attr("href"));
+            if (matcher.find()) {
+                Long linkItemId = Long.parseLong(matcher.group(1));
+                if (linkItemId.equals(itemId) || linkItemId.equals(originalItemId)) {
+                    return link;
                 }
-                
-                log.info("✅ 판매자 {} 책 발견: '{}' (등급: {}, 가격: {}원)", 
-                         sellerCode, bookTitle, quality, price);
-                
-                return Optional.of(SellerBookItem.builder()
-                        .itemId(itemId)
-                        .title(bookTitle)
-                        .quality(quality)
-                        .price(price)
-                        .build());
             }
-        }
-        
-        // 방법 2: ItemId가 포함된 링크도 확인 (기존 로직) - 가격/등급 추출 추가
-        Elements itemLinks = doc.select("a[href*='ItemId=']");
-        for (Element link : itemLinks) {
-            String linkTitle = link.text().trim();
-            if (isTitleMatch(linkTitle, bookTitle)) {
-                // 가격, 등급 추출 시도 (상위 행에서)
-                int price = 0;
-                String quality = "중";
-                
-                Element row = link.closest("tr, td, .ss_book_box, div[class*='book'], li");
-                if (row != null) {
-                    String rowText = row.text();
-                    String rowHtml = row.html();
-                    
-                    // 1. 먼저 화살표 뒤 판매가 시도 (정확한 판매가)
-                    Matcher sellingPriceMatcher = SELLING_PRICE_PATTERN.matcher(rowText);
-                    if (sellingPriceMatcher.find()) {
-                        price = Integer.parseInt(sellingPriceMatcher.group(1).replace(",", ""));
-                    } else {
-                        // 2. HTML에서 p1_bold 클래스 가격 추출 시도
-                        Element boldPrice = row.selectFirst(".p1_bold");
-                        if (boldPrice != null) {
-                            String boldText = boldPrice.text().replace(",", "");
-                            try {
-                                price = Integer.parseInt(boldText);
-                            } catch (NumberFormatException ignored) {}
-                        }
-                        // 3. 일반 가격 패턴 폴백
-                        if (price == 0) {
-                            Matcher priceMatcher = PRICE_PATTERN.matcher(rowText);
-                            if (priceMatcher.find()) {
-                                price = Integer.parseInt(priceMatcher.group(1).replace(",", ""));
-                            }
-                        }
-                    }
-                    
-                    // 등급 추출
-                    if (rowText.contains("[중고-최상]") || rowText.contains("최상")) {
-                        quality = "최상";
-                    } else if (rowText.contains("[중고-상]")) {
-                        quality = "상";
-                    } else if (rowText.contains("[중고-중]")) {
-                        quality = "중";
-                    } else if (rowText.contains("[중고-하]")) {
-                        quality = "하";
-                    }
-                }
-                
-                log.info("✅ 판매자 {} 책 발견: '{}' (등급: {}, 가격: {}원)", 
-                         sellerCode, bookTitle, quality, price);
-                
-                return Optional.of(SellerBookItem.builder()
-                        .itemId(itemId)
-                        .title(bookTitle)
-                        .quality(quality)
-                        .price(price)
-                        .build());
+            if (matched == null && isTitleMatch(link.text().trim(), bookTitle)) {
+                matched = link;
             }
         }
-        
-        log.debug("❌ 판매자 {} 책 없음: '{}'", sellerCode, bookTitle);
-        return Optional.empty();
+        return matched;
     }
     
     /**
@@ -0,0 +1,33 @@
+package com.bookbundle.crawler;
+
+import java.time.Duration;
+import java.util.Optional;
+
+/**
+ * 크롤링 조정 저장소 (알라딘 요청 예산 + 크롤링 캐시)
+ * - local: 프로세스 안에서만 공유 (노드 1대)
+ * - redis: 모든 노드가 하나의 요청 예산과 캐시를 공유
+ *   → 노드를 늘려도 알라딘으로 가는 전체 요청 속도는 그대로, 같은 페이지를 노드마다 다시 조회하지 않음
+ *
+ * aladin.coordination.store 설정으로 선택
+ */
+public interface CrawlCoordinationStore {
+
+    /**
+     * 전체 요청 예산에서 다음 요청 시작 시각 예약
+     *
+     * @param spacingNanos 요청 시작 간격 (전체 예산 기준)
+     * @return 예약된 시작 시각까지 기다려야 하는 시간 (ns)
+     */
+    long reserveRequestStart(long spacingNanos);
+
+    /**
+     * 캐시 조회 (없거나 만료되었으면 empty)
+     */
+    <T> Optional<T> getCached(String cacheName, String key, Class<T> type);
+
+    /**
+     * 캐시 저장
+     */
+    void putCached(String cacheName, String key, Object value, Duration ttl);
+}
@@ -0,0 +1,261 @@
+package com.bookbundle.crawler;
+
+import com.bookbundle.dto.AnalysisProfile;
+import com.bookbundle.dto.AnalysisProfile.CacheStats;
+import com.bookbundle.dto.AnalysisProfile.FetchTiming;
+import com.bookbundle.dto.AnalysisProfile.PhaseTiming;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 분석 1회 분량의 실행 프로파일 수집기 (BundleRequest.profile=true일 때만 생성)
+ * - 작업: 분배기 대기 시간 + 작업을 등록한 부모 작업 (임계 경로 계산용)
+ * - 요청: 슬롯 대기, 요청 간격 대기, 네트워크, 파싱 시간
+ * - 캐시 적중/미스, 단계별 구간
+ *
+ * 작업 실행 중에는 스레드에 현재 작업이 설정되므로 크롤러는 인자 전달 없이 current()로 기록
+ * 프로파일을 켜지 않은 분석은 수집기를 만들지 않음 (크롤러는 current() == null 확인만 함)
+ */
+public class CrawlProfiler {
+
+    public enum UrlClass { SEARCH, PRODUCT, USED_LIST, SELLER_SHOP }
+
+    // 이 스레드에서 실행 중인 작업 (작업 완료 콜백에서 등록한 작업의 부모가 됨)
+    private static final ThreadLocal<Task> CURRENT_TASK = new ThreadLocal<>();
+
+    private final long startNanos = System.nanoTime();
+    private final List<Task> tasks = new ArrayList<>();
+    private final List<Fetch> fetches = new ArrayList<>();
+    private final Map<String, int[]> cacheCounts = new TreeMap<>();
+    private final List<PhaseTiming> phases = new ArrayList<>();
+    private long phaseStartNanos = startNanos;
+
+    /**
+     * 이 스레드에서 실행 중인 작업의 수집기 (프로파일 대상 작업이 아니면 null)
+     */
+    public static CrawlProfiler current() {
+        Task task = CURRENT_TASK.get();
+        return task != null ? task.profiler : null;
+    }
+
+    /**
+     * 이 스레드에서 실행 중인 작업 (작업을 등록할 때 부모로 기록, 다른 분석의 작업이면 null)
+     */
+    public Task currentTask() {
+        Task task = CURRENT_TASK.get();
+        return task != null && task.profiler == this ? task : null;
+    }
+
+    /**
+     * 작업 실행 시작 (분배기에서 호출), 작업이 끝나면 finish() 후 clearCurrentTask()
+     */
+    public Task beginTask(long submitNanos, Task parent) {
+        Task task = new Task(this, parent, submitNanos, System.nanoTime());
+        synchronized (this) {
+            tasks.add(task);
+        }
+        CURRENT_TASK.set(task);
+        return task;
+    }
+
+    public static void clearCurrentTask() {
+        CURRENT_TASK.remove();
+    }
+
+    /**
+     * 요청 시작 (현재 작업에 연결)
+     */
+    public Fetch startFetch(UrlClass urlClass, String url) {
+        Task task = currentTask();
+        Fetch fetch;
+        synchronized (this) {
+            fetch = new Fetch(fetches.size(), urlClass, url, System.nanoTime());
+            fetches.add(fetch);
+            if (task != null) {
+                // 분배기 대기는 작업의 첫 요청에만 반영
+                if (task.fetches.isEmpty()) {
+                    fetch.queueWaitNanos = task.startNanos - task.submitNanos;
+                }
+                task.fetches.add(fetch);
+            }
+        }
+        return fetch;
+    }
+
+    public synchronized void recordCache(String cacheName, boolean hit) {
+        cacheCounts.computeIfAbsent(cacheName, name -> new int[2])[hit ? 0 : 1]++;
+    }
+
+    /**
+     * 단계 종료 (이전 단계 종료 시점부터 지금까지)
+     */
+    public synchronized void endPhase(String name) {
+        long now = System.nanoTime();
+        phases.add(PhaseTiming.builder()
+                .name(name)
+                .startMs(toMillis(phaseStartNanos - startNanos))
+                .endMs(toMillis(now - startNanos))
+                .build());
+        phaseStartNanos = now;
+    }
+
+    /**
+     * 수집 종료 후 프로파일 생성 (이후에 끝난 작업은 임계 경로에서 제외)
+     */
+    public synchronized AnalysisProfile toProfile() {
+        long endNanos = System.nanoTime();
+
+        List<FetchTiming> fetchTimings = new ArrayList<>(fetches.size());
+        int failed = 0;
+        for (Fetch fetch : fetches) {
+            fetchTimings.add(fetch.toTiming());
+            if (fetch.error != null) failed++;
+        }
+
+        Map<String, CacheStats> caches = new LinkedHashMap<>();
+        cacheCounts.forEach((name, counts) -> caches.put(name, CacheStats.builder()
+                .hits(counts[0])
+                .misses(counts[1])
+                .build()));
+
+        return AnalysisProfile.builder()
+                .totalMs(toMillis(endNanos - startNanos))
+                .phases(new ArrayList<>(phases))
+                .fetches(fetchTimings)
+                .caches(caches)
+                .failedFetches(failed)
+                .criticalPath(criticalPath(endNanos))
+                .build();
+    }
+
+    /**
+     * 마지막으로 끝난 작업부터 부모 작업을 따라 올라간 요청 id (시간 순)
+     */
+    private List<Integer> criticalPath(long endNanos) {
+        Task last = null;
+        for (Task task : tasks) {
+            if (task.endNanos == 0 || task.endNanos - endNanos > 0) continue;
+            if (last == null || task.endNanos - last.endNanos > 0) {
+                last = task;
+            }
+        }
+
+        List<Integer> path = new ArrayList<>();
+        for (Task task = last; task != null; task = task.parent) {
+            for (int i = task.fetches.size() - 1; i >= 0; i--) {
+                path.add(task.fetches.get(i).id);
+            }
+        }
+        Collections.reverse(path);
+        return path;
+    }
+
+    private long toMillis(long nanos) {
+        return TimeUnit.NANOSECONDS.toMillis(nanos);
+    }
+
+    /**
+     * 분배기 작업 1건
+     */
+    public static class Task {
+        private final CrawlProfiler profiler;
+        private final Task parent;
+        private final long submitNanos;
+        private final long startNanos;
+        private final List<Fetch> fetches = new ArrayList<>(2);
+        private volatile long endNanos;
+
+        private Task(CrawlProfiler profiler, Task parent, long submitNanos, long startNanos) {
+            this.profiler = profiler;
+            this.parent = parent;
+            this.submitNanos = submitNanos;
+            this.startNanos = startNanos;
+        }
+
+        /**
+         * 작업 종료 (결과 전달 전에 호출해야 완료 콜백 시간이 작업 시간에 섞이지 않음)
+         */
+        public void finish() {
+            if (endNanos == 0) {
+                endNanos = System.nanoTime();
+            }
+        }
+    }
+
+    /**
+     * 알라딘 요청 1건 (크롤러 스레드 하나에서만 기록)
+     */
+    public class Fetch {
+        private final int id;
+        private final UrlClass urlClass;
+        private final String url;
+        private final long startNanos;
+        private long queueWaitNanos;
+        private long acquiredNanos;
+        private long pacingWaitNanos;
+        private long receivedNanos;
+        private long parsedNanos;
+        private String error;
+
+        private Fetch(int id, UrlClass urlClass, String url, long startNanos) {
+            this.id = id;
+            this.urlClass = urlClass;
+            this.url = url;
+            this.startNanos = startNanos;
+        }
+
+        /**
+         * 요청 예산 확보 (pacingWaitNanos: 슬롯 확보 후 요청 시작 시각까지 기다린 시간)
+         */
+        public void acquired(long pacingWaitNanos) {
+            synchronized (CrawlProfiler.this) {
+                this.acquiredNanos = System.nanoTime();
+                this.pacingWaitNanos = pacingWaitNanos;
+            }
+        }
+
+        public void received() {
+            synchronized (CrawlProfiler.this) {
+                receivedNanos = System.nanoTime();
+            }
+        }
+
+        public void parsed() {
+            synchronized (CrawlProfiler.this) {
+                parsedNanos = System.nanoTime();
+            }
+        }
+
+        public void failed(Exception e) {
+            synchronized (CrawlProfiler.this) {
+                error = e.getClass().getSimpleName() + (e.getMessage() != null ? ": " + e.getMessage() : "");
+                if (parsedNanos == 0) parsedNanos = System.nanoTime();
+            }
+        }
+
+        private FetchTiming toTiming() {
+            long endNanos = parsedNanos != 0 ? parsedNanos : System.nanoTime();
+            long acquired = acquiredNanos != 0 ? acquiredNanos : endNanos;
+            long received = receivedNanos != 0 ? receivedNanos : (acquiredNanos != 0 ? endNanos : acquired);
+            return FetchTiming.builder()
+                    .id(id)
+                    .urlClass(urlClass.name())
+                    .url(url)
+                    .startMs(toMillis(startNanos - CrawlProfiler.this.startNanos))
+                    .endMs(toMillis(endNanos - CrawlProfiler.this.startNanos))
+                    .queueWaitMs(toMillis(queueWaitNanos))
+                    .slotWaitMs(toMillis(acquired - startNanos - pacingWaitNanos))
+                    .pacingWaitMs(toMillis(pacingWaitNanos))
+                    .networkMs(toMillis(received - acquired))
+                    .parseMs(toMillis(receivedNanos != 0 ? endNanos - receivedNanos : 0))
+                    .error(error)
+                    .build();
+        }
+    }
+}
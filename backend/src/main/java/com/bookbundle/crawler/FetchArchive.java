@@ -0,0 +1,265 @@
+package com.bookbundle.crawler;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * 알라딘 요청/응답 아카이브 (녹화/재생 모드용)
+ *
+ * 데이터 파일 (aladin.archive.path)
+ * - 헤더: "BBFA" + 버전(int)
+ * - 기록: 길이(int) + gzip 압축한 요청 1건 (URL, 최종 URL, 상태 코드, charset, 기록 시각, 네트워크 시간, 오류, 본문)
+ *
+ * 색인 파일 (데이터 파일 + ".idx", 한 줄에 기록 1건)
+ * - 위치 \t 길이 \t 네트워크 시간(ns) \t URL
+ * - 재생할 때는 색인만 읽고 본문은 요청마다 위치로 바로 읽음
+ * - 색인이 없거나 데이터 파일보다 짧으면 (녹화 중 종료 등) 데이터 파일을 읽어 나머지를 복구
+ */
+public final class FetchArchive {
+
+    private static final int MAGIC = 0x42424641;  // "BBFA"
+    private static final int VERSION = 1;
+    private static final int HEADER_LENGTH = 8;
+
+    private FetchArchive() {
+    }
+
+    /**
+     * 요청 1건 (오류 응답이면 errorType/errorMessage, 본문은 빈 배열)
+     */
+    public record Exchange(String url, String finalUrl, int statusCode, String charset,
+                           long recordedAtMillis, long latencyNanos,
+                           String errorType, String errorMessage, byte[] body) {
+
+        public boolean isError() {
+            return errorType != null;
+        }
+    }
+
+    /**
+     * 색인 항목
+     */
+    public record Entry(long offset, int length, long latencyNanos, String url) {
+    }
+
+    public static Path indexPath(Path dataPath) {
+        return dataPath.resolveSibling(dataPath.getFileName() + ".idx");
+    }
+
+    /**
+     * 새 아카이브 생성 (이미 있으면 덮어쓰지 않고 실패)
+     */
+    public static ArchiveWriter create(Path dataPath) throws IOException {
+        if (dataPath.getParent() != null) {
+            Files.createDirectories(dataPath.getParent());
+        }
+        FileChannel data = FileChannel.open(dataPath, StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE);
+        Writer index;
+        try {
+            index = Files.newBufferedWriter(indexPath(dataPath), StandardCharsets.UTF_8,
+                    StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING);
+        } catch (IOException e) {
+            data.close();
+            throw e;
+        }
+        return new ArchiveWriter(data, index);
+    }
+
+    public static ArchiveReader open(Path dataPath) throws IOException {
+        return new ArchiveReader(dataPath);
+    }
+
+    /**
+     * 아카이브 기록 (여러 크롤러 스레드에서 호출, 기록마다 파일에 반영해 중간에 종료되어도 앞 기록은 유지)
+     */
+    public static final class ArchiveWriter implements Closeable {
+
+        private final FileChannel data;
+        private final Writer index;
+        private long position;
+
+        private ArchiveWriter(FileChannel data, Writer index) throws IOException {
+            this.data = data;
+            this.index = index;
+            writeFully(ByteBuffer.allocate(HEADER_LENGTH).putInt(MAGIC).putInt(VERSION).flip());
+            this.position = HEADER_LENGTH;
+        }
+
+        public void append(Exchange exchange) throws IOException {
+            // 압축은 락 밖에서
+            byte[] record = encode(exchange);
+
+            synchronized (this) {
+                long offset = position;
+                writeFully(ByteBuffer.allocate(4 + record.length).putInt(record.length).put(record).flip());
+                position += 4 + record.length;
+
+                index.write(offset + "\t" + record.length + "\t" + exchange.latencyNanos() + "\t" + exchange.url() + "\n");
+                index.flush();
+            }
+        }
+
+        @Override
+        public synchronized void close() throws IOException {
+            try {
+                index.close();
+            } finally {
+                data.close();
+            }
+        }
+
+        private void writeFully(ByteBuffer buffer) throws IOException {
+            while (buffer.hasRemaining()) {
+                data.write(buffer);
+            }
+        }
+    }
+
+    /**
+     * 아카이브 읽기 (위치 지정 읽기라 여러 스레드에서 동시에 호출 가능)
+     */
+    public static final class ArchiveReader implements Closeable {
+
+        private final FileChannel data;
+        private final List<Entry> entries;
+
+        private ArchiveReader(Path dataPath) throws IOException {
+            this.data = FileChannel.open(dataPath, StandardOpenOption.READ);
+            try {
+                ByteBuffer header = readAt(0, HEADER_LENGTH);
+                if (header.getInt() != MAGIC || header.getInt() != VERSION) {
+                    throw new IOException("아카이브 형식이 아님: " + dataPath);
+                }
+                this.entries = loadIndex(indexPath(dataPath));
+            } catch (IOException e) {
+                data.close();
+                throw e;
+            }
+        }
+
+        /**
+         * 기록 순서대로 색인
+         */
+        public List<Entry> entries() {
+            return entries;
+        }
+
+        public Exchange read(Entry entry) throws IOException {
+            ByteBuffer record = readAt(entry.offset() + 4, entry.length());
+            return decode(record.array());
+        }
+
+        @Override
+        public void close() throws IOException {
+            data.close();
+        }
+
+        private List<Entry> loadIndex(Path indexPath) throws IOException {
+            List<Entry> loaded = new ArrayList<>();
+            long end = HEADER_LENGTH;
+
+            if (Files.exists(indexPath)) {
+                try (BufferedReader reader = Files.newBufferedReader(indexPath, StandardCharsets.UTF_8)) {
+                    String line;
+                    while ((line = reader.readLine()) != null) {
+                        String[] fields = line.split("\t", 4);
+                        if (fields.length < 4) break;  // 마지막 줄이 쓰다 만 경우
+                        Entry entry = new Entry(Long.parseLong(fields[0]), Integer.parseInt(fields[1]),
+                                Long.parseLong(fields[2]), fields[3]);
+                        if (entry.offset() != end || end + 4 + entry.length() > data.size()) break;
+                        loaded.add(entry);
+                        end += 4 + entry.length();
+                    }
+                }
+            }
+
+            // 색인에 없는 뒷부분 복구 (끝까지 쓰지 못한 마지막 기록은 버림)
+            while (end + 4 <= data.size()) {
+                int length = readAt(end, 4).getInt();
+                if (length <= 0 || end + 4 + length > data.size()) break;
+                Exchange exchange;
+                try {
+                    exchange = decode(readAt(end + 4, length).array());
+                } catch (IOException e) {
+                    break;
+                }
+                loaded.add(new Entry(end, length, exchange.latencyNanos(), exchange.url()));
+                end += 4 + length;
+            }
+            return List.copyOf(loaded);
+        }
+
+        private ByteBuffer readAt(long position, int length) throws IOException {
+            ByteBuffer buffer = ByteBuffer.allocate(length);
+            while (buffer.hasRemaining()) {
+                if (data.read(buffer, position + buffer.position()) < 0) {
+                    throw new EOFException("아카이브가 잘림");
+                }
+            }
+            return buffer.flip();
+        }
+    }
+
+    private static byte[] encode(Exchange exchange) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(exchange.body().length / 4 + 256);
+        try (DataOutputStream out = new DataOutputStream(new GZIPOutputStream(bytes))) {
+            out.writeUTF(exchange.url());
+            out.writeUTF(exchange.finalUrl());
+            out.writeInt(exchange.statusCode());
+            writeNullable(out, exchange.charset());
+            out.writeLong(exchange.recordedAtMillis());
+            out.writeLong(exchange.latencyNanos());
+            writeNullable(out, exchange.errorType());
+            writeNullable(out, exchange.errorMessage());
+            out.writeInt(exchange.body().length);
+            out.write(exchange.body());
+        }
+        return bytes.toByteArray();
+    }
+
+    private static Exchange decode(byte[] record) throws IOException {
+        try (DataInputStream in = new DataInputStream(new GZIPInputStream(new ByteArrayInputStream(record)))) {
+            String url = in.readUTF();
+            String finalUrl = in.readUTF();
+            int statusCode = in.readInt();
+            String charset = readNullable(in);
+            long recordedAtMillis = in.readLong();
+            long latencyNanos = in.readLong();
+            String errorType = readNullable(in);
+            String errorMessage = readNullable(in);
+            byte[] body = new byte[in.readInt()];
+            in.readFully(body);
+            return new Exchange(url, finalUrl, statusCode, charset, recordedAtMillis, latencyNanos,
+                    errorType, errorMessage, body);
+        }
+    }
+
+    private static void writeNullable(DataOutputStream out, String value) throws IOException {
+        out.writeBoolean(value != null);
+        if (value != null) {
+            // writeUTF 길이 제한 (오류 메시지가 아주 긴 경우)
+            out.writeUTF(value.length() > 8192 ? value.substring(0, 8192) : value);
+        }
+    }
+
+    private static String readNullable(DataInputStream in) throws IOException {
+        return in.readBoolean() ? in.readUTF() : null;
+    }
+}
@@ -0,0 +1,35 @@
+package com.bookbundle.crawler;
+
+import org.jsoup.Connection;
+import org.jsoup.Jsoup;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+
+/**
+ * 알라딘에 직접 요청 (기본값)
+ * 녹화 모드에서는 RecordingPageFetcher가 감싸서 사용
+ */
+@Component
+@ConditionalOnProperty(name = "aladin.archive.mode", havingValue = "live", matchIfMissing = true)
+public class LivePageFetcher implements PageFetcher {
+
+    private final String userAgent;
+
+    public LivePageFetcher(@Value("${aladin.user-agent}") String userAgent) {
+        this.userAgent = userAgent;
+    }
+
+    @Override
+    public Page fetch(String url, int timeoutMs) throws IOException {
+        Connection.Response response = Jsoup.connect(url)
+                .userAgent(userAgent)
+                .timeout(timeoutMs)
+                .execute()
+                .bufferUp();
+        return new Page(response.url().toExternalForm(), response.statusCode(), response.charset(),
+                response.bodyAsBytes());
+    }
+}
@@ -0,0 +1,114 @@
+package com.bookbundle.crawler;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * 프로세스 내부 조정 저장소 (노드 1대, 기본값)
+ * Redis 저장소를 쓸 수 없을 때의 대체 구현으로도 사용
+ *
+ * 캐시 키에는 검색어처럼 사용자 입력이 들어가므로 크기를 제한
+ * - aladin.coordination.local-max-entries를 넘으면 가장 오래 안 쓴 항목부터 제거
+ * - 만료된 항목은 주기적으로 정리 (다시 조회되지 않는 키도 메모리에 남지 않음)
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "aladin.coordination.store", havingValue = "local", matchIfMissing = true)
+public class LocalCoordinationStore implements CrawlCoordinationStore {
+
+    // 설정 없이 만들 때의 최대 항목 수 (Redis 저장소의 대체 구현 등)
+    static final int DEFAULT_MAX_ENTRIES = 100_000;
+
+    private final int maxEntries;
+
+    // 캐시 키 -> 항목 (접근 순서, cache 자체로 동기화)
+    private final LinkedHashMap<String, CacheEntry> cache;
+    private long nextStartNanos = System.nanoTime();
+
+    private record CacheEntry(Object value, long expiresAtNanos) {
+        boolean isExpired(long now) {
+            return now - expiresAtNanos > 0;
+        }
+    }
+
+    public LocalCoordinationStore() {
+        this(DEFAULT_MAX_ENTRIES);
+    }
+
+    @Autowired
+    public LocalCoordinationStore(@Value("${aladin.coordination.local-max-entries}") int maxEntries) {
+        this.maxEntries = maxEntries;
+        this.cache = new LinkedHashMap<>(1024, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, CacheEntry> eldest) {
+                return size() > LocalCoordinationStore.this.maxEntries;
+            }
+        };
+    }
+
+    @Override
+    public synchronized long reserveRequestStart(long spacingNanos) {
+        long now = System.nanoTime();
+        long start = Math.max(now, nextStartNanos);
+        nextStartNanos = start + spacingNanos;
+        return start - now;
+    }
+
+    @Override
+    public <T> Optional<T> getCached(String cacheName, String key, Class<T> type) {
+        String cacheKey = cacheName + ":" + key;
+        synchronized (cache) {
+            CacheEntry entry = cache.get(cacheKey);
+            if (entry == null) return Optional.empty();
+
+            if (entry.isExpired(System.nanoTime())) {
+                cache.remove(cacheKey);
+                return Optional.empty();
+            }
+            return Optional.of(type.cast(entry.value()));
+        }
+    }
+
+    @Override
+    public void putCached(String cacheName, String key, Object value, Duration ttl) {
+        CacheEntry entry = new CacheEntry(value, System.nanoTime() + ttl.toNanos());
+        synchronized (cache) {
+            cache.put(cacheName + ":" + key, entry);
+        }
+    }
+
+    /**
+     * 만료된 항목 정리
+     */
+    @Scheduled(fixedDelay = 60_000, initialDelay = 60_000)
+    public void evictExpired() {
+        long now = System.nanoTime();
+        int removed;
+        synchronized (cache) {
+            int before = cache.size();
+            cache.values().removeIf(entry -> entry.isExpired(now));
+            removed = before - cache.size();
+        }
+        if (removed > 0) {
+            log.debug("조정 저장소 만료 항목 정리: {}건", removed);
+        }
+    }
+
+    /**
+     * 보관 중인 항목 수 (만료되었지만 아직 정리되지 않은 항목 포함)
+     */
+    int size() {
+        synchronized (cache) {
+            return cache.size();
+        }
+    }
+}
@@ -0,0 +1,25 @@
+package com.bookbundle.crawler;
+
+import java.io.IOException;
+
+/**
+ * 알라딘 페이지 조회 (HTTP 요청 1건, 요청 예산과 파싱은 AladinCrawlerService에서)
+ * - live: 알라딘에 직접 요청 (기본값)
+ * - record: 직접 요청하면서 요청/응답을 아카이브에 기록
+ * - replay: 기록된 아카이브에서 응답 (알라딘에 요청하지 않음)
+ *
+ * aladin.archive.mode 설정으로 선택
+ */
+public interface PageFetcher {
+
+    /**
+     * 페이지 본문 조회 (HTTP 오류 응답은 HttpStatusException)
+     */
+    Page fetch(String url, int timeoutMs) throws IOException, InterruptedException;
+
+    /**
+     * 조회한 페이지 (url: 리다이렉트 후 최종 주소, charset: 응답 헤더 기준, 없으면 null → 파싱할 때 감지)
+     */
+    record Page(String url, int statusCode, String charset, byte[] body) {
+    }
+}
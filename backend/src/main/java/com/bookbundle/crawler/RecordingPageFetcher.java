@@ -0,0 +1,73 @@
+package com.bookbundle.crawler;
+
+import com.bookbundle.crawler.FetchArchive.ArchiveWriter;
+import com.bookbundle.crawler.FetchArchive.Exchange;
+import lombok.extern.slf4j.Slf4j;
+import org.jsoup.HttpStatusException;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+/**
+ * 녹화 모드: 알라딘에 직접 요청하면서 요청/응답을 아카이브에 기록
+ * - 성공 응답, HTTP 오류, 시간 초과 등 요청 실패 모두 기록 (재생할 때 같은 실패 재현)
+ * - 분석 취소로 중단된 요청은 기록하지 않음 (잘린 본문을 재생하지 않도록)
+ * - 기록 실패는 로그만 남기고 요청 결과는 그대로 반환
+ *
+ * 다른 노드가 채운 캐시로 건너뛴 요청은 기록되지 않으므로 녹화는 local 저장소로 실행
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "aladin.archive.mode", havingValue = "record")
+public class RecordingPageFetcher implements PageFetcher, DisposableBean {
+
+    private final LivePageFetcher delegate;
+    private final ArchiveWriter archive;
+
+    public RecordingPageFetcher(
+            @Value("${aladin.user-agent}") String userAgent,
+            @Value("${aladin.archive.path}") Path archivePath) throws IOException {
+        this.delegate = new LivePageFetcher(userAgent);
+        this.archive = FetchArchive.create(archivePath);
+        log.info("알라딘 요청 녹화: {}", archivePath.toAbsolutePath());
+    }
+
+    @Override
+    public Page fetch(String url, int timeoutMs) throws IOException, InterruptedException {
+        long startNanos = System.nanoTime();
+        try {
+            Page page = delegate.fetch(url, timeoutMs);
+            if (!Thread.currentThread().isInterrupted()) {
+                record(new Exchange(url, page.url(), page.statusCode(), page.charset(),
+                        System.currentTimeMillis(), System.nanoTime() - startNanos,
+                        null, null, page.body()));
+            }
+            return page;
+        } catch (IOException e) {
+            if (!Thread.currentThread().isInterrupted()) {
+                int statusCode = e instanceof HttpStatusException status ? status.getStatusCode() : 0;
+                record(new Exchange(url, url, statusCode, null,
+                        System.currentTimeMillis(), System.nanoTime() - startNanos,
+                        e.getClass().getName(), e.getMessage(), new byte[0]));
+            }
+            throw e;
+        }
+    }
+
+    private void record(Exchange exchange) {
+        try {
+            archive.append(exchange);
+        } catch (IOException e) {
+            log.warn("요청 녹화 실패: {}, {}", exchange.url(), e.getMessage());
+        }
+    }
+
+    @Override
+    public void destroy() throws IOException {
+        archive.close();
+    }
+}
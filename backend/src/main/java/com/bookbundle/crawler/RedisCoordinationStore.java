@@ -0,0 +1,130 @@
+package com.bookbundle.crawler;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Redis 조정 저장소 (여러 노드가 요청 예산과 캐시를 공유)
+ * - 요청 예산: 다음 요청 시작 시각을 Redis 한 곳에서 예약 (Redis 서버 시계 기준이라 노드 간 시계 차이와 무관)
+ * - 캐시: JSON으로 저장, TTL은 Redis 만료 시간 사용
+ *
+ * Redis에 연결할 수 없으면 이 노드 안에서만 요청 예산을 지키고 캐시는 건너뜀 (분석은 계속 진행)
+ * 연결 실패 후 잠시 동안은 Redis를 건너뛰어 요청마다 연결 시간 초과를 기다리지 않음
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "aladin.coordination.store", havingValue = "redis")
+@RequiredArgsConstructor
+public class RedisCoordinationStore implements CrawlCoordinationStore {
+
+    private static final String KEY_PREFIX = "bookbundle:";
+    private static final String NEXT_START_KEY = KEY_PREFIX + "request-budget:next-start";
+
+    // 예약 기록 보관 시간 (요청이 없으면 만료되어 다음 요청은 바로 시작)
+    private static final long NEXT_START_TTL_MS = 60_000;
+
+    // 연결 실패 후 다시 시도하기까지의 시간
+    private static final long RETRY_INTERVAL_NANOS = TimeUnit.SECONDS.toNanos(5);
+
+    // 반환값: 예약된 시작 시각까지 대기 시간 (μs)
+    private static final RedisScript<Long> RESERVE_SCRIPT = new DefaultRedisScript<>(
+            "local t = redis.call('TIME') " +
+            "local now = tonumber(t[1]) * 1000000 + tonumber(t[2]) " +
+            "local nextStart = tonumber(redis.call('GET', KEYS[1]) or '0') " +
+            "local start = math.max(now, nextStart) " +
+            "redis.call('SET', KEYS[1], string.format('%.0f', start + tonumber(ARGV[1])), 'PX', ARGV[2]) " +
+            "return start - now",
+            Long.class);
+
+    private final StringRedisTemplate redisTemplate;
+    private final ObjectMapper objectMapper;
+
+    // Redis 장애 시 대체 (이 노드 안에서만 요청 간격 유지)
+    private final LocalCoordinationStore fallback = new LocalCoordinationStore();
+    private volatile boolean redisAvailable = true;
+    private volatile long retryAtNanos;
+
+    @Override
+    public long reserveRequestStart(long spacingNanos) {
+        if (shouldSkipRedis()) {
+            return fallback.reserveRequestStart(spacingNanos);
+        }
+        try {
+            Long waitMicros = redisTemplate.execute(
+                    RESERVE_SCRIPT,
+                    List.of(NEXT_START_KEY),
+                    String.valueOf(TimeUnit.NANOSECONDS.toMicros(spacingNanos)),
+                    String.valueOf(NEXT_START_TTL_MS));
+            markAvailable();
+            return TimeUnit.MICROSECONDS.toNanos(waitMicros != null ? waitMicros : 0);
+        } catch (DataAccessException e) {
+            markUnavailable(e);
+            return fallback.reserveRequestStart(spacingNanos);
+        }
+    }
+
+    @Override
+    public <T> Optional<T> getCached(String cacheName, String key, Class<T> type) {
+        if (shouldSkipRedis()) return Optional.empty();
+        try {
+            String json = redisTemplate.opsForValue().get(cacheKey(cacheName, key));
+            markAvailable();
+            return json != null ? Optional.of(objectMapper.readValue(json, type)) : Optional.empty();
+        } catch (DataAccessException e) {
+            markUnavailable(e);
+            return Optional.empty();
+        } catch (JsonProcessingException e) {
+            log.warn("캐시 값 변환 실패 ({}:{}): {}", cacheName, key, e.getMessage());
+            return Optional.empty();
+        }
+    }
+
+    @Override
+    public void putCached(String cacheName, String key, Object value, Duration ttl) {
+        if (shouldSkipRedis()) return;
+        try {
+            redisTemplate.opsForValue().set(cacheKey(cacheName, key), objectMapper.writeValueAsString(value), ttl);
+            markAvailable();
+        } catch (DataAccessException e) {
+            markUnavailable(e);
+        } catch (JsonProcessingException e) {
+            log.warn("캐시 값 변환 실패 ({}:{}): {}", cacheName, key, e.getMessage());
+        }
+    }
+
+    private String cacheKey(String cacheName, String key) {
+        return KEY_PREFIX + "cache:" + cacheName + ":" + key;
+    }
+
+    private boolean shouldSkipRedis() {
+        return !redisAvailable && System.nanoTime() - retryAtNanos < 0;
+    }
+
+    private void markAvailable() {
+        if (!redisAvailable) {
+            redisAvailable = true;
+            log.info("Redis 연결 복구: 전체 요청 예산/공유 캐시 사용 재개");
+        }
+    }
+
+    private void markUnavailable(DataAccessException e) {
+        retryAtNanos = System.nanoTime() + RETRY_INTERVAL_NANOS;
+        if (redisAvailable) {
+            redisAvailable = false;
+            log.warn("Redis 연결 실패, 이 노드의 요청 예산만 적용: {}", e.getMessage());
+        }
+    }
+}
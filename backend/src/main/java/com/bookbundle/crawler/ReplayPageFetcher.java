@@ -0,0 +1,99 @@
+package com.bookbundle.crawler;
+
+import com.bookbundle.crawler.FetchArchive.ArchiveReader;
+import com.bookbundle.crawler.FetchArchive.Entry;
+import com.bookbundle.crawler.FetchArchive.Exchange;
+import lombok.extern.slf4j.Slf4j;
+import org.jsoup.HttpStatusException;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.net.SocketTimeoutException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 재생 모드: 녹화한 아카이브에서 응답 (알라딘에 요청하지 않음)
+ * - 같은 URL을 여러 번 녹화했으면 요청 순서대로 차례로 응답, 다 쓰면 마지막 응답 반복
+ * - 녹화한 실패는 같은 예외로 재현 (HTTP 오류, 시간 초과)
+ * - 아카이브에 없는 URL은 요청 실패 (분석은 해당 작업만 실패로 처리)
+ * - aladin.archive.replay-latency=true면 녹화한 네트워크 시간만큼 기다렸다가 응답
+ *
+ * 요청 예산(RequestThrottle)은 그대로 적용되므로 요청 간격 대기 없이 측정하려면 aladin.request-delay-ms=0
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "aladin.archive.mode", havingValue = "replay")
+public class ReplayPageFetcher implements PageFetcher, DisposableBean {
+
+    private final ArchiveReader archive;
+    private final boolean replayLatency;
+
+    // URL -> 녹화 순서대로 항목, 다음에 응답할 순번
+    private final Map<String, List<Entry>> entriesByUrl = new HashMap<>();
+    private final Map<String, AtomicInteger> nextByUrl = new HashMap<>();
+
+    private final AtomicLong missingRequests = new AtomicLong();
+
+    public ReplayPageFetcher(
+            @Value("${aladin.archive.path}") Path archivePath,
+            @Value("${aladin.archive.replay-latency}") boolean replayLatency) throws IOException {
+        this.archive = FetchArchive.open(archivePath);
+        this.replayLatency = replayLatency;
+
+        for (Entry entry : archive.entries()) {
+            entriesByUrl.computeIfAbsent(entry.url(), url -> new ArrayList<>()).add(entry);
+        }
+        entriesByUrl.keySet().forEach(url -> nextByUrl.put(url, new AtomicInteger()));
+
+        log.info("알라딘 요청 재생: {} (요청 {}건, URL {}개, 네트워크 시간 재현={})",
+                archivePath.toAbsolutePath(), archive.entries().size(), entriesByUrl.size(), replayLatency);
+    }
+
+    @Override
+    public Page fetch(String url, int timeoutMs) throws IOException, InterruptedException {
+        List<Entry> entries = entriesByUrl.get(url);
+        if (entries == null) {
+            long missing = missingRequests.incrementAndGet();
+            log.warn("아카이브에 없는 요청 ({}건째): {}", missing, url);
+            throw new IOException("아카이브에 없는 요청: " + url);
+        }
+
+        int next = nextByUrl.get(url).getAndIncrement();
+        Entry entry = entries.get(Math.min(next, entries.size() - 1));
+        Exchange exchange = archive.read(entry);
+
+        if (replayLatency) {
+            TimeUnit.NANOSECONDS.sleep(exchange.latencyNanos());
+        }
+
+        if (exchange.isError()) {
+            throw toException(exchange);
+        }
+        return new Page(exchange.finalUrl(), exchange.statusCode(), exchange.charset(), exchange.body());
+    }
+
+    private IOException toException(Exchange exchange) {
+        if (exchange.errorType().equals(HttpStatusException.class.getName())) {
+            return new HttpStatusException(exchange.errorMessage(), exchange.statusCode(), exchange.url());
+        }
+        if (exchange.errorType().equals(SocketTimeoutException.class.getName())) {
+            return new SocketTimeoutException(exchange.errorMessage());
+        }
+        return new IOException(exchange.errorType() + ": " + exchange.errorMessage());
+    }
+
+    @Override
+    public void destroy() throws IOException {
+        archive.close();
+    }
+}
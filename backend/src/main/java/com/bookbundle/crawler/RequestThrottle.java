@@ -0,0 +1,66 @@
+package com.bookbundle.crawler;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 알라딘 요청 예산
+ * - 동시 요청 수 제한: aladin.max-concurrent-requests (노드별)
+ * - 요청 시작 간격: 슬롯마다 aladin.request-delay-ms 유지
+ *   → 전체 요청 속도 = 동시 요청 수 / 요청 간격 (기본 5 / 500ms = 초당 10건)
+ *   → 시작 시각은 CrawlCoordinationStore에서 예약하므로 redis 저장소를 쓰면 모든 노드 합계 기준
+ * 
+ * 작업 스레드가 직접 sleep 하지 않으므로, 어떤 작업이 먼저 실행되든 전체 속도는 일정
+ */
+@Component
+public class RequestThrottle {
+
+    private final CrawlCoordinationStore coordinationStore;
+    private final int maxConcurrentRequests;
+    private final Semaphore permits;
+    private final long spacingNanos;
+
+    public RequestThrottle(
+            CrawlCoordinationStore coordinationStore,
+            @Value("${aladin.request-delay-ms}") int requestDelayMs,
+            @Value("${aladin.max-concurrent-requests}") int maxConcurrentRequests) {
+        this.coordinationStore = coordinationStore;
+        this.maxConcurrentRequests = maxConcurrentRequests;
+        this.permits = new Semaphore(maxConcurrentRequests, true);
+        this.spacingNanos = TimeUnit.MILLISECONDS.toNanos(requestDelayMs) / maxConcurrentRequests;
+    }
+
+    /**
+     * 요청 슬롯 확보 후 다음 시작 시각까지 대기
+     * 
+     * @return 슬롯 확보 후 시작 시각까지 기다린 시간 (ns, 프로파일용)
+     */
+    public long acquire() throws InterruptedException {
+        permits.acquire();
+        
+        try {
+            long waitNanos = coordinationStore.reserveRequestStart(spacingNanos);
+            if (waitNanos > 0) {
+                TimeUnit.NANOSECONDS.sleep(waitNanos);
+            }
+            return Math.max(0, waitNanos);
+        } catch (InterruptedException | RuntimeException e) {
+            permits.release();
+            throw e;
+        }
+    }
+
+    /**
+     * 요청 슬롯 반환
+     */
+    public void release() {
+        permits.release();
+    }
+
+    public int getMaxConcurrentRequests() {
+        return maxConcurrentRequests;
+    }
+}
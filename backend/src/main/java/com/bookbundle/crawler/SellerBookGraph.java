@@ -0,0 +1,372 @@
+package com.bookbundle.crawler;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * 판매자-책 이분 그래프 (노드 메모리, 모든 Phase 1/Phase 3 조회 결과로 갱신)
+ * - 책 노드: 원본 책 ID + 마지막으로 중고 모두보기를 조회한 시각
+ * - 간선 (판매자, 책): 현재 판매 목록에 있는지 + 등급별 최저가/중고 상품 ID, 상점 검증 결과(보유/미보유, 찾은 상품 ID) + 검증 시각
+ * - 판매자 코드와 책 ID는 정수 번호로 바꿔 저장하고, 간선은 책 노드마다 기본형 배열에 나란히 저장
+ *
+ * 조회 시각이 충분히 최근이면 (판매 목록: aladin.seller-graph.listing-max-age, 검증: 검증 캐시 보관 시간)
+ * 크롤러는 요청 없이 그래프에서 답함 → 자주 찾는 책으로만 이루어진 장바구니는 메모리 안의 교집합 계산으로 끝남
+ *
+ * 오래된 간선은 주기적으로 정리하고, 책 수가 aladin.seller-graph.max-books를 넘으면 가장 오래 안 쓴 책부터 제거
+ * 다른 노드의 조회 결과는 반영되지 않음 (검증 결과는 조정 저장소 캐시로 공유)
+ */
+@Slf4j
+@Component
+public class SellerBookGraph {
+
+    // 등급 수 (최상, 상, 중, 하 = BookItem.Quality 순서)
+    static final int QUALITY_LEVELS = 4;
+
+    private static final byte UNVERIFIED = 0;
+    private static final byte VERIFIED_FOUND = 1;
+    private static final byte VERIFIED_NOT_FOUND = 2;
+
+    private final Duration listingMaxAge;
+    private final Duration foundMaxAge;
+    private final Duration notFoundMaxAge;
+    private final int maxBooks;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    // 판매자 코드 <-> 번호 (이름/판매자 유형은 마지막으로 본 값)
+    private final Map<String, Integer> sellerIds = new HashMap<>();
+    private String[] sellerCodes = new String[256];
+    private String[] sellerNames = new String[256];
+    private String[] sellerTypes = new String[256];
+
+    private final Map<Long, BookNode> books = new HashMap<>();
+
+    public SellerBookGraph(
+            @Value("${aladin.seller-graph.listing-max-age}") Duration listingMaxAge,
+            @Value("${aladin.verification-cache.found-ttl}") Duration foundMaxAge,
+            @Value("${aladin.verification-cache.not-found-ttl}") Duration notFoundMaxAge,
+            @Value("${aladin.seller-graph.max-books}") int maxBooks) {
+        this.listingMaxAge = listingMaxAge;
+        this.foundMaxAge = foundMaxAge;
+        this.notFoundMaxAge = notFoundMaxAge;
+        this.maxBooks = maxBooks;
+    }
+
+    /**
+     * 중고 모두보기의 판매자 1명 (등급 필터 전)
+     * sellerType: 판매자 이름 옆 배지 (전문셀러/실버셀러, 없으면 null)
+     * levelPrices/levelItemIds: 등급별 최저가와 그 중고 상품 ID (없으면 0)
+     */
+    public record ListedSeller(String sellerCode, String sellerName, String sellerType,
+                               int[] levelPrices, long[] levelItemIds) {
+    }
+
+    /**
+     * 판매자-책 검증 결과 (quality: 등급 번호 0~3, itemId: 상점 검색에서 찾은 상품 ID, 모르면 0)
+     */
+    public record Verification(boolean found, int price, int quality, long itemId) {
+    }
+
+    /**
+     * 중고 모두보기 조회 결과 반영 (목록에 없는 기존 간선은 판매 목록에서 빠진 것으로 처리)
+     */
+    public void putListing(long bookId, List<ListedSeller> sellers) {
+        long now = System.currentTimeMillis();
+        boolean overCapacity;
+        lock.writeLock().lock();
+        try {
+            BookNode node = books.computeIfAbsent(bookId, id -> new BookNode());
+            node.listedAt = now;
+            node.listingVersion++;
+            node.accessedAt = now;
+            for (ListedSeller seller : sellers) {
+                int sellerId = internSeller(seller.sellerCode());
+                sellerNames[sellerId] = seller.sellerName();
+                sellerTypes[sellerId] = seller.sellerType();
+                int edge = node.edgeOf(sellerId, true);
+                node.edgeListingVersions[edge] = node.listingVersion;
+                System.arraycopy(seller.levelPrices(), 0, node.levelPrices, edge * QUALITY_LEVELS, QUALITY_LEVELS);
+                System.arraycopy(seller.levelItemIds(), 0, node.levelItemIds, edge * QUALITY_LEVELS, QUALITY_LEVELS);
+            }
+            overCapacity = books.size() > maxBooks + maxBooks / 10;
+        } finally {
+            lock.writeLock().unlock();
+        }
+        if (overCapacity) {
+            sweep();
+        }
+    }
+
+    /**
+     * 최근 조회한 중고 모두보기 판매자 목록 (조회 순서, 오래되었거나 없으면 empty)
+     */
+    public Optional<List<ListedSeller>> getListing(long bookId) {
+        long now = System.currentTimeMillis();
+        lock.readLock().lock();
+        try {
+            BookNode node = books.get(bookId);
+            if (node == null || node.listedAt == 0 || now - node.listedAt > listingMaxAge.toMillis()) {
+                return Optional.empty();
+            }
+            node.accessedAt = now;
+
+            List<ListedSeller> sellers = new ArrayList<>();
+            for (int edge = 0; edge < node.size; edge++) {
+                if (node.edgeListingVersions[edge] != node.listingVersion) continue;
+                int seller = node.sellers[edge];
+                int from = edge * QUALITY_LEVELS;
+                sellers.add(new ListedSeller(sellerCodes[seller], sellerNames[seller], sellerTypes[seller],
+                        Arrays.copyOfRange(node.levelPrices, from, from + QUALITY_LEVELS),
+                        Arrays.copyOfRange(node.levelItemIds, from, from + QUALITY_LEVELS)));
+            }
+            return Optional.of(sellers);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * 판매자 상점 검증 결과 반영
+     */
+    public void putVerification(String sellerCode, long bookId, boolean found, int price, int quality, long itemId) {
+        long now = System.currentTimeMillis();
+        lock.writeLock().lock();
+        try {
+            BookNode node = books.computeIfAbsent(bookId, id -> new BookNode());
+            node.accessedAt = now;
+            int edge = node.edgeOf(internSeller(sellerCode), true);
+            node.verifiedAt[edge] = now;
+            node.verified[edge] = found ? VERIFIED_FOUND : VERIFIED_NOT_FOUND;
+            node.verifiedPrices[edge] = price;
+            node.verifiedQualities[edge] = (byte) quality;
+            node.verifiedItemIds[edge] = itemId;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * 최근 검증 결과 (보유: 검증 캐시 보관 시간, 미보유: 미보유 보관 시간 이내만, 없으면 empty)
+     */
+    public Optional<Verification> getVerification(String sellerCode, long bookId) {
+        long now = System.currentTimeMillis();
+        lock.readLock().lock();
+        try {
+            BookNode node = books.get(bookId);
+            Integer seller = sellerIds.get(sellerCode);
+            if (node == null || seller == null) return Optional.empty();
+
+            int edge = node.edgeOf(seller, false);
+            if (edge < 0 || node.verified[edge] == UNVERIFIED) return Optional.empty();
+
+            boolean found = node.verified[edge] == VERIFIED_FOUND;
+            long maxAge = (found ? foundMaxAge : notFoundMaxAge).toMillis();
+            if (now - node.verifiedAt[edge] > maxAge) return Optional.empty();
+
+            node.accessedAt = now;
+            return Optional.of(new Verification(found, node.verifiedPrices[edge], node.verifiedQualities[edge],
+                    node.verifiedItemIds[edge]));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * 오래된 간선/책 정리 (1분마다, 책 수 초과 시 가장 오래 안 쓴 책부터 제거)
+     */
+    @Scheduled(fixedDelay = 60_000, initialDelay = 60_000)
+    public void sweep() {
+        long now = System.currentTimeMillis();
+        int removedEdges = 0;
+        int removedBooks = 0;
+        int remainingBooks;
+        int remainingSellers;
+
+        lock.writeLock().lock();
+        try {
+            var iterator = books.values().iterator();
+            while (iterator.hasNext()) {
+                BookNode node = iterator.next();
+                removedEdges += node.removeStaleEdges(now);
+                if (node.size == 0) {
+                    iterator.remove();
+                    removedBooks++;
+                }
+            }
+
+            if (books.size() > maxBooks) {
+                List<Map.Entry<Long, BookNode>> byAccess = new ArrayList<>(books.entrySet());
+                byAccess.sort((a, b) -> Long.compare(a.getValue().accessedAt, b.getValue().accessedAt));
+                for (int i = 0; i < byAccess.size() - maxBooks; i++) {
+                    books.remove(byAccess.get(i).getKey());
+                    removedBooks++;
+                }
+            }
+
+            compactSellers();
+            remainingBooks = books.size();
+            remainingSellers = sellerIds.size();
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        if (removedEdges > 0 || removedBooks > 0) {
+            log.debug("판매자-책 그래프 정리: 간선 {}개, 책 {}권 제거 (남은 책 {}권, 판매자 {}명)",
+                    removedEdges, removedBooks, remainingBooks, remainingSellers);
+        }
+    }
+
+    private int internSeller(String sellerCode) {
+        Integer id = sellerIds.get(sellerCode);
+        if (id == null) {
+            id = sellerIds.size();
+            if (id == sellerCodes.length) {
+                sellerCodes = Arrays.copyOf(sellerCodes, id * 2);
+                sellerNames = Arrays.copyOf(sellerNames, id * 2);
+                sellerTypes = Arrays.copyOf(sellerTypes, id * 2);
+            }
+            sellerIds.put(sellerCode, id);
+            sellerCodes[id] = sellerCode;
+        }
+        return id;
+    }
+
+    /**
+     * 간선이 없는 판매자가 절반을 넘으면 번호를 다시 매김 (쓰기 락 안에서)
+     */
+    private void compactSellers() {
+        boolean[] live = new boolean[sellerIds.size()];
+        int liveCount = 0;
+        for (BookNode node : books.values()) {
+            for (int edge = 0; edge < node.size; edge++) {
+                if (!live[node.sellers[edge]]) {
+                    live[node.sellers[edge]] = true;
+                    liveCount++;
+                }
+            }
+        }
+        if (liveCount * 2 >= live.length) return;
+
+        int[] remap = new int[live.length];
+        String[] codes = new String[Math.max(256, liveCount * 2)];
+        String[] names = new String[codes.length];
+        String[] types = new String[codes.length];
+        sellerIds.clear();
+        for (int old = 0; old < live.length; old++) {
+            if (!live[old]) continue;
+            int id = sellerIds.size();
+            remap[old] = id;
+            codes[id] = sellerCodes[old];
+            names[id] = sellerNames[old];
+            types[id] = sellerTypes[old];
+            sellerIds.put(codes[id], id);
+        }
+        sellerCodes = codes;
+        sellerNames = names;
+        sellerTypes = types;
+        for (BookNode node : books.values()) {
+            for (int edge = 0; edge < node.size; edge++) {
+                node.sellers[edge] = remap[node.sellers[edge]];
+            }
+        }
+    }
+
+    /**
+     * 책 1권의 간선 (판매 목록 순서, 간선 속성은 배열 인덱스로 대응)
+     */
+    private class BookNode {
+        // 마지막 판매 목록 조회 시각과 조회 차수 (간선의 차수가 같으면 현재 판매 목록에 있음)
+        long listedAt;
+        int listingVersion;
+        // 마지막 사용 시각 (읽기 락에서 여러 스레드가 함께 갱신하므로 volatile, 제거 순서 판단용이라 마지막 쓰기만 남아도 됨)
+        volatile long accessedAt;
+        int size;
+
+        int[] sellers = new int[8];
+        int[] edgeListingVersions = new int[8];
+        int[] levelPrices = new int[8 * QUALITY_LEVELS];
+        long[] levelItemIds = new long[8 * QUALITY_LEVELS];
+        long[] verifiedAt = new long[8];
+        byte[] verified = new byte[8];
+        int[] verifiedPrices = new int[8];
+        byte[] verifiedQualities = new byte[8];
+        long[] verifiedItemIds = new long[8];
+
+        /**
+         * 판매자 간선 위치 (없으면 create일 때 추가, 아니면 -1)
+         */
+        int edgeOf(int seller, boolean create) {
+            for (int edge = 0; edge < size; edge++) {
+                if (sellers[edge] == seller) return edge;
+            }
+            if (!create) return -1;
+
+            if (size == sellers.length) {
+                grow(size * 2);
+            }
+            sellers[size] = seller;
+            return size++;
+        }
+
+        private void grow(int capacity) {
+            sellers = Arrays.copyOf(sellers, capacity);
+            edgeListingVersions = Arrays.copyOf(edgeListingVersions, capacity);
+            levelPrices = Arrays.copyOf(levelPrices, capacity * QUALITY_LEVELS);
+            levelItemIds = Arrays.copyOf(levelItemIds, capacity * QUALITY_LEVELS);
+            verifiedAt = Arrays.copyOf(verifiedAt, capacity);
+            verified = Arrays.copyOf(verified, capacity);
+            verifiedPrices = Arrays.copyOf(verifiedPrices, capacity);
+            verifiedQualities = Arrays.copyOf(verifiedQualities, capacity);
+            verifiedItemIds = Arrays.copyOf(verifiedItemIds, capacity);
+        }
+
+        /**
+         * 판매 목록 정보와 검증 결과가 모두 만료된 간선 제거 (남은 간선은 순서 유지하며 앞으로)
+         *
+         * @return 제거한 간선 수
+         */
+        int removeStaleEdges(long now) {
+            boolean listingFresh = listedAt != 0 && now - listedAt <= listingMaxAge.toMillis();
+            int kept = 0;
+            for (int edge = 0; edge < size; edge++) {
+                boolean listed = listingFresh && edgeListingVersions[edge] == listingVersion;
+                boolean verificationFresh = verified[edge] != UNVERIFIED && now - verifiedAt[edge]
+                        <= (verified[edge] == VERIFIED_FOUND ? foundMaxAge : notFoundMaxAge).toMillis();
+                if (!listed && !verificationFresh) continue;
+
+                if (kept != edge) {
+                    sellers[kept] = sellers[edge];
+                    edgeListingVersions[kept] = edgeListingVersions[edge];
+                    System.arraycopy(levelPrices, edge * QUALITY_LEVELS, levelPrices, kept * QUALITY_LEVELS, QUALITY_LEVELS);
+                    System.arraycopy(levelItemIds, edge * QUALITY_LEVELS, levelItemIds, kept * QUALITY_LEVELS, QUALITY_LEVELS);
+                    verifiedAt[kept] = verifiedAt[edge];
+                    verified[kept] = verified[edge];
+                    verifiedPrices[kept] = verifiedPrices[edge];
+                    verifiedQualities[kept] = verifiedQualities[edge];
+                    verifiedItemIds[kept] = verifiedItemIds[edge];
+                }
+                kept++;
+            }
+            int removed = size - kept;
+            size = kept;
+            if (!listingFresh) {
+                listedAt = 0;
+            }
+            if (size > 16 && size * 4 < sellers.length) {
+                grow(size * 2);
+            }
+            return removed;
+        }
+    }
+}
@@ -0,0 +1,84 @@
+package com.bookbundle.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 분석 실행 프로파일 (BundleRequest.profile=true일 때만 생성)
+ * 시간 값은 모두 ms, startMs/endMs는 분석 시작 시점 기준
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class AnalysisProfile {
+
+    // 전체 소요 시간
+    private long totalMs;
+
+    // 단계별 구간 (Phase 1 진행 중 미리 시작한 검증은 fetches의 startMs로 확인)
+    private List<PhaseTiming> phases;
+
+    // 알라딘 요청 목록 (시작 순)
+    private List<FetchTiming> fetches;
+
+    // 캐시 이름 -> 적중/미스 횟수
+    private Map<String, CacheStats> caches;
+
+    // 실패한 요청 수 (크롤러는 재시도하지 않으므로 실패 = 해당 작업 실패)
+    private int failedFetches;
+
+    // 임계 경로: 마지막으로 끝난 작업부터 그 작업을 등록하게 만든 작업을 거슬러 올라간 요청 id (시간 순)
+    private List<Integer> criticalPath;
+
+    /**
+     * 단계 구간
+     */
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class PhaseTiming {
+        private String name;
+        private long startMs;
+        private long endMs;
+    }
+
+    /**
+     * 알라딘 요청 1건
+     */
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class FetchTiming {
+        private int id;
+        private String urlClass;        // SEARCH, PRODUCT, USED_LIST, SELLER_SHOP
+        private String url;
+        private long startMs;           // 작업 시작 (분배기 대기 이후)
+        private long endMs;
+        private long queueWaitMs;       // 분배기 대기 (작업의 첫 요청에만 반영)
+        private long slotWaitMs;        // 동시 요청 슬롯 대기
+        private long pacingWaitMs;      // 요청 시작 간격 대기
+        private long networkMs;         // 응답 수신 (본문까지)
+        private long parseMs;           // HTML 파싱
+        private String error;           // 실패 시 예외 요약
+    }
+
+    /**
+     * 캐시 적중/미스 횟수
+     */
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class CacheStats {
+        private int hits;
+        private int misses;
+    }
+}
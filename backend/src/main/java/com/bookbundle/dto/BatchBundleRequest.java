@@ -0,0 +1,29 @@
+package com.bookbundle.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * 북번들 일괄 분석 요청 (여러 장바구니, 최대 MAX_REQUESTS개)
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BatchBundleRequest {
+    
+    // 일괄 분석 1회당 최대 장바구니 수 (장바구니는 순서대로 분석되므로 전체 소요 시간 상한)
+    public static final int MAX_REQUESTS = 50;
+    
+    @Valid
+    @NotEmpty(message = "장바구니 목록은 필수입니다")
+    @Size(max = MAX_REQUESTS, message = "장바구니는 " + MAX_REQUESTS + "개 이하여야 합니다")
+    private List<BundleRequest> requests;
+}
@@ -15,6 +15,7 @@ import lombok.NoArgsConstructor;
 public class BookItem {
     
     private Long itemId;           // 알라딘 상품 ID
+    private Long originalItemId;   // 원본 책 ID (확장에서 장바구니의 중고 상품과 함께 읽은 경우, 있으면 원본 ID 변환 생략)
     private String isbn13;         // ISBN 13자리
     private String title;          // 책 제목
     private String author;         // 저자
@@ -27,11 +28,13 @@ public class BookItem {
      * - BEST: 최상 (새것에 가까움)
      * - GOOD: 상 (사용감 적음)
      * - FAIR: 중 (사용감 있음)
+     * - POOR: 하 (사용감 많음, 최소 등급으로 고르면 모든 등급 허용)
      */
     public enum Quality {
         BEST("최상", 1),
         GOOD("상", 2),
-        FAIR("중", 3);
+        FAIR("중", 3),
+        POOR("하", 4);
         
         private final String korean;
         private final int level;
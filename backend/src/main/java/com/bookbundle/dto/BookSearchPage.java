@@ -0,0 +1,21 @@
+package com.bookbundle.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * 책 검색 결과 한 페이지 (커서 기반)
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BookSearchPage {
+    
+    private List<BookSearchResult> items;  // 이번 페이지 결과
+    private String nextCursor;             // 다음 페이지 요청에 그대로 전달 (마지막 페이지면 null)
+}
@@ -1,6 +1,9 @@
 package com.bookbundle.dto;
 
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
@@ -19,5 +22,27 @@ public class BundleRequest {
     
     @NotEmpty(message = "책 목록은 필수입니다")
     private List<BookItem> books;
+    
+    // 추천 판매자 수 (미지정 시 20명)
+    @Min(value = 1, message = "추천 판매자 수는 1 이상이어야 합니다")
+    @Max(value = 100, message = "추천 판매자 수는 100 이하여야 합니다")
+    private Integer topK;
+    
+    // 상세 검증 대상 판매자 수 (미지정 시 25명)
+    @Min(value = 1, message = "검증 대상 판매자 수는 1 이상이어야 합니다")
+    @Max(value = 200, message = "검증 대상 판매자 수는 200 이하여야 합니다")
+    private Integer candidateLimit;
+    
+    // 분석 시간 제한 (ms, 미지정 시 서버 기본값) - 초과 시 그때까지의 결과 반환
+    @Min(value = 1000, message = "분석 시간 제한은 1000ms 이상이어야 합니다")
+    @Max(value = 600000, message = "분석 시간 제한은 600000ms 이하여야 합니다")
+    private Integer timeBudgetMs;
+    
+    // 클라이언트(탭) 식별자 - 같은 값으로 새 분석을 요청하면 이전 분석은 중단됨
+    @Size(max = 64, message = "clientId는 64자 이하여야 합니다")
+    private String clientId;
+    
+    // 실행 프로파일 포함 여부 (느린 분석 원인 확인용, 단건 분석만 적용)
+    private Boolean profile;
 }
 
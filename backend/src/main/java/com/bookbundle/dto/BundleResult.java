@@ -19,7 +19,7 @@ public class BundleResult {
     // 입력한 책 목록
     private List<BookItem> requestedBooks;
     
-    // 총 요청 책 수
+    // 총 요청 책 수 (같은 책의 다른 중고 상품은 1권)
     private int totalRequestedCount;
     
     // 추천 판매자 목록 (보유 권수 순 정렬)
@@ -30,5 +30,17 @@ public class BundleResult {
     
     // 분석 소요 시간 (ms)
     private long analysisTimeMs;
+    
+    // 모든 책/판매자 확인을 마쳤는지 여부 (시간 제한에 걸리면 false)
+    private boolean complete;
+    
+    // 판매자 목록 조회를 마치지 못한 책 ID
+    private List<Long> uncheckedItemIds;
+    
+    // 상세 검증을 마치지 못한 판매자 코드 (보유 권수/가격은 확인된 책까지만 반영)
+    private List<String> incompleteSellerCodes;
+    
+    // 실행 프로파일 (요청에서 profile=true일 때만)
+    private AnalysisProfile profile;
 }
 
@@ -0,0 +1,24 @@
+package com.bookbundle.dto;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * 장바구니 미리 조회 요청 (확장에서 추출한 장바구니 상품 ID)
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class PrefetchRequest {
+    
+    @NotEmpty(message = "상품 ID 목록은 필수입니다")
+    @Size(max = 50, message = "미리 조회할 상품은 50개 이하여야 합니다")
+    private List<Long> itemIds;
+}
@@ -31,11 +31,14 @@ public class SellerInfo {
     // 총 가격 (배송비 미포함)
     private int totalPrice;
     
-    // 배송비
-    private int shippingFee;
+    // 배송비 (상점 정보를 아직 읽지 못했으면 null)
+    private Integer shippingFee;
     
-    // 무료배송 기준 금액
-    private int freeShippingThreshold;
+    // 무료배송 기준 금액 (없거나 모르면 null)
+    private Integer freeShippingThreshold;
+    
+    // 배송비 포함 예상 총액 (배송비를 모르면 기본 배송비로 추정, 순위 기준)
+    private int totalCost;
     
     /**
      * 판매자가 보유한 개별 책 정보
@@ -0,0 +1,33 @@
+package com.bookbundle.dto;
+
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * 번들 감시 등록 요청 (장바구니 + 알림 조건)
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class WatchRequest {
+    
+    @NotEmpty(message = "책 목록은 필수입니다")
+    @Size(max = 50, message = "감시할 책은 50권 이하여야 합니다")
+    private List<BookItem> books;
+    
+    // 판매자 1명이 이 권수 이상 보유하면 조건 충족 (미지정 시 모든 책, 책 수보다 크면 책 수)
+    @Min(value = 1, message = "최소 보유 권수는 1 이상이어야 합니다")
+    private Integer minBooks;
+    
+    // 최소 보유 권수만큼 가장 싸게 샀을 때의 총 가격 상한 (배송비 미포함, 미지정 시 가격 무관)
+    @Min(value = 0, message = "총 가격 상한은 0 이상이어야 합니다")
+    private Integer maxTotalPrice;
+}
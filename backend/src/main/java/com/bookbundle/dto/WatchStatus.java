@@ -0,0 +1,38 @@
+package com.bookbundle.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * 번들 감시 상태
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class WatchStatus {
+    
+    private String watchId;
+    
+    // 감시 조건
+    private List<BookItem> books;
+    private int minBooks;
+    private Integer maxTotalPrice;
+    
+    // 등록 시각, 만료 시각 (ms)
+    private long createdAt;
+    private long expiresAt;
+    
+    // 마지막으로 조건을 확인한 시각 (모든 책의 판매자 목록을 조회하기 전이면 null)
+    private Long checkedAt;
+    
+    // 조건을 만족하는 판매자 (보유 권수 순, 최대 5명)
+    private List<SellerInfo> matches;
+    
+    // 조건을 만족하기 시작한 시각 (지금 만족하지 않으면 null)
+    private Long matchedAt;
+}
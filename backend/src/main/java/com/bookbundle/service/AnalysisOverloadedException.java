@@ -0,0 +1,20 @@
+package com.bookbundle.service;
+
+import lombok.Getter;
+
+/**
+ * 크롤링 대기 작업이 많아 새 분석을 받을 수 없음 (503 + Retry-After)
+ */
+@Getter
+public class AnalysisOverloadedException extends RuntimeException {
+
+    private static final long serialVersionUID = 1L;
+
+    // 다시 요청하기까지 권장 대기 시간 (초)
+    private final long retryAfterSeconds;
+
+    public AnalysisOverloadedException(long estimatedWaitMs, long retryAfterSeconds) {
+        super("크롤링 대기 시간 초과 예상: " + estimatedWaitMs + "ms");
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+}
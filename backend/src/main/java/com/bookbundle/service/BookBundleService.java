@@ -1,127 +1,476 @@
 package com.bookbundle.service;
 
 import com.bookbundle.crawler.AladinCrawlerService;
+import com.bookbundle.crawler.AladinCrawlerService.CachedVerification;
+import com.bookbundle.crawler.CrawlProfiler;
 import com.bookbundle.dto.*;
 import com.bookbundle.dto.SellerInfo.SellerBookItem;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
-import java.io.IOException;
 import java.util.*;
+import java.util.concurrent.CancellationException;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 
 /**
- * 북번들 핵심 비즈니스 로직
- * - Phase 1: 책별 판매자 수집 (병렬 처리)
+ * 북번들 핵심 비즈니스 로직 (파이프라인 처리)
+ * - Phase 1: 책별 판매자 수집 (병렬 처리, 판매 행의 등급/가격까지 확인 + 최소 등급 필터링)
+ *   → 2권 이상 확인된 판매자는 Phase 1이 끝나기 전에 가격을 읽지 못한 책 검증을 미리 시작
  * - Phase 2: 판매자별 교집합 분석
- * - Phase 3: 판매자별 상세 검증 (병렬 처리 + 스마트 필터링)
+ * - Phase 3: (판매자, 책) 조합별 상세 검증 (독립 작업 + 스마트 필터링 + 상위 K명 조기 종료)
+ *   → Phase 1에서 가격/등급을 확인한 책은 검색하지 않음
+ *   → Phase 1 목록에 없던 책은 판매자별 적중 통계로 검색 여부/순서 결정 (적중 확률이 높은 검색 먼저)
+ *   → 이전 분석에서 검증한 (판매자, 원본 책)은 캐시된 결과 사용 (미보유 포함)
+ * - Phase 4: 보유 권수 -> 배송비 포함 총액 순 (판매자 정보는 캐시된 것만 사용, 없으면 백그라운드 조회)
+ * 판매자-책 그래프(SellerBookGraph)에 최근 조회한 판매 목록/검증 결과가 있으면 작업을 등록하지 않고 바로 사용
+ *   → 자주 찾는 책으로만 이루어진 장바구니는 요청 없이 메모리 안에서 분석
+ * 
+ * 모든 크롤링 작업은 분석별 CrawlTaskDispatcher를 거쳐 CrawlScheduler가 분석끼리 돌아가며 실행 (전체 요청 예산 안에서)
+ * 대기 작업이 많으면 새 분석은 받지 않음 (AnalysisOverloadedException)
+ * 시간 제한(timeBudgetMs)이 있으면 마감 전에 끝낼 수 없는 작업은 시작하지 않고,
+ * 그때까지 확인된 결과와 미확인 책/판매자 목록을 반환
+ * 같은 clientId로 새 분석이 들어오거나 취소 요청이 오면 진행 중인 크롤링을 중단
+ * 
+ * 분석은 블로킹 없이 CompletableFuture로 이어서 진행되므로 대기하는 스레드를 점유하지 않음
+ * profile=true인 단건 분석은 단계/요청별 소요 시간과 임계 경로를 결과에 포함 (끄면 수집기를 만들지 않음)
  */
 @Slf4j
 @Service
 public class BookBundleService {
 
+    // 추천 판매자 수 기본값
+    private static final int DEFAULT_TOP_K = 20;
+
+    // 상세 검증 대상 판매자 수 기본값 (최종 결과 20명을 위해 충분한 여유 확보)
+    private static final int DEFAULT_CANDIDATE_LIMIT = 25;
+
+    // 상세 검증 대상이 되는 Phase 1 최소 보유 권수
+    private static final int CANDIDATE_MIN_BOOKS = 2;
+
+    // 미확인 책 검색 우선순위 폭 (적중 확률이 낮을수록 같은 판매자의 확인된 책보다 최대 이만큼 뒤로)
+    private static final int PROBE_PRIORITY_SPREAD = 10;
+
+    // 작업 우선순위 (낮을수록 먼저): Phase 1 -> 보유 권수가 많은 판매자의 Phase 3
+    private static final int PRIORITY_PHASE1 = 0;
+
     private final AladinCrawlerService crawlerService;
-    private final Executor crawlerExecutor;
+    private final CrawlScheduler crawlScheduler;
+    private final SellerHitStatistics sellerHitStatistics;
+    private final SellerMetadataService sellerMetadataService;
+    private final int maxConcurrentRequests;
+    private final int defaultTimeBudgetMs;
+    private final int batchTimeBudgetMs;
+    private final long admissionMaxWaitMs;
+
+    // clientId -> 진행 중인 분석의 작업 분배기 (새 분석/취소 요청 시 이전 분석 중단용)
+    private final Map<String, CrawlTaskDispatcher> activeAnalyses = new ConcurrentHashMap<>();
 
     @Autowired
     public BookBundleService(
             AladinCrawlerService crawlerService,
-            @Qualifier("crawlerExecutor") Executor crawlerExecutor) {
+            CrawlScheduler crawlScheduler,
+            SellerHitStatistics sellerHitStatistics,
+            SellerMetadataService sellerMetadataService,
+            @Value("${aladin.max-concurrent-requests}") int maxConcurrentRequests,
+            @Value("${bundle.default-time-budget-ms}") int defaultTimeBudgetMs,
+            @Value("${bundle.batch.time-budget-ms}") int batchTimeBudgetMs,
+            @Value("${bundle.admission.max-wait-ms}") long admissionMaxWaitMs) {
         this.crawlerService = crawlerService;
-        this.crawlerExecutor = crawlerExecutor;
+        this.crawlScheduler = crawlScheduler;
+        this.sellerHitStatistics = sellerHitStatistics;
+        this.sellerMetadataService = sellerMetadataService;
+        this.maxConcurrentRequests = maxConcurrentRequests;
+        this.defaultTimeBudgetMs = defaultTimeBudgetMs;
+        this.batchTimeBudgetMs = batchTimeBudgetMs;
+        this.admissionMaxWaitMs = admissionMaxWaitMs;
     }
 
     /**
-     * 책 검색
+     * 진행 중인 분석 취소 (탭 종료 등)
+     * 
+     * @return 취소할 분석이 있었는지
      */
-    public List<BookSearchResult> searchBooks(String keyword) throws IOException {
-        return crawlerService.searchBooks(keyword);
+    public boolean cancelAnalysis(String clientId) {
+        CrawlTaskDispatcher dispatcher = activeAnalyses.remove(clientId);
+        if (dispatcher == null) return false;
+        
+        log.info("북번들 분석 취소: clientId={}", clientId);
+        dispatcher.cancel();
+        return true;
     }
 
     /**
      * 북번들 분석 실행
      * 입력받은 책 목록에 대해 여러 책을 보유한 판매자를 찾아서 반환
+     * 
+     * 반환된 future를 취소하면 (요청 시간 초과, 연결 끊김 등) 진행 중인 크롤링도 중단됨
+     * 분석이 취소된 경우 (같은 clientId의 새 분석, 취소 요청) CancellationException으로 완료
+     * 대기 중인 크롤링 작업을 처리하는 데 bundle.admission.max-wait-ms보다 오래 걸릴 것으로 예상되면
+     * 분석을 시작하지 않고 AnalysisOverloadedException으로 완료
      */
-    public BundleResult analyzeBundle(BundleRequest request) {
+    public CompletableFuture<BundleResult> analyzeBundle(BundleRequest request) {
         long startTime = System.currentTimeMillis();
         
+        Optional<AnalysisOverloadedException> overloaded = checkAdmission("북번들 분석");
+        if (overloaded.isPresent()) {
+            return CompletableFuture.failedFuture(overloaded.get());
+        }
+        
         List<BookItem> books = request.getBooks();
-        log.info("북번들 분석 시작: {}권", books.size());
-        
-        // ========== Phase 1: 각 책별 판매자 수집 (병렬 처리) ==========
-        Map<Long, List<SellerInfo>> bookSellersMap = new ConcurrentHashMap<>();
-        
-        List<CompletableFuture<Void>> phase1Futures = books.stream()
-            .map(book -> CompletableFuture.runAsync(() -> {
-                try {
-                    List<SellerInfo> sellers = crawlerService.getSellersByItemId(
-                            book.getItemId(), 
-                            book.getMinQuality()
-                    );
-                    bookSellersMap.put(book.getItemId(), sellers);
-                    log.info("책 '{}': 판매자 {}명", book.getTitle(), sellers.size());
-                } catch (Exception e) {
-                    log.error("판매자 조회 실패: {}", book.getTitle(), e);
-                    bookSellersMap.put(book.getItemId(), Collections.emptyList());
-                }
-            }, crawlerExecutor))
-            .collect(Collectors.toList());
+        int timeBudgetMs = request.getTimeBudgetMs() != null ? request.getTimeBudgetMs() : defaultTimeBudgetMs;
+        log.info("북번들 분석 시작: {}권 (시간 제한: {})", books.size(), 
+                timeBudgetMs > 0 ? timeBudgetMs + "ms" : "없음");
+        
+        CrawlProfiler profiler = Boolean.TRUE.equals(request.getProfile()) ? new CrawlProfiler() : null;
+        BundleCrawlContext context = newContext(timeBudgetMs, profiler);
+        
+        // 같은 클라이언트의 이전 분석은 더 이상 필요 없으므로 중단
+        String clientId = request.getClientId();
+        if (clientId != null) {
+            CrawlTaskDispatcher previous = activeAnalyses.put(clientId, context.getDispatcher());
+            if (previous != null) {
+                log.info("이전 분석 중단 (새 분석 요청): clientId={}", clientId);
+                previous.cancel();
+            }
+        }
         
-        // 모든 Phase 1 작업 완료 대기
-        CompletableFuture.allOf(phase1Futures.toArray(new CompletableFuture[0])).join();
+        CompletableFuture<BundleResult> result = analyzeBundle(request, context, startTime);
+        result.whenComplete((r, e) -> {
+            if (clientId != null) {
+                activeAnalyses.remove(clientId, context.getDispatcher());
+            }
+            if (result.isCancelled()) {
+                context.getDispatcher().cancel();
+            }
+        });
+        return result;
+    }
+
+    private CompletableFuture<BundleResult> analyzeBundle(BundleRequest request, BundleCrawlContext context, long startTime) {
+        List<BookItem> books = request.getBooks();
+        Map<Long, List<SellerInfo>> bookSellersMap = context.getBookSellersMap();
+        PrefetchState prefetch = new PrefetchState(resolveCandidateLimit(request));
+        
+        // ========== Phase 1: 원본 책별 판매자 수집 (병렬 처리) ==========
+        // 입력 ID -> 원본 ID 변환을 먼저 하고, 같은 책의 다른 중고 상품은 원본 책당 한 번만 조회 (일괄 분석과 같은 경로)
+        // 원본 ID는 Phase 3 검증 캐시 키로도 쓰이므로 컨텍스트에 기록
+        // 2권 이상 확인된 판매자는 확인된 책 검증을 미리 시작 (Phase 1과 Phase 3 중첩)
+        CompletableFuture<Void> phase1 = collectSellersByOriginalId(books, context,
+                (book, sellers, totalBooks) -> prefetchConfirmedChecks(book, sellers, totalBooks, prefetch, context));
+        
+        // 모든 Phase 1 작업 완료 후 이어서 진행 (시간 제한이 있으면 마감까지만)
+        return withinDeadline(phase1, context)
+            .thenCompose(inTime -> {
+                if (!inTime) {
+                    log.warn("Phase 1 시간 초과: {}/{}권 조회 완료", bookSellersMap.size(), books.size());
+                }
+                throwIfCancelled(context);
+                endPhase(context, "Phase 1");
+                return buildBundleResult(request, context, startTime);
+            })
+            .thenApply(result -> {
+                throwIfCancelled(context);
+                CrawlProfiler profiler = context.getDispatcher().getProfiler();
+                if (profiler != null) {
+                    result.setProfile(profiler.toProfile());
+                }
+                return result;
+            });
+    }
+
+    /**
+     * 요청 없이 알 수 있는 원본 책 ID (확장이 장바구니에서 읽어 전달한 ID -> 캐시 순, 모르면 empty)
+     * 전달받은 ID는 이 분석에서만 사용 (클라이언트 값이므로 노드 간 공유 캐시에는 쓰지 않음)
+     */
+    private Optional<Long> knownOriginalId(BookItem book, CrawlProfiler profiler) {
+        if (book.getOriginalItemId() != null) {
+            return Optional.of(book.getOriginalItemId());
+        }
+        return crawlerService.getCachedOriginalItemId(book.getItemId(), profiler);
+    }
+
+    /**
+     * 북번들 일괄 분석 실행
+     * 여러 장바구니의 책을 합쳐 원본 책 ID별로 한 번씩만 판매자를 조회하고,
+     * 판매자-책 상세 검증도 조합당 한 번만 수행한 뒤 장바구니별 결과로 나눠서 반환
+     * 
+     * 단건 분석과 같은 기준으로 과부하면 시작하지 않음 (AnalysisOverloadedException)
+     * 일괄 분석 전체에 bundle.batch.time-budget-ms 시간 제한 적용
+     * → 마감 이후 장바구니는 그때까지 확인된 결과와 미확인 책/판매자 목록으로 반환
+     * 장바구니 수는 BatchBundleRequest.MAX_REQUESTS개까지 (요청 검증)
+     * 
+     * 반환된 future를 취소하면 진행 중인 크롤링도 중단됨
+     */
+    public CompletableFuture<List<BundleResult>> analyzeBundles(List<BundleRequest> requests) {
+        long startTime = System.currentTimeMillis();
         
-        // ========== Phase 1 결과 매핑: 판매자-책 Set 생성 ==========
-        Set<String> phase1SellerBookSet = ConcurrentHashMap.newKeySet();
+        Optional<AnalysisOverloadedException> overloaded = checkAdmission("북번들 일괄 분석");
+        if (overloaded.isPresent()) {
+            return CompletableFuture.failedFuture(overloaded.get());
+        }
         
-        for (Map.Entry<Long, List<SellerInfo>> entry : bookSellersMap.entrySet()) {
-            Long itemId = entry.getKey();
-            for (SellerInfo seller : entry.getValue()) {
-                phase1SellerBookSet.add(seller.getSellerCode() + ":" + itemId);
+        // 전체 장바구니의 책 합집합 (입력 ID 기준)
+        Map<Long, BookItem> distinctBooks = new LinkedHashMap<>();
+        for (BundleRequest request : requests) {
+            for (BookItem book : request.getBooks()) {
+                distinctBooks.putIfAbsent(book.getItemId(), book);
             }
         }
         
-        log.info("Phase 1 완료: {} 개의 판매자-책 매핑 발견", phase1SellerBookSet.size());
+        log.info("북번들 일괄 분석 시작: 장바구니 {}개, 고유 책 {}권 (시간 제한: {})", requests.size(), distinctBooks.size(),
+                batchTimeBudgetMs > 0 ? batchTimeBudgetMs + "ms" : "없음");
         
-        // ========== Phase 2: 판매자별 보유 책 교집합 분석 ==========
-        Map<String, SellerInfo> sellerBundleMap = analyzeSellerBundles(books, bookSellersMap);
+        BundleCrawlContext context = newContext(batchTimeBudgetMs, null);
         
-        // ========== Phase 3: 판매자별 상세 검증 (병렬 처리 + 스마트 필터링) ==========
-        List<SellerInfo> verifiedSellers = verifySellerBooks(sellerBundleMap, books, phase1SellerBookSet);
+        // ========== Phase 1: 원본 책 ID별 판매자 수집 (공유) ==========
+        CompletableFuture<Void> chain = collectSellersByOriginalId(distinctBooks.values(), context, null);
         
-        // ========== Phase 4: 보유 권수 순으로 정렬 ==========
-        verifiedSellers.sort((a, b) -> {
-            // 1차: 보유 권수 내림차순
-            int countCompare = Integer.compare(b.getTotalBookCount(), a.getTotalBookCount());
-            if (countCompare != 0) return countCompare;
-            
-            // 2차: 총 가격 오름차순
-            return Integer.compare(a.getTotalPrice(), b.getTotalPrice());
+        // ========== Phase 2~4: 장바구니별 분석 (Phase 3 검증 결과 공유) ==========
+        // 한 장바구니의 조기 종료가 공유 검증 작업을 취소할 수 있으므로 장바구니는 순서대로 처리
+        List<BundleResult> results = new ArrayList<>();
+        for (BundleRequest request : requests) {
+            chain = chain
+                .thenCompose(v -> buildBundleResult(request, context, startTime))
+                .thenAccept(results::add);
+        }
+        
+        CompletableFuture<List<BundleResult>> result = chain.thenApply(v -> {
+            log.info("북번들 일괄 분석 완료: {}ms, 판매자-책 검증 {}건", 
+                    System.currentTimeMillis() - startTime, context.getVerifications().size());
+            return results;
         });
+        result.whenComplete((r, e) -> {
+            if (result.isCancelled()) {
+                context.getDispatcher().cancel();
+            }
+        });
+        return result;
+    }
+
+    /**
+     * 원본 책 묶음 하나의 판매자 조회가 끝남
+     * (묶음 대표 책, 대표 책의 최소 등급으로 거른 판매자, 전체 원본 책 수)
+     */
+    @FunctionalInterface
+    private interface SellersCollectedListener {
+        void collected(BookItem book, List<SellerInfo> sellers, int totalBooks);
+    }
+
+    /**
+     * 원본 책 ID별 판매자 수집 (단건/일괄 분석 공통 Phase 1)
+     * 1. 입력 ID -> 원본 ID 변환 (병렬, 확장이 전달했거나 캐시에 있으면 작업 등록 생략)
+     * 2. 같은 원본 ID인 책들은 판매 목록을 한 번만 조회하고 책마다 최소 등급으로 거름
+     *    (판매자-책 그래프에 최근 목록이 있으면 요청 없음)
+     * 마감 시각 때문에 조회하지 못한 책은 결과를 남기지 않음 (미확인 책)
+     *
+     * @param listener 묶음별 조회가 성공할 때마다 호출 (없으면 null)
+     */
+    private CompletableFuture<Void> collectSellersByOriginalId(
+            Collection<BookItem> books, BundleCrawlContext context, SellersCollectedListener listener) {
+        return resolveOriginalIds(books, context)
+                .thenCompose(v -> collectSellers(books, context, listener));
+    }
+
+    /**
+     * 입력 ID -> 원본 ID 변환 후 컨텍스트에 기록 (병렬, 확장이 전달했거나 캐시에 있으면 작업 등록 생략)
+     * 같은 입력 ID는 한 번만 변환, 변환에 실패하면 입력 ID를 원본으로 사용
+     */
+    private CompletableFuture<Void> resolveOriginalIds(Collection<BookItem> books, BundleCrawlContext context) {
+        Map<Long, Long> originalItemIds = context.getOriginalItemIds();
+        
+        CrawlProfiler profiler = context.getDispatcher().getProfiler();
+        
+        Map<Long, BookItem> distinctBooks = new LinkedHashMap<>();
+        for (BookItem book : books) {
+            distinctBooks.putIfAbsent(book.getItemId(), book);
+        }
+        
+        List<CompletableFuture<Void>> resolveFutures = distinctBooks.values().stream()
+            .map(book -> knownOriginalId(book, profiler)
+                .map(CompletableFuture::completedFuture)
+                .orElseGet(() -> context.getDispatcher()
+                    .submit(PRIORITY_PHASE1, () -> crawlerService.getOriginalItemId(book.getItemId())))
+                .<Void>handle((originalId, e) -> {
+                    if (e != null) {
+                        log.warn("원본 ID 변환 실패, 입력 ID 사용: {}", book.getItemId());
+                        originalId = book.getItemId();
+                    }
+                    originalItemIds.put(book.getItemId(), originalId);
+                    return null;
+                }))
+            .collect(Collectors.toList());
+        
+        return CompletableFuture.allOf(resolveFutures.toArray(new CompletableFuture<?>[0]));
+    }
+
+    private CompletableFuture<Void> collectSellers(
+            Collection<BookItem> books, BundleCrawlContext context, SellersCollectedListener listener) {
+        Map<Long, List<BookItem>> booksByOriginalId = groupByOriginalId(books, context);
+        
+        log.info("원본 ID 기준 판매자 조회: {}권 -> {}건", books.size(), booksByOriginalId.size());
+        
+        Map<Long, List<SellerInfo>> bookSellersMap = context.getBookSellersMap();
+        CrawlProfiler profiler = context.getDispatcher().getProfiler();
+        
+        List<CompletableFuture<Void>> phase1Futures = booksByOriginalId.entrySet().stream()
+            .map(entry -> {
+                Long originalId = entry.getKey();
+                List<BookItem> group = entry.getValue();
+                Set<String> minQualities = group.stream()
+                        .map(BookItem::getMinQuality)
+                        .collect(Collectors.toCollection(LinkedHashSet::new));
+                // 판매자-책 그래프의 판매 목록이 최근 것이면 작업 등록 생략
+                return crawlerService.getFreshSellersByQuality(originalId, minQualities, profiler)
+                    .map(CompletableFuture::completedFuture)
+                    .orElseGet(() -> context.getDispatcher()
+                        .submit(PRIORITY_PHASE1, () -> crawlerService.getSellersByQuality(originalId, minQualities)))
+                    .<Void>handle((sellersByQuality, e) -> {
+                        if (isCancellation(e)) {
+                            // 마감 시각 때문에 조회하지 못함 -> 미확인 책으로 남김
+                            return null;
+                        }
+                        BookItem representative = strictestOf(group);
+                        if (e != null) {
+                            log.error("판매자 조회 실패: {}", representative.getTitle(), e);
+                        } else {
+                            log.info("책 '{}': 판매자 {}명", representative.getTitle(),
+                                    sellersByQuality.get(representative.getMinQuality()).size());
+                        }
+                        for (BookItem book : group) {
+                            bookSellersMap.put(book.getItemId(), e != null
+                                    ? Collections.emptyList()
+                                    : sellersByQuality.get(book.getMinQuality()));
+                        }
+                        if (e == null && listener != null) {
+                            listener.collected(representative, sellersByQuality.get(representative.getMinQuality()),
+                                    booksByOriginalId.size());
+                        }
+                        return null;
+                    });
+            })
+            .collect(Collectors.toList());
+        
+        return CompletableFuture.allOf(phase1Futures.toArray(new CompletableFuture<?>[0]));
+    }
+
+    /**
+     * 입력 책을 원본 책 ID별로 묶음 (입력 순서 유지, 변환 전이면 입력 ID 기준)
+     */
+    private Map<Long, List<BookItem>> groupByOriginalId(Collection<BookItem> books, BundleCrawlContext context) {
+        return books.stream()
+                .collect(Collectors.groupingBy(
+                        book -> context.originalIdOf(book.getItemId()),
+                        LinkedHashMap::new,
+                        Collectors.toList()));
+    }
+
+    /**
+     * 원본 책이 같은 입력 책 묶음의 대표 (최소 등급이 가장 높은 책, 같으면 먼저 입력한 책)
+     * 최소 등급이 없으면 (모든 등급 허용) 가장 낮게 봄
+     */
+    private static BookItem strictestOf(List<BookItem> group) {
+        return group.stream()
+                .min(Comparator.comparingInt(book -> book.getMinQuality() != null
+                        ? BookItem.Quality.fromKorean(book.getMinQuality()).getLevel()
+                        : Integer.MAX_VALUE))
+                .orElseThrow();
+    }
+
+    /**
+     * Phase 1 결과로 장바구니 하나의 분석 결과 생성 (Phase 2~4)
+     * 원본 책이 같은 입력 책 (같은 책의 다른 중고 상품)은 한 권으로 분석
+     * → 최소 등급이 가장 높은 책이 묶음을 대표하고, 판매자 보유 권수/검증도 원본 책당 한 번
+     */
+    private CompletableFuture<BundleResult> buildBundleResult(BundleRequest request, BundleCrawlContext context, long startTime) {
+        List<BookItem> requestedBooks = request.getBooks();
+        List<BookItem> books = groupByOriginalId(requestedBooks, context).values().stream()
+                .map(BookBundleService::strictestOf)
+                .collect(Collectors.toList());
+        int topK = request.getTopK() != null ? request.getTopK() : DEFAULT_TOP_K;
+        int candidateLimit = resolveCandidateLimit(request);
+        
+        // 마감 이후 늦게 도착한 Phase 1 결과가 섞이지 않도록 현재 결과로 고정
+        Map<Long, List<SellerInfo>> bookSellersMap = new HashMap<>(context.getBookSellersMap());
+        
+        // 판매자 목록 조회를 마치지 못한 책 (시간 제한)
+        List<Long> uncheckedItemIds = requestedBooks.stream()
+                .map(BookItem::getItemId)
+                .filter(itemId -> !bookSellersMap.containsKey(itemId))
+                .distinct()
+                .collect(Collectors.toList());
         
-        // 상위 20명만
-        if (verifiedSellers.size() > 20) {
-            verifiedSellers = new ArrayList<>(verifiedSellers.subList(0, 20));
+        // ========== Phase 1 결과 매핑: 판매자-책 Set + 가격/등급을 확인한 매물 ==========
+        Set<String> phase1SellerBookSet = ConcurrentHashMap.newKeySet();
+        Map<String, SellerBookItem> phase1Listings = new HashMap<>();
+        
+        for (BookItem book : books) {
+            Long itemId = book.getItemId();
+            for (SellerInfo seller : bookSellersMap.getOrDefault(itemId, Collections.emptyList())) {
+                String key = seller.getSellerCode() + ":" + itemId;
+                phase1SellerBookSet.add(key);
+                toCartItem(book, seller).ifPresent(listing -> phase1Listings.put(key, listing));
+            }
         }
         
+        log.info("Phase 1 완료: {} 개의 판매자-책 매핑 발견 (가격 확인 {}개)", 
+                phase1SellerBookSet.size(), phase1Listings.size());
+        
+        // ========== Phase 2: 판매자별 보유 책 교집합 분석 ==========
+        Map<String, SellerInfo> sellerBundleMap = analyzeSellerBundles(books, bookSellersMap);
+        endPhase(context, "Phase 2");
+        
+        // ========== Phase 3: (판매자, 책) 조합별 상세 검증 (스마트 필터링 + 상위 K명 조기 종료) ==========
+        // ========== Phase 4: 보유 권수 -> 배송비 포함 총액 순으로 정렬된 상위 K명 ==========
+        Set<String> incompleteSellerCodes = new LinkedHashSet<>();
+        return verifySellerBooks(sellerBundleMap, books, phase1SellerBookSet, phase1Listings, 
+                    context, topK, candidateLimit, incompleteSellerCodes)
+                .thenApply(verifiedSellers -> {
+                    endPhase(context, "Phase 3");
+                    return toBundleResult(requestedBooks, books.size(), verifiedSellers, uncheckedItemIds, 
+                            incompleteSellerCodes, startTime);
+                });
+    }
+
+    /**
+     * @param distinctBookCount 원본 책 기준 책 수 (같은 책의 다른 중고 상품은 1권)
+     */
+    private BundleResult toBundleResult(
+            List<BookItem> books,
+            int distinctBookCount,
+            List<SellerInfo> verifiedSellers,
+            List<Long> uncheckedItemIds,
+            Set<String> incompleteSellerCodes,
+            long startTime) {
+        
         long analysisTime = System.currentTimeMillis() - startTime;
+        boolean complete = uncheckedItemIds.isEmpty() && incompleteSellerCodes.isEmpty();
         
         // 모든 책을 보유한 판매자가 있는지 확인
         boolean hasCompleteSeller = verifiedSellers.stream()
-                .anyMatch(s -> s.getTotalBookCount() == books.size());
+                .anyMatch(s -> s.getTotalBookCount() == distinctBookCount);
         
-        log.info("북번들 분석 완료: {}ms, 판매자 {}명", analysisTime, verifiedSellers.size());
+        if (complete) {
+            log.info("북번들 분석 완료: {}ms, 판매자 {}명", analysisTime, verifiedSellers.size());
+        } else {
+            log.info("북번들 분석 부분 완료: {}ms, 판매자 {}명 (미확인 책 {}권, 미완료 판매자 {}명)", 
+                    analysisTime, verifiedSellers.size(), uncheckedItemIds.size(), incompleteSellerCodes.size());
+        }
         
         return BundleResult.builder()
                 .requestedBooks(books)
-                .totalRequestedCount(books.size())
+                .totalRequestedCount(distinctBookCount)
                 .sellers(verifiedSellers)
                 .hasCompleteSeller(hasCompleteSeller)
                 .analysisTimeMs(analysisTime)
+                .complete(complete)
+                .uncheckedItemIds(uncheckedItemIds)
+                .incompleteSellerCodes(new ArrayList<>(incompleteSellerCodes))
                 .build();
     }
 
@@ -145,6 +494,7 @@ public class BookBundleService {
                     SellerInfo.builder()
                         .sellerCode(code)
                         .sellerName(seller.getSellerName())
+                        .sellerType(seller.getSellerType())
                         .shopUrl(seller.getShopUrl())
                         .books(new ArrayList<>())
                         .totalBookCount(0)
@@ -173,32 +523,102 @@ public class BookBundleService {
     }
 
     /**
-     * 판매자가 실제로 책을 보유하는지 상세 확인 (병렬 처리 + 스마트 필터링)
+     * 판매자가 실제로 책을 보유하는지 상세 확인 (스마트 필터링 + 상위 K명 조기 종료)
+     * - Phase 1에서 가격/등급을 확인한 책은 그대로 사용 (검색 생략)
+     * - (판매자, 책) 조합마다 독립 작업으로 등록 → 한 판매자의 검색도 동시에 진행
+     * - 상위 K명을 최소 힙으로 유지하고, 보유 권수 상한이 K번째 판매자보다 낮은
+     *   판매자는 남은 검색을 취소
+     * 
+     * - 마감 시각에 걸리면 그때까지 발견된 책으로 결과를 확정하고 incompleteSellerCodes에 기록
+     * 
+     * @return 보유 권수 -> 배송비 포함 총액 순으로 정렬된 상위 K명 (검증이 끝나면 완료)
      */
-    private List<SellerInfo> verifySellerBooks(
+    private CompletableFuture<List<SellerInfo>> verifySellerBooks(
             Map<String, SellerInfo> sellerBundleMap, 
             List<BookItem> books,
-            Set<String> phase1SellerBookSet) {
+            Set<String> phase1SellerBookSet,
+            Map<String, SellerBookItem> phase1Listings,
+            BundleCrawlContext context,
+            int topK,
+            int candidateLimit,
+            Set<String> incompleteSellerCodes) {
         
-        List<SellerInfo> result = Collections.synchronizedList(new ArrayList<>());
+        TopKSellers topSellers = new TopKSellers(topK);
         
         // 2권 이상 보유한 판매자만 상세 확인 (효율성)
+        // 보유 권수 순으로 처리해야 상위 K명이 빨리 채워져 조기 종료 효과가 커짐
         List<SellerInfo> candidateSellers = sellerBundleMap.values().stream()
-                .filter(s -> s.getTotalBookCount() >= 2)
+                .filter(s -> s.getTotalBookCount() >= CANDIDATE_MIN_BOOKS)
                 .sorted((a, b) -> Integer.compare(b.getTotalBookCount(), a.getTotalBookCount()))
-                .limit(25) // 최종 결과 20명을 위해 충분한 여유 확보
+                .limit(candidateLimit)
                 .collect(Collectors.toList());
         
-        log.info("상세 확인 대상 판매자: {}명", candidateSellers.size());
+        log.info("상세 확인 대상 판매자: {}명 (상위 {}명 선정)", candidateSellers.size(), topK);
         
-        // ========== 판매자별 병렬 처리 ==========
-        List<CompletableFuture<Void>> phase3Futures = candidateSellers.stream()
-            .map(seller -> CompletableFuture.runAsync(() -> {
-                try {
-                    List<SellerBookItem> verifiedBooks = verifySellerBooksInternal(
-                            seller, books, phase1SellerBookSet
-                    );
-                    
+        // 배송비 정책 등 캐시된 판매자 정보 반영 (없는 판매자는 다음 분석을 위해 백그라운드 조회)
+        sellerMetadataService.apply(candidateSellers);
+        
+        // 후보에서 빠진 판매자의 미리 시작한 검증은 취소 (아직 시작 전인 작업만 실제로 건너뜀)
+        Set<String> candidateCodes = candidateSellers.stream()
+                .map(SellerInfo::getSellerCode)
+                .collect(Collectors.toSet());
+        context.getVerifications().forEach((key, check) -> {
+            if (!candidateCodes.contains(key.substring(0, key.indexOf(':')))) {
+                check.cancel(false);
+            }
+        });
+        
+        List<SellerVerification> verifications = new ArrayList<>();
+        List<CompletableFuture<SellerVerification>> phase3Futures = new ArrayList<>();
+        
+        for (SellerInfo seller : candidateSellers) {
+            String sellerCode = seller.getSellerCode();
+            int priority = phase3Priority(books.size(), seller.getTotalBookCount());
+            
+            // 책을 3가지 카테고리로 분류
+            List<SellerBookItem> listedBooks = new ArrayList<>(); // Phase 1에서 가격/등급까지 확인됨
+            List<BookItem> confirmedBooks = new ArrayList<>();    // Phase 1에서 확인됨 (가격 미확인)
+            List<BookItem> unknownBooks = new ArrayList<>();      // Phase 1에서 미확인
+            
+            for (BookItem book : books) {
+                String key = sellerCode + ":" + book.getItemId();
+                if (phase1Listings.containsKey(key)) {
+                    listedBooks.add(phase1Listings.get(key));
+                } else if (phase1SellerBookSet.contains(key)) {
+                    confirmedBooks.add(book);
+                } else {
+                    unknownBooks.add(book);
+                }
+            }
+            
+            // 미확인 책은 판매자 적중 확률이 기준 이상인 동안만 검색 (발견할수록 더 검색)
+            // → 알라딘 "중고 모두보기"가 모든 판매자를 표시하지 않기 때문
+            int listedInCart = listedBooks.size() + confirmedBooks.size();
+            SellerHitStatistics.HitEstimate hitEstimate = sellerHitStatistics.estimate(sellerCode, listedInCart, books.size());
+            sellerHitStatistics.recordCandidate(sellerCode, listedInCart, books.size());
+            
+            log.debug("판매자 {}: 가격 확인 {}권, 확인된 책 {}권, 미확인 {}권 (적중 확률 {})", 
+                      sellerCode, listedBooks.size(), confirmedBooks.size(), unknownBooks.size(),
+                      String.format("%.2f", hitEstimate.probability(0, 0)));
+            
+            SellerVerification verification = new SellerVerification(
+                    seller,
+                    books,
+                    unknownBooks,
+                    hitEstimate,
+                    sellerHitStatistics.getMinProbeProbability(),
+                    (book, probe, hitProbability) -> verifyAsync(context, sellerCode, book,
+                            probe ? probePriority(priority, hitProbability) : priority, probe),
+                    topSellers::canEnter
+            );
+            synchronized (verifications) {
+                verifications.add(verification);
+            }
+            
+            phase3Futures.add(verification
+                .start(confirmedBooks, listedBooks)
+                .thenApply(v -> {
+                    List<SellerBookItem> verifiedBooks = v.getFoundBooks();
                     if (!verifiedBooks.isEmpty()) {
                         int totalPrice = verifiedBooks.stream()
                                 .mapToInt(b -> b.getPrice() != null ? b.getPrice() : 0)
@@ -207,105 +627,294 @@ public class BookBundleService {
                         seller.setBooks(verifiedBooks);
                         seller.setTotalBookCount(verifiedBooks.size());
                         seller.setTotalPrice(totalPrice);
-                        result.add(seller);
+                        sellerMetadataService.applyTotalCost(seller);
+                        topSellers.offer(seller);
                         
                         log.info("판매자 {} ({}): 검증 완료 - {}권 보유", 
-                                seller.getSellerName(), seller.getSellerCode(), verifiedBooks.size());
+                                seller.getSellerName(), sellerCode, verifiedBooks.size());
+                    } else if (v.isPruned()) {
+                        log.debug("판매자 {}: 상위 판매자에 들 수 없어 검증 중단", sellerCode);
                     }
-                } catch (Exception e) {
-                    log.warn("판매자 {} 상세 확인 실패: {}", seller.getSellerName(), e.getMessage());
-                }
-            }, crawlerExecutor))
-            .collect(Collectors.toList());
-        
-        // 모든 Phase 3 작업 완료 대기
-        CompletableFuture.allOf(phase3Futures.toArray(new CompletableFuture[0])).join();
-        
-        // 1권만 보유한 판매자는 제외 (북번들 목적에 맞지 않고, 가격 정보도 없음)
-        // 2권 이상 보유하고 상세 확인이 완료된 판매자만 반환
+                    
+                    // K번째 기준이 바뀌었으므로 나머지 판매자의 상한 재확인 (들 수 없으면 검색 취소)
+                    synchronized (verifications) {
+                        verifications.forEach(SellerVerification::evaluate);
+                    }
+                    return v;
+                }));
+        }
         
-        return result;
+        // 모든 Phase 3 작업 완료 후 결과 확정 (시간 제한이 있으면 마감까지만)
+        CompletableFuture<Void> phase3 = CompletableFuture.allOf(phase3Futures.toArray(new CompletableFuture<?>[0]));
+        return withinDeadline(phase3, context)
+            .thenCompose(inTime -> {
+                if (!inTime) {
+                    log.warn("Phase 3 시간 초과: 발견된 책까지만으로 결과 확정");
+                    synchronized (verifications) {
+                        verifications.forEach(SellerVerification::expire);
+                    }
+                }
+                return phase3;
+            })
+            .thenApply(v -> {
+                for (SellerVerification verification : verifications) {
+                    if (!verification.isPruned() && !verification.isComplete()) {
+                        incompleteSellerCodes.add(verification.getSeller().getSellerCode());
+                    }
+                }
+                
+                // 1권만 보유한 판매자는 제외 (북번들 목적에 맞지 않고, 가격 정보도 없음)
+                // 2권 이상 보유하고 상세 확인이 완료된 판매자만 반환
+                return topSellers.toSortedList();
+            });
     }
 
     /**
-     * 개별 판매자의 책 보유 검증 (스마트 필터링 적용)
-     * - 확인된 책 (Phase 1에서 발견): 100% 검증
-     * - 미확인 책: 샘플 3권만 검색, 발견 시 나머지도 검색
+     * Phase 1 진행 중 미리 시작한 검증 상태
      */
-    private List<SellerBookItem> verifySellerBooksInternal(
-            SellerInfo seller,
-            List<BookItem> books,
-            Set<String> phase1SellerBookSet) {
-        
-        List<SellerBookItem> verifiedBooks = new ArrayList<>();
-        String sellerCode = seller.getSellerCode();
+    private static class PrefetchState {
+        private final int candidateLimit;
+        private final Map<String, List<BookItem>> sellerBooks = new HashMap<>();
+        private final Set<String> prefetchingSellers = new HashSet<>();
+        // Phase 1에서 가격/등급을 확인한 판매자-책 (검증 불필요)
+        private final Set<String> listedSellerBooks = new HashSet<>();
+
+        PrefetchState(int candidateLimit) {
+            this.candidateLimit = candidateLimit;
+        }
+    }
+
+    /**
+     * Phase 1 결과가 나올 때마다 판매자별 보유 권수를 누적하고,
+     * 2권 이상이 된 판매자의 확인된 책 중 가격을 읽지 못한 책의 검증을 미리 등록
+     * (최대 candidateLimit명, 최종 후보에서 빠지면 시작 전 작업은 취소됨)
+     */
+    private void prefetchConfirmedChecks(
+            BookItem book,
+            List<SellerInfo> sellers,
+            int totalBooks,
+            PrefetchState prefetch,
+            BundleCrawlContext context) {
         
-        // 책을 2가지 카테고리로 분류
-        List<BookItem> confirmedBooks = new ArrayList<>();  // Phase 1에서 확인됨
-        List<BookItem> unknownBooks = new ArrayList<>();    // Phase 1에서 미확인
+        Map<String, List<BookItem>> toSchedule = new HashMap<>();
         
-        for (BookItem book : books) {
-            String key = sellerCode + ":" + book.getItemId();
-            if (phase1SellerBookSet.contains(key)) {
-                confirmedBooks.add(book);
-            } else {
-                unknownBooks.add(book);
+        synchronized (prefetch) {
+            for (SellerInfo seller : sellers) {
+                String sellerCode = seller.getSellerCode();
+                List<BookItem> sellerBooks = prefetch.sellerBooks.computeIfAbsent(sellerCode, code -> new ArrayList<>());
+                sellerBooks.add(book);
+                if (!seller.getBooks().isEmpty()) {
+                    prefetch.listedSellerBooks.add(sellerCode + ":" + book.getItemId());
+                }
+                
+                if (prefetch.prefetchingSellers.contains(sellerCode)) {
+                    toSchedule.put(sellerCode, List.of(book));
+                } else if (sellerBooks.size() >= CANDIDATE_MIN_BOOKS
+                        && prefetch.prefetchingSellers.size() < prefetch.candidateLimit) {
+                    prefetch.prefetchingSellers.add(sellerCode);
+                    toSchedule.put(sellerCode, new ArrayList<>(sellerBooks));
+                }
             }
+            
+            toSchedule.replaceAll((sellerCode, sellerBooks) -> sellerBooks.stream()
+                    .filter(b -> !prefetch.listedSellerBooks.contains(sellerCode + ":" + b.getItemId()))
+                    .collect(Collectors.toList()));
         }
         
-        log.debug("판매자 {}: 확인된 책 {}권, 미확인 {}권", 
-                  sellerCode, confirmedBooks.size(), unknownBooks.size());
-        
-        // 1. 확인된 책들은 반드시 검증 (가격/등급 정보 수집)
-        for (BookItem book : confirmedBooks) {
-            try {
-                Optional<SellerBookItem> verified = crawlerService.checkSellerHasBook(
-                        sellerCode, book.getItemId(), book.getTitle()
-                );
-                verified.ifPresent(verifiedBooks::add);
-            } catch (Exception e) {
-                log.debug("검증 실패 (확인된 책): {}", book.getTitle());
+        toSchedule.forEach((sellerCode, sellerBooks) -> {
+            int priority = phase3Priority(totalBooks, CANDIDATE_MIN_BOOKS);
+            for (BookItem sellerBook : sellerBooks) {
+                verifyAsync(context, sellerCode, sellerBook, priority, false);
             }
+        });
+    }
+
+    /**
+     * Phase 1에서 확인한 매물을 장바구니 책 기준으로 변환 (가격/등급을 읽지 못했으면 empty)
+     */
+    private Optional<SellerBookItem> toCartItem(BookItem book, SellerInfo seller) {
+        if (seller.getBooks() == null || seller.getBooks().isEmpty()) {
+            return Optional.empty();
         }
         
-        // 2. 미확인 책들은 샘플링하여 검증 (최대 3권)
-        //    → 알라딘 "중고 모두보기"가 모든 판매자를 표시하지 않기 때문
-        int sampleSize = Math.min(3, unknownBooks.size());
+        SellerBookItem listing = seller.getBooks().get(0);
+        return Optional.of(SellerBookItem.builder()
+                .itemId(book.getItemId())
+                .title(book.getTitle())
+                .quality(listing.getQuality())
+                .price(listing.getPrice())
+                .productUrl(listing.getProductUrl())
+                .build());
+    }
+
+    /**
+     * 판매자-책 상세 검증 작업 등록
+     * 같은 컨텍스트 안에서는 판매자-원본 책 조합당 한 번만 조회 (이미 등록된 작업 재사용)
+     * 이전 분석의 검증 결과가 캐시에 있으면 조회하지 않고 바로 사용 (보유/미보유 모두)
+     * 결과의 itemId/title은 먼저 요청한 책 기준이므로 사용하는 쪽에서 요청한 책 기준으로 복사
+     * 
+     * @param probe Phase 1 목록에 없던 책 검색인지 (결과를 판매자 적중 통계에 기록, 캐시/이미 등록된 검증 포함)
+     */
+    private CompletableFuture<Optional<SellerBookItem>> verifyAsync(
+            BundleCrawlContext context,
+            String sellerCode,
+            BookItem book,
+            int priority,
+            boolean probe) {
+        
+        Long originalId = context.originalIdOf(book.getItemId());
+        CompletableFuture<Optional<SellerBookItem>> check = registeredOrNewCheck(context, sellerCode, book, originalId, priority);
+        if (probe) {
+            recordProbe(context, sellerCode + ":" + originalId, sellerCode, check);
+        }
+        return check;
+    }
+
+    private CompletableFuture<Optional<SellerBookItem>> registeredOrNewCheck(
+            BundleCrawlContext context,
+            String sellerCode,
+            BookItem book,
+            Long originalId,
+            int priority) {
+        
+        String key = sellerCode + ":" + originalId;
+        
+        CompletableFuture<Optional<SellerBookItem>> registered = context.getVerifications().get(key);
+        if (registered != null && !registered.isCancelled()) {
+            return registered;
+        }
         
-        if (sampleSize > 0) {
-            List<BookItem> sampleBooks = unknownBooks.subList(0, sampleSize);
-            boolean foundInSample = false;
-            
-            for (BookItem book : sampleBooks) {
-                try {
-                    Optional<SellerBookItem> verified = crawlerService.checkSellerHasBook(
-                            sellerCode, book.getItemId(), book.getTitle()
-                    );
-                    if (verified.isPresent()) {
-                        verifiedBooks.add(verified.get());
-                        foundInSample = true;
-                    }
-                } catch (Exception e) {
-                    log.debug("검증 실패 (미확인 책 샘플): {}", book.getTitle());
-                }
+        // 캐시 조회는 (Redis일 수 있으므로) 맵 잠금 밖에서
+        Optional<CachedVerification> cached = crawlerService.getCachedVerification(
+                sellerCode, originalId, context.getDispatcher().getProfiler());
+        
+        return context.getVerifications().compute(key, (k, existing) -> {
+            if (existing != null && !existing.isCancelled()) {
+                return existing;
+            }
+            if (cached.isPresent()) {
+                log.debug("판매자 {} 검증 캐시 사용: '{}' ({})", 
+                        sellerCode, book.getTitle(), cached.get().found() ? "보유" : "미보유");
+                return CompletableFuture.completedFuture(cached.get().toBookItem(book.getItemId(), book.getTitle()));
             }
             
-            // 샘플에서 발견되면 나머지도 검색
-            if (foundInSample && unknownBooks.size() > sampleSize) {
-                for (int i = sampleSize; i < unknownBooks.size(); i++) {
-                    BookItem remainingBook = unknownBooks.get(i);
-                    try {
-                        Optional<SellerBookItem> extra = crawlerService.checkSellerHasBook(
-                                sellerCode, remainingBook.getItemId(), remainingBook.getTitle()
-                        );
-                        extra.ifPresent(verifiedBooks::add);
-                    } catch (Exception e) {
-                        log.debug("검증 실패 (미확인 책 추가): {}", remainingBook.getTitle());
-                    }
-                }
+            return context.getDispatcher().submit(priority, () -> {
+                Optional<SellerBookItem> result = crawlerService.checkSellerHasBook(
+                        sellerCode, book.getItemId(), originalId, book.getIsbn13(), book.getTitle());
+                crawlerService.cacheVerification(sellerCode, originalId, result);
+                return result;
+            });
+        });
+    }
+
+    /**
+     * 미확인 책 검색 결과를 판매자 적중 통계에 기록 (검증을 누가 등록했든, 캐시 결과든 결과를 쓸 때마다)
+     * 같은 컨텍스트에서 판매자-원본 책 조합은 한 번만 기록 (취소/실패하면 다음 등록 때 기록)
+     */
+    private void recordProbe(BundleCrawlContext context, String key, String sellerCode,
+                             CompletableFuture<Optional<SellerBookItem>> check) {
+        if (!context.getRecordedProbes().add(key)) return;
+        
+        check.whenComplete((result, e) -> {
+            if (e != null) {
+                context.getRecordedProbes().remove(key);
+            } else {
+                sellerHitStatistics.recordProbe(sellerCode, result.isPresent());
             }
+        });
+    }
+
+    /**
+     * Phase 3 작업 우선순위 (Phase 1 보유 권수가 많은 판매자 먼저)
+     */
+    private int phase3Priority(int totalBooks, int sellerBookCount) {
+        return PRIORITY_PHASE1 + 1 + Math.max(0, totalBooks - sellerBookCount);
+    }
+
+    /**
+     * 미확인 책 검색 우선순위 (같은 판매자의 확인된 책 다음, 적중 확률이 낮을수록 뒤로)
+     * → 발견 기대값이 높은 검색부터 요청 예산 사용
+     */
+    private int probePriority(int sellerPriority, double hitProbability) {
+        return sellerPriority + 1 + (int) Math.round((1 - hitProbability) * PROBE_PRIORITY_SPREAD);
+    }
+
+    private int resolveCandidateLimit(BundleRequest request) {
+        return request.getCandidateLimit() != null ? request.getCandidateLimit() : DEFAULT_CANDIDATE_LIMIT;
+    }
+
+    /**
+     * 작업 완료 시점 (마감 시각이 있으면 그때까지만, 초과 시 대기 중인 작업 취소)
+     * 
+     * @return 제시간에 모두 끝났는지 (대기하는 스레드 없이 완료됨)
+     */
+    private CompletableFuture<Boolean> withinDeadline(CompletableFuture<?> all, BundleCrawlContext context) {
+        CrawlTaskDispatcher dispatcher = context.getDispatcher();
+        CompletableFuture<Boolean> inTime = all.thenApply(v -> true);
+        if (!dispatcher.hasDeadline()) {
+            return inTime;
         }
         
-        return verifiedBooks;
+        return inTime
+            .completeOnTimeout(false, dispatcher.remainingMillis(), TimeUnit.MILLISECONDS)
+            .thenApply(done -> {
+                if (!done) {
+                    dispatcher.expire();
+                }
+                return done;
+            });
     }
+
+    /**
+     * 프로파일 단계 구간 기록 (프로파일을 켠 분석만)
+     */
+    private void endPhase(BundleCrawlContext context, String name) {
+        CrawlProfiler profiler = context.getDispatcher().getProfiler();
+        if (profiler != null) {
+            profiler.endPhase(name);
+        }
+    }
+
+    private void throwIfCancelled(BundleCrawlContext context) {
+        if (context.getDispatcher().isCancelled()) {
+            throw new CancellationException("북번들 분석이 취소되었습니다");
+        }
+    }
+
+    private static boolean isCancellation(Throwable e) {
+        if (e instanceof CompletionException && e.getCause() != null) {
+            e = e.getCause();
+        }
+        return e instanceof CancellationException;
+    }
+
+    /**
+     * 새 분석 수락 여부 확인 (대기 중인 크롤링 작업 처리 예상 시간이 bundle.admission.max-wait-ms를 넘으면 거부)
+     * 
+     * @return 거부할 때의 예외 (수락하면 empty)
+     */
+    private Optional<AnalysisOverloadedException> checkAdmission(String name) {
+        long estimatedWaitMs = crawlScheduler.estimatedWaitMillis();
+        if (estimatedWaitMs <= admissionMaxWaitMs) {
+            return Optional.empty();
+        }
+        
+        // 예상 대기 시간이 기준 아래로 내려갈 때까지 (최소 1초)
+        long retryAfterSeconds = Math.max(1, TimeUnit.MILLISECONDS.toSeconds(estimatedWaitMs - admissionMaxWaitMs + 999));
+        log.warn("{} 거부: 예상 대기 {}ms (기준 {}ms), {}초 후 재시도 권장", 
+                name, estimatedWaitMs, admissionMaxWaitMs, retryAfterSeconds);
+        return Optional.of(new AnalysisOverloadedException(estimatedWaitMs, retryAfterSeconds));
+    }
+
+    /**
+     * @param timeBudgetMs 시간 제한 (0이면 제한 없음)
+     * @param profiler 소요 시간 수집기 (수집하지 않으면 null)
+     */
+    private BundleCrawlContext newContext(int timeBudgetMs, CrawlProfiler profiler) {
+        return new BundleCrawlContext(new CrawlTaskDispatcher(
+                crawlScheduler, maxConcurrentRequests,
+                timeBudgetMs > 0, System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeBudgetMs),
+                profiler));
+    }
+
 }
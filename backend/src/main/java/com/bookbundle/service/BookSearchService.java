@@ -0,0 +1,193 @@
+package com.bookbundle.service;
+
+import com.bookbundle.crawler.AladinCrawlerService;
+import com.bookbundle.crawler.AladinCrawlerService.SearchPage;
+import com.bookbundle.dto.BookSearchPage;
+import com.bookbundle.dto.BookSearchResult;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * 책 검색 (커서 기반 페이지 조회)
+ * - 커서는 알라딘 검색 결과의 (페이지, 페이지 안 위치) → 요청한 개수만큼 필요한 알라딘 페이지만 조회
+ * - 알라딘 페이지는 (검색어, 페이지)별로 캐시되므로 같은 검색의 다음 요청은 요청 없이 응답
+ * - 응답이 알라딘 페이지 끝에 닿으면 다음 요청에 필요한 페이지를 백그라운드로 미리 조회
+ *   (전용 분배기로 요청 슬롯 1개까지만, 보지 않는 뒤쪽 페이지는 조회하지 않음)
+ * - 미리 조회는 분석 작업 뒤로 밀릴 수 있으므로 잠깐만 기다리고, 끝나지 않으면 취소 후 대화형 요청으로 조회
+ *
+ * 검색은 대화형 요청이므로 CrawlScheduler가 분석 작업보다 먼저 요청 슬롯 배정
+ */
+@Slf4j
+@Service
+public class BookSearchService {
+
+    // 한 번에 반환할 수 있는 결과 수 (검색 결과 보강 요청 1회 분량)
+    public static final int MAX_PAGE_SIZE = 50;
+
+    // 다음 페이지 미리 조회 동시 실행 수
+    private static final int PREFETCH_MAX_IN_FLIGHT = 1;
+
+    private static final int PRIORITY_PREFETCH = 0;
+
+    // 진행 중인 미리 조회를 기다리는 최대 시간 (넘으면 대화형 요청으로 직접 조회)
+    private static final long PREFETCH_WAIT_MS = 300;
+
+    private final AladinCrawlerService crawlerService;
+    private final CrawlScheduler crawlScheduler;
+    private final CrawlTaskDispatcher prefetchDispatcher;
+
+    // "페이지:검색어" -> 진행 중인 미리 조회 (같은 페이지를 동시에 두 번 조회하지 않음)
+    private final Map<String, CompletableFuture<SearchPage>> prefetching = new ConcurrentHashMap<>();
+
+    public BookSearchService(AladinCrawlerService crawlerService, CrawlScheduler crawlScheduler) {
+        this.crawlerService = crawlerService;
+        this.crawlScheduler = crawlScheduler;
+        this.prefetchDispatcher = CrawlTaskDispatcher.background(crawlScheduler, PREFETCH_MAX_IN_FLIGHT);
+    }
+
+    /**
+     * 검색 커서: 알라딘 검색 결과 page(1부터) 페이지의 offset번째 결과부터
+     * 문자열 표현 "page.offset" (클라이언트는 그대로 돌려보내기만 함)
+     */
+    record Cursor(int page, int offset) {
+
+        static final Cursor FIRST = new Cursor(1, 0);
+
+        static Cursor parse(String value) {
+            if (value == null || value.isBlank()) return FIRST;
+            String[] parts = value.split("\\.");
+            try {
+                if (parts.length == 2) {
+                    Cursor cursor = new Cursor(Integer.parseInt(parts[0]), Integer.parseInt(parts[1]));
+                    if (cursor.page >= 1 && cursor.offset >= 0) return cursor;
+                }
+            } catch (NumberFormatException ignored) {}
+            throw new IllegalArgumentException("잘못된 검색 커서: " + value);
+        }
+
+        @Override
+        public String toString() {
+            return page + "." + offset;
+        }
+    }
+
+    /**
+     * 커서 위치부터 size건 검색 (필요한 알라딘 페이지만 조회)
+     *
+     * @param cursor 이전 응답의 nextCursor (첫 페이지는 null)
+     * @throws IllegalArgumentException 커서 형식이 잘못됨
+     */
+    public BookSearchPage search(String keyword, String cursor, int size) throws IOException {
+        String normalized = keyword.trim();
+        Cursor position = Cursor.parse(cursor);
+
+        List<BookSearchResult> items = new ArrayList<>();
+        Cursor next = position;
+        SearchPage nextPage = null;  // next가 가리키는 페이지를 이미 받았으면 그 페이지
+        boolean last = false;
+        while (items.size() < size) {
+            SearchPage page = fetchPage(normalized, next.page());
+            List<BookSearchResult> pageItems = page.items();
+            int from = Math.min(next.offset(), pageItems.size());
+            int to = Math.min(pageItems.size(), from + size - items.size());
+            items.addAll(pageItems.subList(from, to));
+
+            if (to < pageItems.size()) {
+                next = new Cursor(next.page(), to);
+                nextPage = page;
+            } else if (page.last()) {
+                last = true;
+                break;
+            } else {
+                next = new Cursor(next.page() + 1, 0);
+                nextPage = null;
+            }
+        }
+
+        if (!last) {
+            prefetch(normalized, next, nextPage, size);
+        }
+        return BookSearchPage.builder()
+                .items(items)
+                .nextCursor(last ? null : next.toString())
+                .build();
+    }
+
+    /**
+     * 알라딘 검색 결과 한 페이지 (캐시 -> 진행 중인 미리 조회 -> 대화형 요청 순)
+     * 미리 조회는 PREFETCH_WAIT_MS까지만 기다림 (백그라운드 대기열 뒤에서 검색이 기다리지 않도록)
+     */
+    private SearchPage fetchPage(String keyword, int page) throws IOException {
+        var cached = crawlerService.getCachedSearchPage(keyword, page);
+        if (cached.isPresent()) {
+            return cached.get();
+        }
+
+        CompletableFuture<SearchPage> inFlight = prefetching.get(page + ":" + keyword);
+        if (inFlight != null) {
+            try {
+                return inFlight.get(PREFETCH_WAIT_MS, TimeUnit.MILLISECONDS);
+            } catch (TimeoutException e) {
+                // 아직 시작하지 않은 미리 조회는 실행되지 않음 (이미 실행 중이면 결과는 캐시에만 남음)
+                inFlight.cancel(false);
+                log.debug("미리 조회 대기 시간 초과, 직접 조회: {} ({}페이지)", keyword, page);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new InterruptedIOException("검색 미리 조회 대기 중단");
+            } catch (ExecutionException | CancellationException e) {
+                log.debug("미리 조회 실패, 직접 조회: {} ({}페이지)", keyword, page);
+            }
+        }
+        return crawlScheduler.runInteractive(() -> crawlerService.searchBooks(keyword, page));
+    }
+
+    /**
+     * 다음 요청(next부터 size건)에 필요한 알라딘 페이지 중 캐시에 없는 페이지를 백그라운드로 조회
+     * 페이지 안 남은 결과로 다음 요청을 채울 수 있으면 조회하지 않음
+     *
+     * @param current next가 가리키는 페이지 (이번 요청에서 받은 경우, 아니면 null)
+     */
+    private void prefetch(String keyword, Cursor next, SearchPage current, int size) {
+        int page = next.page();
+        if (current != null) {
+            // 현재 페이지는 이미 캐시됨 → 남은 결과가 모자랄 때만 다음 페이지
+            // (중복 제거로 페이지가 SEARCH_PAGE_SIZE보다 짧을 수 있으므로 실제 길이로 판단)
+            if (current.last() || next.offset() + size <= current.items().size()) return;
+            page++;
+        }
+        if (crawlerService.getCachedSearchPage(keyword, page).isPresent()) return;
+
+        int target = page;
+        String key = target + ":" + keyword;
+        CompletableFuture<SearchPage> future = new CompletableFuture<>();
+        if (prefetching.putIfAbsent(key, future) != null) return;
+
+        log.debug("검색 다음 페이지 미리 조회: {} ({}페이지)", keyword, target);
+        CompletableFuture<SearchPage> task =
+                prefetchDispatcher.submit(PRIORITY_PREFETCH, () -> crawlerService.searchBooks(keyword, target));
+        // 검색이 기다리다 포기하면 대기 중인 미리 조회도 취소
+        future.whenComplete((result, e) -> {
+            if (future.isCancelled()) task.cancel(false);
+        });
+        task.whenComplete((result, e) -> {
+            prefetching.remove(key, future);
+            if (e != null) {
+                future.completeExceptionally(e);
+            } else {
+                future.complete(result);
+            }
+        });
+    }
+}
@@ -0,0 +1,45 @@
+package com.bookbundle.service;
+
+import com.bookbundle.dto.SellerInfo;
+import com.bookbundle.dto.SellerInfo.SellerBookItem;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 분석 간 공유되는 크롤링 결과
+ * - 단건 분석: 분석 1회 동안만 사용
+ * - 일괄 분석: 여러 장바구니가 같은 책/판매자 조회 결과를 재사용
+ */
+@Getter
+@RequiredArgsConstructor
+class BundleCrawlContext {
+
+    // 크롤링 작업 분배기 (분석별 동시 실행 수 제한 + 우선순위)
+    private final CrawlTaskDispatcher dispatcher;
+
+    // 입력 책 ID -> 판매자 목록 (Phase 1 결과)
+    private final Map<Long, List<SellerInfo>> bookSellersMap = new ConcurrentHashMap<>();
+
+    // 입력 책 ID -> 원본 책 ID
+    private final Map<Long, Long> originalItemIds = new ConcurrentHashMap<>();
+
+    // "판매자코드:원본ID" -> 상세 검증 작업 (Phase 3, 조합당 1회만 조회)
+    private final Map<String, CompletableFuture<Optional<SellerBookItem>>> verifications = new ConcurrentHashMap<>();
+
+    // 판매자 적중 통계에 기록한 미확인 책 검색 "판매자코드:원본ID" (컨텍스트당 조합 1회만 기록)
+    private final Set<String> recordedProbes = ConcurrentHashMap.newKeySet();
+
+    /**
+     * 원본 책 ID 조회 (변환 전이면 입력 ID 그대로)
+     */
+    Long originalIdOf(Long itemId) {
+        return originalItemIds.getOrDefault(itemId, itemId);
+    }
+}
@@ -0,0 +1,686 @@
+package com.bookbundle.service;
+
+import com.bookbundle.crawler.AladinCrawlerService;
+import com.bookbundle.crawler.AladinCrawlerService.CachedVerification;
+import com.bookbundle.dto.BookItem;
+import com.bookbundle.dto.SellerInfo;
+import com.bookbundle.dto.SellerInfo.SellerBookItem;
+import com.bookbundle.dto.WatchRequest;
+import com.bookbundle.dto.WatchStatus;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 번들 감시 (장바구니 + "n권 중 k권 이상" / 총 가격 상한 조건을 만족하는 판매자가 나타나는지 주기적으로 확인)
+ * - 모든 감시의 책을 합쳐 조회 단위로 관리: 원본 ID 변환(입력 책 ID), 판매 목록(원본 책 ID), 상세 검증(판매자, 원본 책)
+ *   → 같은 책을 감시하는 감시가 몇 개든 조회는 bundle.watch.refresh-interval마다 한 번
+ * - 조회는 감시 전용 키별 대기열(KeyedTaskQueue)로 CrawlScheduler를 거치므로 요청 슬롯 중 bundle.watch.max-in-flight개까지만 사용
+ *   (주기마다 대기/조회 중인 작업이 그 2배가 될 때까지만 등록)
+ * - 조회 결과가 바뀐 책을 포함한 감시만 다시 확인 (메모리 안에서 계산, 요청 없음)
+ * - 판매 목록에 가격을 읽지 못한 책이 있어 조건 충족 여부가 갈리는 판매자만 상세 검증
+ *   (판매 목록에 없던 책은 검색하지 않음)
+ *
+ * 감시 목록은 bundle.watch.path 파일에 저장해 재시작 시 복원 (노드별, 조회 결과는 다시 조회)
+ */
+@Slf4j
+@Service
+public class BundleWatchService implements DisposableBean {
+
+    // 감시당 보관하는 조건 충족 판매자 수
+    private static final int MAX_MATCHES = 5;
+
+    // 조회 실패 후 다시 시도하기까지의 시간, 상세 검증 최대 시도 횟수
+    private static final long RETRY_DELAY_MS = TimeUnit.MINUTES.toMillis(1);
+    private static final int MAX_PAIR_ATTEMPTS = 3;
+
+    // 원본 ID 변환 -> 판매 목록 -> 상세 검증 순으로 요청 슬롯 사용
+    private static final int PRIORITY_RESOLVE = 0;
+    private static final int PRIORITY_LISTING = 1;
+    private static final int PRIORITY_PAIR = 2;
+
+    private final AladinCrawlerService crawlerService;
+    private final SellerMetadataService sellerMetadataService;
+    private final ObjectMapper objectMapper;
+    private final long refreshIntervalMs;
+    private final int maxPending;
+    private final int maxWatches;
+    private final Duration ttl;
+    private final Path path;
+
+    private final Map<String, WatchStatus> watches = new LinkedHashMap<>();
+
+    // 입력 책 ID -> 원본 책 ID, 입력 책 ID/원본 책 ID -> 그 책을 포함한 감시
+    private final Map<Long, Long> originalIds = new HashMap<>();
+    private final Map<Long, Set<String>> watchesByItem = new HashMap<>();
+    private final Map<Long, Set<String>> watchesByBook = new HashMap<>();
+
+    // 원본 책 ID -> 판매 목록, "판매자코드:원본ID" -> 상세 검증 결과
+    private final Map<Long, BookState> books = new HashMap<>();
+    private final Map<String, PairState> pairs = new HashMap<>();
+
+    // 조건 확인에 필요한 상세 검증 (다음 주기에 조회), 대기/조회 중인 작업 ("item:", "book:", "pair:")
+    private final Map<String, PairRequest> pendingPairs = new LinkedHashMap<>();
+    private final KeyedTaskQueue<String> tasks;
+
+    // 다시 확인할 감시, 저장할 변경이 있는지
+    private final Set<String> dirtyWatches = new LinkedHashSet<>();
+    // 감시 ID -> 마지막 조건 확인 차수 (락 밖에서 판매자 정보를 반영하는 동안 다시 확인했으면 이전 결과는 버림)
+    private final Map<String, Long> evaluationVersions = new HashMap<>();
+    private boolean changed;
+
+    public BundleWatchService(
+            AladinCrawlerService crawlerService,
+            SellerMetadataService sellerMetadataService,
+            CrawlScheduler crawlScheduler,
+            ObjectMapper objectMapper,
+            @Value("${bundle.watch.refresh-interval}") Duration refreshInterval,
+            @Value("${bundle.watch.max-in-flight}") int maxInFlight,
+            @Value("${bundle.watch.max-watches}") int maxWatches,
+            @Value("${bundle.watch.ttl}") Duration ttl,
+            @Value("${bundle.watch.path}") Path path) {
+        this.crawlerService = crawlerService;
+        this.sellerMetadataService = sellerMetadataService;
+        this.tasks = new KeyedTaskQueue<>("감시 조회", crawlScheduler, maxInFlight, maxInFlight * 2, null);
+        this.objectMapper = objectMapper;
+        this.refreshIntervalMs = refreshInterval.toMillis();
+        this.maxPending = maxInFlight * 2;
+        this.maxWatches = maxWatches;
+        this.ttl = ttl;
+        this.path = path;
+        load();
+    }
+
+    /**
+     * 책 1권의 판매 목록 (최소 등급별, 조회 실패 시 이전 목록 유지)
+     */
+    private static class BookState {
+        long attemptedAt;
+        Map<String, List<SellerInfo>> listings = Map.of();
+    }
+
+    /**
+     * 판매자-책 상세 검증 결과 (미보유면 item null)
+     */
+    private record PairState(SellerBookItem item, long checkedAt) {
+    }
+
+    /**
+     * 상세 검증 요청 (상점 검색에 쓰는 책 ID/제목은 처음 요청한 감시의 책 기준)
+     */
+    private record PairRequest(String sellerCode, Long originalId, Long itemId, String isbn13, String title, int attempts) {
+
+        String key() {
+            return sellerCode + ":" + originalId;
+        }
+    }
+
+    /**
+     * 조건 확인 결과 (판매자 정보 반영/정렬 전)
+     */
+    private record Evaluation(String watchId, long version, List<SellerInfo> matches) {
+    }
+
+    /**
+     * 감시 등록 (감시 수가 bundle.watch.max-watches에 이르면 empty)
+     */
+    public Optional<WatchStatus> register(WatchRequest request) {
+        int bookCount = request.getBooks().size();
+        int minBooks = request.getMinBooks() != null ? Math.min(request.getMinBooks(), bookCount) : bookCount;
+        long now = System.currentTimeMillis();
+
+        WatchStatus watch = WatchStatus.builder()
+                .watchId(UUID.randomUUID().toString())
+                .books(request.getBooks())
+                .minBooks(minBooks)
+                .maxTotalPrice(request.getMaxTotalPrice())
+                .createdAt(now)
+                .expiresAt(now + ttl.toMillis())
+                .matches(List.of())
+                .build();
+
+        // 확장이 전달했거나 캐시된 원본 ID는 바로 반영 (캐시 조회는 락 밖에서)
+        Map<Long, Long> cachedIds = new HashMap<>();
+        for (BookItem book : request.getBooks()) {
+            if (book.getOriginalItemId() != null) {
+                cachedIds.put(book.getItemId(), book.getOriginalItemId());
+                continue;
+            }
+            crawlerService.getCachedOriginalItemId(book.getItemId(), null)
+                    .ifPresent(originalId -> cachedIds.put(book.getItemId(), originalId));
+        }
+
+        List<Evaluation> evaluations;
+        synchronized (this) {
+            if (watches.size() >= maxWatches) {
+                log.warn("감시 등록 거부: 감시 수 {}개 초과", maxWatches);
+                return Optional.empty();
+            }
+            cachedIds.forEach(this::resolved);
+            add(watch);
+            evaluations = evaluateDirty(now);
+            changed = true;
+            log.info("감시 등록: {} ({}권 중 {}권 이상, 총 가격 상한 {})",
+                    watch.getWatchId(), bookCount, minBooks, watch.getMaxTotalPrice());
+        }
+        publish(evaluations, now);
+
+        synchronized (this) {
+            return Optional.of(copyOf(watch));
+        }
+    }
+
+    /**
+     * 감시 상태 조회 (없거나 만료되었으면 empty)
+     */
+    public synchronized Optional<WatchStatus> get(String watchId) {
+        return Optional.ofNullable(watches.get(watchId)).map(this::copyOf);
+    }
+
+    /**
+     * 감시 삭제
+     *
+     * @return 삭제할 감시가 있었는지
+     */
+    public synchronized boolean remove(String watchId) {
+        WatchStatus watch = watches.remove(watchId);
+        if (watch == null) return false;
+
+        unindex(watch);
+        changed = true;
+        log.info("감시 삭제: {}", watchId);
+        return true;
+    }
+
+    /**
+     * 감시 주기 (5초마다): 만료된 감시/결과 정리 -> 조회할 차례가 된 책/조합을 요청 슬롯 몫만큼 등록 -> 변경 저장
+     */
+    @Scheduled(fixedDelay = 5_000, initialDelay = 5_000)
+    public void poll() {
+        long now = System.currentTimeMillis();
+        List<Long> resolves = new ArrayList<>();
+        Map<Long, Set<String>> listings = new LinkedHashMap<>();
+        List<PairRequest> checks = new ArrayList<>();
+        List<Evaluation> evaluations;
+
+        synchronized (this) {
+            expire(now);
+            evaluations = evaluateDirty(now);
+
+            int capacity = maxPending - tasks.size();
+            for (Long itemId : watchesByItem.keySet()) {
+                if (capacity <= 0) break;
+                if (originalIds.containsKey(itemId) || tasks.contains("item:" + itemId)) continue;
+                resolves.add(itemId);
+                capacity--;
+            }
+
+            // 가장 오래전에 조회한 책부터
+            List<Long> dueBooks = watchesByBook.keySet().stream()
+                    .filter(bookId -> isDue(bookId, now) && !tasks.contains("book:" + bookId))
+                    .sorted(Comparator.comparingLong(bookId -> attemptedAt(bookId)))
+                    .limit(Math.max(0, capacity))
+                    .toList();
+            for (Long bookId : dueBooks) {
+                listings.put(bookId, requiredQualities(bookId));
+                capacity--;
+            }
+
+            var iterator = pendingPairs.values().iterator();
+            while (capacity > 0 && iterator.hasNext()) {
+                PairRequest pair = iterator.next();
+                if (tasks.contains("pair:" + pair.key())) continue;
+                // 조회 작업을 넘기기 직전에 다시 요청된 조합은 그 사이 결과가 들어왔으면 버림
+                PairState checked = pairs.get(pair.key());
+                if (checked != null && now - checked.checkedAt() < refreshIntervalMs) {
+                    iterator.remove();
+                    continue;
+                }
+                iterator.remove();
+                checks.add(pair);
+                capacity--;
+            }
+        }
+
+        publish(evaluations, now);
+        resolves.forEach(this::resolveAsync);
+        listings.forEach(this::refreshListingAsync);
+        checks.forEach(this::checkPairAsync);
+
+        persistIfChanged();
+    }
+
+    private void resolveAsync(Long itemId) {
+        tasks.submit("item:" + itemId, PRIORITY_RESOLVE, () -> crawlerService.getOriginalItemId(itemId))
+            .whenComplete((originalId, e) -> {
+                long now = System.currentTimeMillis();
+                List<Evaluation> evaluations;
+                synchronized (this) {
+                    if (e != null) {
+                        // 분석과 같이 변환 실패 시 입력 ID를 원본으로 사용
+                        log.warn("감시 원본 ID 변환 실패, 입력 ID 사용: {}", itemId);
+                        originalId = itemId;
+                    }
+                    resolved(itemId, originalId);
+                    evaluations = evaluateDirty(now);
+                }
+                publish(evaluations, now);
+            });
+    }
+
+    /**
+     * 책 1권의 판매 목록 조회 (최소 등급별로 걸러 저장, 처음 조회 이후는 판매자-책 그래프에서 가져옴)
+     */
+    private void refreshListingAsync(Long bookId, Set<String> qualities) {
+        tasks.submit("book:" + bookId, PRIORITY_LISTING, () -> {
+                Map<String, List<SellerInfo>> result = new HashMap<>();
+                for (String quality : qualities) {
+                    result.put(quality, crawlerService.getSellersByOriginalItemId(bookId, fromQualityKey(quality)));
+                }
+                return result;
+            })
+            .whenComplete((result, e) -> {
+                long now = System.currentTimeMillis();
+                List<Evaluation> evaluations;
+                synchronized (this) {
+                    if (!watchesByBook.containsKey(bookId)) return;  // 조회 중에 감시 삭제
+
+                    BookState state = books.computeIfAbsent(bookId, id -> new BookState());
+                    state.attemptedAt = now;
+                    if (e != null) {
+                        log.warn("감시 판매 목록 조회 실패: 원본ID={}, {}", bookId, e.getMessage());
+                        return;
+                    }
+                    if (!result.equals(state.listings)) {
+                        state.listings = result;
+                        dirtyWatches.addAll(watchesByBook.get(bookId));
+                    }
+                    evaluations = evaluateDirty(now);
+                }
+                publish(evaluations, now);
+            });
+    }
+
+    private void checkPairAsync(PairRequest pair) {
+        // 분석이 최근에 검증한 결과가 있으면 요청하지 않음
+        Optional<CachedVerification> cached = crawlerService.getCachedVerification(pair.sellerCode(), pair.originalId(), null);
+        CompletableFuture<Optional<SellerBookItem>> result = cached.isPresent()
+                ? CompletableFuture.completedFuture(cached.get().toBookItem(pair.itemId(), pair.title()))
+                : tasks.submit("pair:" + pair.key(), PRIORITY_PAIR, () -> {
+                    Optional<SellerBookItem> item = crawlerService.checkSellerHasBook(
+                            pair.sellerCode(), pair.itemId(), pair.originalId(), pair.isbn13(), pair.title());
+                    crawlerService.cacheVerification(pair.sellerCode(), pair.originalId(), item);
+                    return item;
+                });
+
+        result.whenComplete((item, e) -> {
+            long now = System.currentTimeMillis();
+            List<Evaluation> evaluations;
+            synchronized (this) {
+                if (!watchesByBook.containsKey(pair.originalId())) return;
+
+                if (e != null) {
+                    log.warn("감시 상세 검증 실패: 판매자 {}, '{}', {}", pair.sellerCode(), pair.title(), e.getMessage());
+                    if (pair.attempts() + 1 < MAX_PAIR_ATTEMPTS) {
+                        pendingPairs.putIfAbsent(pair.key(), new PairRequest(pair.sellerCode(), pair.originalId(),
+                                pair.itemId(), pair.isbn13(), pair.title(), pair.attempts() + 1));
+                    }
+                    return;
+                }
+                PairState previous = pairs.put(pair.key(), new PairState(item.orElse(null), now));
+                if (previous == null || !Objects.equals(previous.item(), item.orElse(null))) {
+                    dirtyWatches.addAll(watchesByBook.get(pair.originalId()));
+                }
+                evaluations = evaluateDirty(now);
+            }
+            publish(evaluations, now);
+        });
+    }
+
+    /**
+     * 감시 조건 확인 (락 안에서, 조회 결과만 사용)
+     * 판매 목록에 가격/등급이 있으면 그대로, 없으면 상세 검증 결과 사용
+     * 최소 보유 권수를 채울 수 있는 판매자의 검증하지 않은 책은 상세 검증 요청
+     *
+     * @return 조건 충족 판매자 (배송비 반영/정렬은 락 밖에서 publish), 판매 목록을 아직 조회하지 못한 책이 있으면 null
+     */
+    private Evaluation evaluate(WatchStatus watch, long now) {
+        int minBooks = watch.getMinBooks();
+        Map<String, SellerInfo> listedSellers = new HashMap<>();
+        Map<String, Integer> listedCounts = new HashMap<>();
+        Map<String, List<SellerBookItem>> found = new HashMap<>();
+        Map<String, List<BookItem>> unverified = new HashMap<>();
+
+        for (BookItem book : watch.getBooks()) {
+            Long bookId = originalIds.get(book.getItemId());
+            BookState state = bookId != null ? books.get(bookId) : null;
+            List<SellerInfo> sellers = state != null ? state.listings.get(qualityKey(book.getMinQuality())) : null;
+            if (sellers == null) return null;  // 아직 판매 목록을 조회하지 못한 책이 있음
+
+            for (SellerInfo seller : sellers) {
+                String sellerCode = seller.getSellerCode();
+                listedSellers.put(sellerCode, seller);
+                listedCounts.merge(sellerCode, 1, Integer::sum);
+
+                PairState pair = pairs.get(sellerCode + ":" + bookId);
+                if (seller.getBooks() != null && !seller.getBooks().isEmpty()) {
+                    found.computeIfAbsent(sellerCode, code -> new ArrayList<>())
+                            .add(toCartItem(book, seller.getBooks().get(0)));
+                } else if (pair != null && now - pair.checkedAt() < refreshIntervalMs) {
+                    if (pair.item() != null) {
+                        found.computeIfAbsent(sellerCode, code -> new ArrayList<>()).add(toCartItem(book, pair.item()));
+                    }
+                } else {
+                    unverified.computeIfAbsent(sellerCode, code -> new ArrayList<>()).add(book);
+                }
+            }
+        }
+
+        List<SellerInfo> matches = new ArrayList<>();
+        for (Map.Entry<String, Integer> entry : listedCounts.entrySet()) {
+            if (entry.getValue() < minBooks) continue;
+
+            String sellerCode = entry.getKey();
+            List<SellerBookItem> items = found.getOrDefault(sellerCode, List.of());
+            List<BookItem> unknown = unverified.getOrDefault(sellerCode, List.of());
+            boolean satisfied = items.size() >= minBooks && (watch.getMaxTotalPrice() == null
+                    || cheapestTotal(items, minBooks) <= watch.getMaxTotalPrice());
+
+            if (!satisfied) {
+                // 검증하지 않은 책으로 조건을 채우거나 더 싸질 수 있으면 상세 검증
+                if (items.size() + unknown.size() >= minBooks) {
+                    unknown.forEach(book -> requestPair(sellerCode, book));
+                }
+                continue;
+            }
+
+            SellerInfo listed = listedSellers.get(sellerCode);
+            matches.add(SellerInfo.builder()
+                    .sellerCode(sellerCode)
+                    .sellerName(listed.getSellerName())
+                    .sellerType(listed.getSellerType())
+                    .shopUrl(listed.getShopUrl())
+                    .books(items)
+                    .totalBookCount(items.size())
+                    .totalPrice(items.stream().mapToInt(item -> item.getPrice() != null ? item.getPrice() : 0).sum())
+                    .build());
+        }
+        long version = evaluationVersions.merge(watch.getWatchId(), 1L, Long::sum);
+        return new Evaluation(watch.getWatchId(), version, matches);
+    }
+
+    /**
+     * 다시 확인할 감시의 조건 확인 (락 안에서, 결과는 락을 놓은 뒤 publish)
+     */
+    private List<Evaluation> evaluateDirty(long now) {
+        List<Evaluation> evaluations = new ArrayList<>();
+        for (String watchId : dirtyWatches) {
+            WatchStatus watch = watches.get(watchId);
+            if (watch == null) continue;
+            Evaluation evaluation = evaluate(watch, now);
+            if (evaluation != null) {
+                evaluations.add(evaluation);
+            }
+        }
+        dirtyWatches.clear();
+        return evaluations;
+    }
+
+    /**
+     * 조건 확인 결과에 판매자 정보(배송비) 반영 후 감시에 저장
+     * 판매자 정보는 조정 저장소를 조회하므로 락 밖에서 반영하고, 그 사이 다시 확인한 감시는 새 결과만 저장
+     */
+    private void publish(List<Evaluation> evaluations, long now) {
+        if (evaluations.isEmpty()) return;
+
+        List<List<SellerInfo>> ranked = new ArrayList<>();
+        for (Evaluation evaluation : evaluations) {
+            List<SellerInfo> matches = evaluation.matches();
+            sellerMetadataService.apply(matches);
+            matches.forEach(sellerMetadataService::applyTotalCost);
+            matches.sort(TopKSellers.RANKING);
+            ranked.add(matches.size() > MAX_MATCHES ? new ArrayList<>(matches.subList(0, MAX_MATCHES)) : matches);
+        }
+
+        synchronized (this) {
+            for (int i = 0; i < evaluations.size(); i++) {
+                Evaluation evaluation = evaluations.get(i);
+                WatchStatus watch = watches.get(evaluation.watchId());
+                if (watch == null || !Objects.equals(evaluationVersions.get(evaluation.watchId()), evaluation.version())) continue;
+                update(watch, ranked.get(i), now);
+            }
+        }
+    }
+
+    private void update(WatchStatus watch, List<SellerInfo> matches, long now) {
+        watch.setCheckedAt(now);
+        if (matches.equals(watch.getMatches())) return;
+
+        if (matches.isEmpty()) {
+            watch.setMatchedAt(null);
+        } else if (watch.getMatchedAt() == null) {
+            watch.setMatchedAt(now);
+            log.info("감시 조건 충족: {} (판매자 {}명, 1위 {} {}권 {}원)", watch.getWatchId(), matches.size(),
+                    matches.get(0).getSellerName(), matches.get(0).getTotalBookCount(), matches.get(0).getTotalPrice());
+        }
+        watch.setMatches(matches);
+        changed = true;
+    }
+
+    /**
+     * 가격이 낮은 순으로 minBooks권을 골랐을 때의 총 가격
+     */
+    private int cheapestTotal(List<SellerBookItem> items, int minBooks) {
+        return items.stream()
+                .mapToInt(item -> item.getPrice() != null ? item.getPrice() : 0)
+                .sorted()
+                .limit(minBooks)
+                .sum();
+    }
+
+    private void requestPair(String sellerCode, BookItem book) {
+        Long bookId = originalIds.get(book.getItemId());
+        PairRequest pair = new PairRequest(sellerCode, bookId, book.getItemId(), book.getIsbn13(), book.getTitle(), 0);
+        if (!tasks.contains("pair:" + pair.key())) {
+            pendingPairs.putIfAbsent(pair.key(), pair);
+        }
+    }
+
+    private SellerBookItem toCartItem(BookItem book, SellerBookItem listing) {
+        return SellerBookItem.builder()
+                .itemId(book.getItemId())
+                .title(book.getTitle())
+                .quality(listing.getQuality())
+                .price(listing.getPrice())
+                .productUrl(listing.getProductUrl())
+                .build();
+    }
+
+    private void add(WatchStatus watch) {
+        watches.put(watch.getWatchId(), watch);
+        for (BookItem book : watch.getBooks()) {
+            watchesByItem.computeIfAbsent(book.getItemId(), id -> new HashSet<>()).add(watch.getWatchId());
+            Long bookId = originalIds.get(book.getItemId());
+            if (bookId != null) {
+                watchesByBook.computeIfAbsent(bookId, id -> new HashSet<>()).add(watch.getWatchId());
+            }
+        }
+        dirtyWatches.add(watch.getWatchId());
+    }
+
+    /**
+     * 원본 ID 변환 결과 반영 (그 책을 포함한 감시를 원본 책 기준으로 연결)
+     */
+    private void resolved(Long itemId, Long originalId) {
+        originalIds.put(itemId, originalId);
+        Set<String> watchIds = watchesByItem.get(itemId);
+        if (watchIds == null) return;
+
+        watchesByBook.computeIfAbsent(originalId, id -> new HashSet<>()).addAll(watchIds);
+        dirtyWatches.addAll(watchIds);
+    }
+
+    /**
+     * 감시의 책 연결 해제 (더 감시하지 않는 책의 조회 결과는 버림)
+     */
+    private void unindex(WatchStatus watch) {
+        for (BookItem book : watch.getBooks()) {
+            Long bookId = originalIds.get(book.getItemId());
+            if (bookId != null) {
+                removeFrom(watchesByBook, bookId, watch.getWatchId());
+            }
+            removeFrom(watchesByItem, book.getItemId(), watch.getWatchId());
+            if (!watchesByItem.containsKey(book.getItemId())) {
+                originalIds.remove(book.getItemId());
+            }
+        }
+        books.keySet().retainAll(watchesByBook.keySet());
+        evaluationVersions.remove(watch.getWatchId());
+    }
+
+    private void removeFrom(Map<Long, Set<String>> index, Long key, String watchId) {
+        Set<String> watchIds = index.get(key);
+        if (watchIds == null) return;
+        watchIds.remove(watchId);
+        if (watchIds.isEmpty()) {
+            index.remove(key);
+        }
+    }
+
+    /**
+     * 만료된 감시 삭제, 오래된 상세 검증 결과 정리 (그 결과를 쓰던 감시는 다시 확인할 대상으로 표시 -> 필요하면 다시 검증)
+     */
+    private void expire(long now) {
+        var watchIterator = watches.values().iterator();
+        while (watchIterator.hasNext()) {
+            WatchStatus watch = watchIterator.next();
+            if (watch.getExpiresAt() > now) continue;
+            watchIterator.remove();
+            unindex(watch);
+            changed = true;
+            log.info("감시 만료: {}", watch.getWatchId());
+        }
+
+        var pairIterator = pairs.entrySet().iterator();
+        while (pairIterator.hasNext()) {
+            Map.Entry<String, PairState> entry = pairIterator.next();
+            if (now - entry.getValue().checkedAt() < refreshIntervalMs) continue;
+            pairIterator.remove();
+            Long bookId = Long.parseLong(entry.getKey().substring(entry.getKey().indexOf(':') + 1));
+            dirtyWatches.addAll(watchesByBook.getOrDefault(bookId, Set.of()));
+        }
+        pendingPairs.values().removeIf(pair -> !watchesByBook.containsKey(pair.originalId()));
+    }
+
+    /**
+     * 판매 목록을 조회할 차례인지 (조회 간격이 지났거나, 새 감시가 요구하는 최소 등급의 목록이 없음)
+     */
+    private boolean isDue(Long bookId, long now) {
+        BookState state = books.get(bookId);
+        if (state == null) return true;
+
+        long sinceAttempt = now - state.attemptedAt;
+        if (sinceAttempt >= refreshIntervalMs) return true;
+        return sinceAttempt >= RETRY_DELAY_MS && !state.listings.keySet().containsAll(requiredQualities(bookId));
+    }
+
+    private long attemptedAt(Long bookId) {
+        BookState state = books.get(bookId);
+        return state != null ? state.attemptedAt : 0;
+    }
+
+    /**
+     * 책을 감시하는 감시들이 요구하는 최소 등급 (목록은 최소 등급별로 걸러 저장)
+     */
+    private Set<String> requiredQualities(Long bookId) {
+        Set<String> qualities = new HashSet<>();
+        for (String watchId : watchesByBook.getOrDefault(bookId, Set.of())) {
+            for (BookItem book : watches.get(watchId).getBooks()) {
+                if (bookId.equals(originalIds.get(book.getItemId()))) {
+                    qualities.add(qualityKey(book.getMinQuality()));
+                }
+            }
+        }
+        return qualities;
+    }
+
+    private static String qualityKey(String minQuality) {
+        return minQuality != null ? minQuality : "";
+    }
+
+    private static String fromQualityKey(String key) {
+        return key.isEmpty() ? null : key;
+    }
+
+    private WatchStatus copyOf(WatchStatus watch) {
+        return WatchStatus.builder()
+                .watchId(watch.getWatchId())
+                .books(watch.getBooks())
+                .minBooks(watch.getMinBooks())
+                .maxTotalPrice(watch.getMaxTotalPrice())
+                .createdAt(watch.getCreatedAt())
+                .expiresAt(watch.getExpiresAt())
+                .checkedAt(watch.getCheckedAt())
+                .matches(watch.getMatches())
+                .matchedAt(watch.getMatchedAt())
+                .build();
+    }
+
+    /**
+     * 저장된 감시 목록 복원 (조회 결과는 저장하지 않으므로 모두 다시 조회)
+     */
+    private void load() {
+        if (!Files.exists(path)) return;
+        try {
+            WatchStatus[] saved = objectMapper.readValue(path.toFile(), WatchStatus[].class);
+            for (WatchStatus watch : saved) {
+                add(watch);
+            }
+            log.info("감시 {}개 복원: {}", saved.length, path.toAbsolutePath());
+        } catch (IOException e) {
+            log.error("감시 목록 복원 실패: {}", path.toAbsolutePath(), e);
+        }
+    }
+
+    /**
+     * 변경된 감시 목록 저장 (임시 파일에 쓴 뒤 교체)
+     */
+    private void persistIfChanged() {
+        List<WatchStatus> snapshot;
+        synchronized (this) {
+            if (!changed) return;
+            changed = false;
+            snapshot = watches.values().stream().map(this::copyOf).toList();
+        }
+        try {
+            Path parent = path.toAbsolutePath().getParent();
+            Files.createDirectories(parent);
+            Path temp = Files.createTempFile(parent, path.getFileName().toString(), ".tmp");
+            objectMapper.writeValue(temp.toFile(), snapshot);
+            Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            log.warn("감시 목록 저장 실패: {}, {}", path.toAbsolutePath(), e.getMessage());
+            synchronized (this) {
+                changed = true;
+            }
+        }
+    }
+
+    @Override
+    public void destroy() {
+        tasks.cancel();
+        persistIfChanged();
+    }
+}
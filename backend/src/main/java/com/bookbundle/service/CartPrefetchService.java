@@ -0,0 +1,74 @@
+package com.bookbundle.service;
+
+import com.bookbundle.crawler.AladinCrawlerService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+
+/**
+ * 장바구니 미리 조회 (확장이 장바구니를 추출하면 분석 요청 전에 Phase 1 조회)
+ * - 책별로 원본 ID 변환 + 중고 모두보기 조회 → 결과는 원본 ID 캐시와 판매자-책 그래프에 남음
+ *   → 분석이 들어오면 Phase 1은 대부분 작업 등록 없이 끝남
+ * - 키별 대기열(KeyedTaskQueue)로 요청 슬롯 bundle.prefetch.max-in-flight개까지만 사용
+ * - 분석하지 않고 떠난 장바구니가 요청 예산을 쓰지 않도록
+ *   bundle.prefetch.max-age보다 오래 기다린 책은 조회하지 않고, 대기열이 차면 오래된 책부터 버림
+ *
+ * 판매자-책 그래프는 노드 메모리이므로 분석 요청이 같은 노드로 올 때 효과가 큼 (원본 ID 캐시는 공유)
+ */
+@Slf4j
+@Service
+public class CartPrefetchService {
+
+    private static final int PRIORITY_PREFETCH = 0;
+
+    private final AladinCrawlerService crawlerService;
+
+    // 상품 ID별 조회 작업 (등록 순서, 요청 슬롯 max-in-flight개까지만 실행)
+    private final KeyedTaskQueue<Long> prefetches;
+
+    public CartPrefetchService(
+            AladinCrawlerService crawlerService,
+            CrawlScheduler crawlScheduler,
+            @Value("${bundle.prefetch.max-in-flight}") int maxInFlight,
+            @Value("${bundle.prefetch.max-pending}") int maxPending,
+            @Value("${bundle.prefetch.max-age}") Duration maxAge) {
+        this.crawlerService = crawlerService;
+        this.prefetches = new KeyedTaskQueue<>("장바구니 미리 조회", crawlScheduler, maxInFlight, maxPending, maxAge);
+    }
+
+    /**
+     * 장바구니 상품 미리 조회 등록 (이미 원본 ID와 최근 판매 목록이 있거나 대기/조회 중인 상품은 제외)
+     *
+     * @return 새로 등록한 상품 수
+     */
+    public int prefetch(List<Long> itemIds) {
+        int added = 0;
+        for (Long itemId : itemIds) {
+            if (prefetches.contains(itemId)) continue;
+
+            // 캐시 조회는 (Redis일 수 있으므로) 대기열 락 밖에서
+            boolean fresh = crawlerService.getCachedOriginalItemId(itemId, null)
+                    .flatMap(originalId -> crawlerService.getFreshSellers(originalId, null, null))
+                    .isPresent();
+            if (fresh) continue;
+
+            // 대기열이 차면 가장 오래된 장바구니의 책부터 버림 (최근 장바구니가 분석될 가능성이 높음)
+            prefetches.submit(itemId, PRIORITY_PREFETCH, () -> {
+                    Long originalId = crawlerService.getOriginalItemId(itemId);
+                    return crawlerService.getSellersByOriginalItemId(originalId, null).size();
+                })
+                .whenComplete((sellers, e) -> {
+                    if (e != null && !(e instanceof CancellationException)) {
+                        log.debug("장바구니 미리 조회 실패: ItemId={}, {}", itemId, e.getMessage());
+                    }
+                });
+            added++;
+        }
+        log.debug("장바구니 미리 조회: {}건 중 {}건 등록 (대기/조회 중 {}건)", itemIds.size(), added, prefetches.size());
+        return added;
+    }
+}
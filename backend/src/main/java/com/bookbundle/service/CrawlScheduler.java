@@ -0,0 +1,239 @@
+package com.bookbundle.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.ArrayDeque;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 노드 전체 크롤링 작업 스케줄러 (모든 분석과 책 검색이 공유)
+ * - 동시에 실행하는 크롤링 작업은 요청 슬롯 수(aladin.max-concurrent-requests)까지만
+ *   → 작업이 crawlerExecutor 큐에 쌓이거나 요청 슬롯을 기다리며 스레드를 점유하지 않음
+ * - 슬롯이 비면 책 검색(대화형) 먼저, 그다음 대기 작업이 있는 분석끼리 돌아가며 1건씩
+ *   → 큰 장바구니 하나가 작은 장바구니와 검색을 밀어내지 않음
+ * - 백그라운드 작업(미리 조회, 판매자 정보, 감시, 검색 보강)은 배정할 분석 작업이 없을 때만,
+ *   모두 합쳐 슬롯 수 - 1개까지만 실행 → 백그라운드 기능이 늘어도 분석 몫이 줄지 않음
+ * - 대기 작업 수와 작업 평균 소요 시간으로 예상 대기 시간 계산 (새 분석 수락 여부 판단용)
+ */
+@Slf4j
+@Component
+public class CrawlScheduler {
+
+    // 작업 1건 예상 소요 시간 초기값 (요청 대기 + 네트워크)
+    private static final long INITIAL_TASK_ESTIMATE_NANOS = TimeUnit.SECONDS.toNanos(1);
+
+    private final Executor executor;
+    private final int slots;
+
+    // 책 검색 대기 (슬롯이 비면 분석 작업보다 먼저 배정)
+    private final ArrayDeque<CompletableFuture<Void>> interactiveWaiters = new ArrayDeque<>();
+
+    // 시작할 작업이 있을 수 있는 분석 / 백그라운드 분배기 (각각 돌아가며 1건씩)
+    private final ArrayDeque<CrawlTaskDispatcher> readyLanes = new ArrayDeque<>();
+    private final ArrayDeque<CrawlTaskDispatcher> readyBackgroundLanes = new ArrayDeque<>();
+    private final Set<CrawlTaskDispatcher> readyLaneSet = new HashSet<>();
+
+    // 백그라운드 작업 전체 동시 실행 수 상한 (분석/검색 몫으로 슬롯 1개는 항상 남김)
+    private final int maxBackgroundRunning;
+
+    // 모든 분석의 대기 작업 수 (분배기가 직접 갱신)
+    private final AtomicInteger queuedTasks = new AtomicInteger();
+
+    private int running;
+    private int backgroundRunning;
+
+    // 작업 소요 시간 이동 평균 (예상 대기 시간 계산용)
+    private long taskEstimateNanos = INITIAL_TASK_ESTIMATE_NANOS;
+
+    public CrawlScheduler(
+            @Qualifier("crawlerExecutor") Executor executor,
+            @Value("${aladin.max-concurrent-requests}") int slots) {
+        this.executor = executor;
+        this.slots = slots;
+        this.maxBackgroundRunning = Math.max(1, slots - 1);
+    }
+
+    /**
+     * 슬롯을 배정받아 실행할 분석 작업 (분배기가 넘겨줌)
+     */
+    interface Job extends Runnable {
+
+        /**
+         * 실행기가 작업을 받지 않음 (종료 중 등)
+         */
+        void reject(RejectedExecutionException e);
+    }
+
+    /**
+     * 크롤링 호출 (책 검색)
+     */
+    @FunctionalInterface
+    public interface CrawlCall<T> {
+        T call() throws IOException;
+    }
+
+    /**
+     * 책 검색 등 대화형 요청을 우선 순위로 실행 (호출한 스레드에서 실행)
+     * 슬롯이 없으면 다음에 비는 슬롯을 분석 작업보다 먼저 배정받음
+     */
+    public <T> T runInteractive(CrawlCall<T> call) throws IOException {
+        CompletableFuture<Void> grant = null;
+        synchronized (this) {
+            if (running < slots && interactiveWaiters.isEmpty()) {
+                running++;
+            } else {
+                grant = new CompletableFuture<>();
+                interactiveWaiters.add(grant);
+            }
+        }
+
+        if (grant != null) {
+            try {
+                grant.get();
+            } catch (InterruptedException e) {
+                boolean waiting;
+                synchronized (this) {
+                    waiting = interactiveWaiters.remove(grant);
+                }
+                if (!waiting) {
+                    release(System.nanoTime());  // 이미 배정된 슬롯 반환
+                }
+                Thread.currentThread().interrupt();
+                throw new InterruptedIOException("요청 슬롯 대기 중단");
+            } catch (ExecutionException e) {
+                throw new IllegalStateException(e.getCause());
+            }
+        }
+
+        long startNanos = System.nanoTime();
+        try {
+            return call.call();
+        } finally {
+            release(startNanos);
+        }
+    }
+
+    /**
+     * 분석에 시작할 작업이 생김 (작업 등록, 실행 중인 작업 완료 시 분배기가 호출)
+     * 분배기의 락을 잡지 않은 상태에서 호출해야 함
+     */
+    void ready(CrawlTaskDispatcher lane) {
+        synchronized (this) {
+            addReady(lane);
+        }
+        schedule();
+    }
+
+    private void addReady(CrawlTaskDispatcher lane) {
+        if (readyLaneSet.add(lane)) {
+            (lane.isBackground() ? readyBackgroundLanes : readyLanes).addLast(lane);
+        }
+    }
+
+    void enqueued() {
+        queuedTasks.incrementAndGet();
+    }
+
+    void dequeued(int count) {
+        queuedTasks.addAndGet(-count);
+    }
+
+    /**
+     * 지금 등록된 작업을 모두 처리하는 데 걸릴 예상 시간 (ms)
+     */
+    public synchronized long estimatedWaitMillis() {
+        long backlog = Math.max(0, queuedTasks.get()) + running + interactiveWaiters.size();
+        return TimeUnit.NANOSECONDS.toMillis(backlog * taskEstimateNanos / slots);
+    }
+
+    /**
+     * 빈 슬롯에 작업 배정 (책 검색 -> 분석별 돌아가며 -> 배정할 분석 작업이 없으면 백그라운드)
+     * 분배기 호출은 스케줄러 락 밖에서 (분배기 락 -> 스케줄러 락 순서만 허용)
+     */
+    private void schedule() {
+        while (true) {
+            CompletableFuture<Void> grant;
+            CrawlTaskDispatcher lane = null;
+            synchronized (this) {
+                if (running >= slots) return;
+                grant = interactiveWaiters.poll();
+                if (grant == null) {
+                    lane = readyLanes.poll();
+                    if (lane == null && backgroundRunning < maxBackgroundRunning) {
+                        lane = readyBackgroundLanes.poll();
+                    }
+                    if (lane == null) return;
+                    readyLaneSet.remove(lane);
+                    if (lane.isBackground()) backgroundRunning++;
+                }
+                running++;
+            }
+
+            if (grant != null) {
+                grant.complete(null);
+                continue;
+            }
+
+            Job job = lane.pollJob();
+            if (job == null) {
+                // 시작할 작업이 없음 (대기 작업 없음, 분석별 동시 실행 수 초과, 마감) -> 다음 분석으로
+                synchronized (this) {
+                    running--;
+                    if (lane.isBackground()) backgroundRunning--;
+                }
+                continue;
+            }
+
+            // 다음 차례를 위해 다시 줄 끝에 (남은 작업이 없으면 다음 배정 때 빠짐)
+            synchronized (this) {
+                addReady(lane);
+            }
+            execute(job, lane.isBackground());
+        }
+    }
+
+    private void execute(Job job, boolean background) {
+        long startNanos = System.nanoTime();
+        try {
+            executor.execute(() -> {
+                try {
+                    job.run();
+                } finally {
+                    release(startNanos, background);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            log.error("크롤링 작업 실행 거부: {}", e.getMessage());
+            synchronized (this) {
+                running--;
+                if (background) backgroundRunning--;
+            }
+            job.reject(e);
+        }
+    }
+
+    private void release(long startNanos) {
+        release(startNanos, false);
+    }
+
+    private void release(long startNanos, boolean background) {
+        synchronized (this) {
+            running--;
+            if (background) backgroundRunning--;
+            taskEstimateNanos = (taskEstimateNanos * 4 + (System.nanoTime() - startNanos)) / 5;
+        }
+        schedule();
+    }
+}
@@ -0,0 +1,265 @@
+package com.bookbundle.service;
+
+import com.bookbundle.crawler.CrawlProfiler;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 분석 1회 분량의 크롤링 작업 분배기 (CrawlScheduler의 분석별 대기열)
+ * - 스케줄러가 슬롯을 배정할 때마다 작업 1건씩 넘겨줌 (분석끼리 돌아가며 실행)
+ * - 분석별 동시 실행 수 제한 (혼자 실행 중이면 슬롯을 모두 사용)
+ * - 대기 중인 작업은 우선순위(낮을수록 먼저) -> 등록 순으로 실행
+ * - 실행 전에 취소된 작업은 건너뜀
+ * - 마감 시각이 있으면, 작업 1건의 예상 소요 시간 안에 끝낼 수 없을 때부터 새 작업을 시작하지 않음
+ *   (대기 중인 작업은 모두 취소)
+ * - 분석 취소 시 대기 중인 작업은 취소하고 실행 중인 작업은 인터럽트
+ *   (요청 대기/sleep 중인 크롤링 즉시 중단 → 요청 슬롯 반환)
+ * - 수집기가 있으면 작업별 대기 시간과 부모 작업(완료 콜백에서 등록한 작업)을 기록
+ * - 백그라운드 분배기(미리 조회, 판매자 정보, 감시, 검색 보강)는 분석에 배정할 작업이 없을 때만 슬롯을 받고,
+ *   대기 작업이 분석 대기 시간 추정에 들어가지 않음
+ */
+class CrawlTaskDispatcher {
+
+    // 작업 1건 예상 소요 시간 초기값 (요청 대기 + 네트워크)
+    private static final long INITIAL_TASK_ESTIMATE_NANOS = TimeUnit.SECONDS.toNanos(1);
+
+    private final CrawlScheduler scheduler;
+    private final int maxInFlight;
+    private final boolean background;
+    private final boolean hasDeadline;
+    private final long deadlineNanos;
+
+    // 실행 프로파일 수집기 (null이면 기록하지 않음)
+    private final CrawlProfiler profiler;
+
+    private final PriorityQueue<PendingTask<?>> queue = new PriorityQueue<>(
+            Comparator.comparingInt((PendingTask<?> t) -> t.priority)
+                    .thenComparingLong(t -> t.sequence));
+
+    // 작업 실행 중인 스레드 (취소 시 인터럽트 대상)
+    private final Set<Thread> runningThreads = new HashSet<>();
+
+    private long sequence;
+    private int inFlight;
+    private boolean expired;
+    private boolean cancelled;
+
+    // 작업 소요 시간 이동 평균 (마감 전 시작 여부 판단용)
+    private long taskEstimateNanos = INITIAL_TASK_ESTIMATE_NANOS;
+
+    /**
+     * 마감 시각 없는 분석 분배기
+     */
+    CrawlTaskDispatcher(CrawlScheduler scheduler, int maxInFlight) {
+        this(scheduler, maxInFlight, false, 0, null, false);
+    }
+
+    /**
+     * 분석 분배기
+     * 
+     * @param hasDeadline 마감 시각 사용 여부 (false면 deadlineNanos 무시)
+     * @param deadlineNanos 마감 시각 (System.nanoTime 기준)
+     * @param profiler 실행 프로파일 수집기 (null이면 기록하지 않음)
+     */
+    CrawlTaskDispatcher(CrawlScheduler scheduler, int maxInFlight, boolean hasDeadline, long deadlineNanos, CrawlProfiler profiler) {
+        this(scheduler, maxInFlight, hasDeadline, deadlineNanos, profiler, false);
+    }
+
+    private CrawlTaskDispatcher(CrawlScheduler scheduler, int maxInFlight, boolean hasDeadline, long deadlineNanos,
+                                CrawlProfiler profiler, boolean background) {
+        this.scheduler = scheduler;
+        this.maxInFlight = maxInFlight;
+        this.hasDeadline = hasDeadline;
+        this.deadlineNanos = deadlineNanos;
+        this.profiler = profiler;
+        this.background = background;
+    }
+
+    /**
+     * 백그라운드 분배기 (분석/검색에 배정할 작업이 없을 때만 실행, 마감 시각 없음)
+     */
+    static CrawlTaskDispatcher background(CrawlScheduler scheduler, int maxInFlight) {
+        return new CrawlTaskDispatcher(scheduler, maxInFlight, false, 0, null, true);
+    }
+
+    /**
+     * 작업 등록
+     * 
+     * @param priority 우선순위 (낮을수록 먼저 실행)
+     * @return 작업 결과 (cancel 시 아직 시작하지 않았다면 실행되지 않음, 마감 후 등록하면 바로 취소됨)
+     */
+    <T> CompletableFuture<T> submit(int priority, Callable<T> work) {
+        PendingTask<T> task;
+        synchronized (this) {
+            task = new PendingTask<>(priority, sequence++, work);
+            if (profiler != null) {
+                task.submitNanos = System.nanoTime();
+                task.parent = profiler.currentTask();
+            }
+            if (expired) {
+                task.future.cancel(false);
+                return task.future;
+            }
+            queue.add(task);
+            if (!background) scheduler.enqueued();
+        }
+        scheduler.ready(this);
+        return task.future;
+    }
+
+    /**
+     * 마감까지 남은 시간 (ms, 마감 시각이 없으면 -1)
+     */
+    long remainingMillis() {
+        if (!hasDeadline) return -1;
+        return Math.max(0, TimeUnit.NANOSECONDS.toMillis(deadlineNanos - System.nanoTime()));
+    }
+
+    boolean isBackground() {
+        return background;
+    }
+
+    boolean hasDeadline() {
+        return hasDeadline;
+    }
+
+    CrawlProfiler getProfiler() {
+        return profiler;
+    }
+
+    synchronized boolean isExpired() {
+        return expired;
+    }
+
+    synchronized boolean isCancelled() {
+        return cancelled;
+    }
+
+    /**
+     * 분석 취소: 새 작업 시작 중단 + 대기 중인 작업 취소 + 실행 중인 작업 인터럽트
+     * 이미 끝난 작업의 결과(캐시 등)는 그대로 유지됨
+     */
+    void cancel() {
+        synchronized (this) {
+            cancelled = true;
+            // 락을 잡은 동안에는 작업 스레드가 다른 작업으로 넘어가지 않으므로 안전하게 인터럽트 가능
+            runningThreads.forEach(Thread::interrupt);
+        }
+        expire();
+    }
+
+    /**
+     * 새 작업 시작 중단 + 대기 중인 작업 모두 취소 (실행 중인 작업은 그대로 진행)
+     */
+    void expire() {
+        List<PendingTask<?>> cancelled;
+        synchronized (this) {
+            expired = true;
+            cancelled = new ArrayList<>(queue);
+            queue.clear();
+            if (!background) scheduler.dequeued(cancelled.size());
+        }
+        cancelled.forEach(task -> task.future.cancel(false));
+    }
+
+    /**
+     * 스케줄러가 슬롯을 배정함: 다음에 실행할 작업 (없으면 null)
+     * 마감 전에 끝낼 수 없으면 더 시작하지 않고 대기 중인 작업 모두 취소
+     */
+    CrawlScheduler.Job pollJob() {
+        synchronized (this) {
+            while (inFlight < maxInFlight && !queue.isEmpty() && !expired) {
+                if (hasDeadline && System.nanoTime() + taskEstimateNanos - deadlineNanos > 0) {
+                    expired = true;
+                    break;
+                }
+                
+                PendingTask<?> task = queue.poll();
+                if (!background) scheduler.dequeued(1);
+                if (task.future.isDone()) continue;  // 실행 전 취소됨
+                inFlight++;
+                return task;
+            }
+            if (!expired || queue.isEmpty()) return null;
+        }
+        expire();
+        return null;
+    }
+
+    private <T> void run(PendingTask<T> task) {
+        long startNanos = System.nanoTime();
+        Thread current = Thread.currentThread();
+        CrawlProfiler.Task profiled = null;
+        try {
+            synchronized (this) {
+                if (cancelled) {
+                    task.future.cancel(false);
+                    return;
+                }
+                runningThreads.add(current);
+            }
+            if (!task.future.isDone()) {
+                // 결과 전달(완료 콜백) 중에도 현재 작업으로 남아 있어야 콜백에서 등록한 작업의 부모가 됨
+                if (profiler != null) profiled = profiler.beginTask(task.submitNanos, task.parent);
+                T result = task.work.call();
+                if (profiled != null) profiled.finish();
+                task.future.complete(result);
+            }
+        } catch (Exception e) {
+            if (profiled != null) profiled.finish();
+            if (isCancelled()) {
+                // 취소로 인한 인터럽트는 실패가 아닌 취소로 전달
+                task.future.cancel(false);
+            } else {
+                task.future.completeExceptionally(e);
+            }
+        } finally {
+            synchronized (this) {
+                runningThreads.remove(current);
+                inFlight--;
+                taskEstimateNanos = (taskEstimateNanos * 4 + (System.nanoTime() - startNanos)) / 5;
+            }
+            // 취소 인터럽트와 현재 작업 표시가 풀의 다음 작업으로 새지 않도록 정리
+            Thread.interrupted();
+            if (profiled != null) CrawlProfiler.clearCurrentTask();
+            scheduler.ready(this);
+        }
+    }
+
+    private class PendingTask<T> implements CrawlScheduler.Job {
+        private final int priority;
+        private final long sequence;
+        private final Callable<T> work;
+        private final CompletableFuture<T> future = new CompletableFuture<>();
+        private long submitNanos;
+        private CrawlProfiler.Task parent;
+
+        PendingTask(int priority, long sequence, Callable<T> work) {
+            this.priority = priority;
+            this.sequence = sequence;
+            this.work = work;
+        }
+
+        @Override
+        public void run() {
+            CrawlTaskDispatcher.this.run(this);
+        }
+
+        @Override
+        public void reject(RejectedExecutionException e) {
+            synchronized (CrawlTaskDispatcher.this) {
+                inFlight--;
+            }
+            future.completeExceptionally(e);
+        }
+    }
+}
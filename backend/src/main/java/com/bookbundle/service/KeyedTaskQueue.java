@@ -0,0 +1,165 @@
+package com.bookbundle.service;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * 키별 백그라운드 작업 대기열 (백그라운드 CrawlTaskDispatcher 앞단, 미리 조회/판매자 정보/감시/검색 보강 공용)
+ * - 같은 키는 대기/실행 중 한 번만 등록 (이미 있으면 그 작업의 결과를 반환)
+ * - 등록 순서대로 maxInFlight개까지만 분배기에 넘기고 나머지는 이 대기열에서 기다림
+ * - 대기 작업이 maxPending개면 가장 오래 기다린 작업부터 버림, maxAge보다 오래 기다린 작업은 실행하지 않음
+ *   (버린 작업의 결과는 취소로 완료)
+ * - 결과 전달(완료 콜백)이 끝난 뒤 키를 빼므로, 완료 콜백 안에서는 같은 키가 아직 진행 중으로 보임
+ *
+ * 같은 키로는 같은 타입의 결과를 내는 작업만 등록
+ */
+@Slf4j
+class KeyedTaskQueue<K> {
+
+    private final String name;
+    private final CrawlTaskDispatcher dispatcher;
+    private final int maxInFlight;
+    private final int maxPending;
+    private final long maxAgeMs;
+
+    // 키 -> 대기 작업 (등록 순서), 키 -> 실행 중인 작업 결과
+    private final LinkedHashMap<K, PendingTask<?>> pending = new LinkedHashMap<>();
+    private final Map<K, CompletableFuture<?>> running = new HashMap<>();
+
+    private boolean cancelled;
+
+    /**
+     * @param name   로그에 쓰는 대기열 이름
+     * @param maxAge 대기 작업 최대 대기 시간 (null이면 제한 없음)
+     */
+    KeyedTaskQueue(String name, CrawlScheduler scheduler, int maxInFlight, int maxPending, Duration maxAge) {
+        this.name = name;
+        this.dispatcher = CrawlTaskDispatcher.background(scheduler, maxInFlight);
+        this.maxInFlight = maxInFlight;
+        this.maxPending = maxPending;
+        this.maxAgeMs = maxAge != null ? maxAge.toMillis() : 0;
+    }
+
+    private record PendingTask<T>(int priority, Callable<T> work, long submittedAt, CompletableFuture<T> result) {
+    }
+
+    /**
+     * 작업 등록 (같은 키가 대기/실행 중이면 새로 등록하지 않고 그 결과 반환)
+     *
+     * @param priority 분배기 우선순위 (낮을수록 먼저 실행)
+     * @return 작업 결과 (버려지거나 대기열 종료로 실행하지 못하면 취소로 완료)
+     */
+    @SuppressWarnings("unchecked")
+    <T> CompletableFuture<T> submit(K key, int priority, Callable<T> work) {
+        PendingTask<?> dropped = null;
+        CompletableFuture<T> result = new CompletableFuture<>();
+        synchronized (this) {
+            CompletableFuture<?> existing = running.get(key);
+            if (existing == null && pending.containsKey(key)) {
+                existing = pending.get(key).result();
+            }
+            if (existing != null) {
+                return (CompletableFuture<T>) existing;
+            }
+            if (cancelled) {
+                result.cancel(false);
+                return result;
+            }
+            if (pending.size() >= maxPending) {
+                Iterator<PendingTask<?>> eldest = pending.values().iterator();
+                dropped = eldest.next();
+                eldest.remove();
+            }
+            pending.put(key, new PendingTask<>(priority, work, System.currentTimeMillis(), result));
+        }
+        if (dropped != null) {
+            log.debug("{} 대기열 초과: 가장 오래 기다린 작업 버림", name);
+            dropped.result().cancel(false);
+        }
+
+        drain();
+        return result;
+    }
+
+    /**
+     * 키의 작업이 대기/실행 중인지
+     */
+    synchronized boolean contains(K key) {
+        return pending.containsKey(key) || running.containsKey(key);
+    }
+
+    /**
+     * 대기 + 실행 중인 작업 수
+     */
+    synchronized int size() {
+        return pending.size() + running.size();
+    }
+
+    /**
+     * 대기열 종료: 대기 작업 취소 + 실행 중인 작업 인터럽트, 이후 등록은 바로 취소
+     */
+    void cancel() {
+        List<PendingTask<?>> dropped;
+        synchronized (this) {
+            cancelled = true;
+            dropped = new ArrayList<>(pending.values());
+            pending.clear();
+        }
+        dropped.forEach(task -> task.result().cancel(false));
+        dispatcher.cancel();
+    }
+
+    /**
+     * 대기열에서 실행 슬롯 몫만큼 분배기에 넘김 (결과가 이미 정해진 작업, 오래 기다린 작업은 버림)
+     */
+    private void drain() {
+        Map<K, PendingTask<?>> started = new LinkedHashMap<>();
+        List<PendingTask<?>> expired = new ArrayList<>();
+        long now = System.currentTimeMillis();
+        synchronized (this) {
+            Iterator<Map.Entry<K, PendingTask<?>>> iterator = pending.entrySet().iterator();
+            while (running.size() < maxInFlight && iterator.hasNext()) {
+                Map.Entry<K, PendingTask<?>> entry = iterator.next();
+                iterator.remove();
+                PendingTask<?> task = entry.getValue();
+                if (task.result().isDone()) continue;
+                if (maxAgeMs > 0 && now - task.submittedAt() > maxAgeMs) {
+                    expired.add(task);
+                    continue;
+                }
+                running.put(entry.getKey(), task.result());
+                started.put(entry.getKey(), task);
+            }
+        }
+
+        expired.forEach(task -> task.result().cancel(false));
+        started.forEach(this::start);
+    }
+
+    private <T> void start(K key, PendingTask<T> task) {
+        dispatcher.submit(task.priority(), task.work())
+            .whenComplete((value, e) -> {
+                if (e instanceof CancellationException) {
+                    task.result().cancel(false);
+                } else if (e != null) {
+                    task.result().completeExceptionally(e);
+                } else {
+                    task.result().complete(value);
+                }
+                synchronized (this) {
+                    running.remove(key);
+                }
+                drain();
+            });
+    }
+}
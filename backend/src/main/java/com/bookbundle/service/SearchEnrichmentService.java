@@ -0,0 +1,126 @@
+package com.bookbundle.service;
+
+import com.bookbundle.crawler.AladinCrawlerService;
+import com.bookbundle.crawler.AladinCrawlerService.UsedSummary;
+import com.bookbundle.dto.BookSearchResult;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * 검색 결과 중고 정보 보강 (백그라운드)
+ * - 책 검색은 결과 페이지 1회 조회로 바로 응답하고, 비어 있는 중고 판매자 수/최저가는 캐시에서 채움
+ * - 캐시에 없는 책은 보강 전용 대기열에 등록 (CrawlScheduler가 배정할 분석 작업이 없을 때 실행)
+ * - 클라이언트는 GET /api/books/enrichment로 보강 결과를 받음 (진행 중이면 끝날 때까지 대기)
+ *
+ * 보강 결과는 크롤링 캐시에 저장되므로 다른 노드로 후속 요청이 가도 같은 결과 사용
+ */
+@Slf4j
+@Service
+public class SearchEnrichmentService {
+
+    // 보강 작업 동시 실행 수 (분석 작업 몫을 남김)
+    private static final int MAX_IN_FLIGHT = 2;
+
+    // 대기할 수 있는 보강 작업 수 (넘으면 가장 오래 기다린 작업부터 버림)
+    private static final int MAX_PENDING = 200;
+
+    // 보강 결과 응답 대기 시간 (끝나지 않은 책은 빼고 응답, 클라이언트가 다시 요청 가능)
+    private static final long MAX_WAIT_MS = 10000;
+
+    private static final int PRIORITY_ENRICHMENT = 0;
+
+    private final AladinCrawlerService crawlerService;
+
+    // 책 ID별 보강 작업 (같은 책을 동시에 두 번 조회하지 않음)
+    private final KeyedTaskQueue<Long> enrichments;
+
+    public SearchEnrichmentService(AladinCrawlerService crawlerService, CrawlScheduler crawlScheduler) {
+        this.crawlerService = crawlerService;
+        this.enrichments = new KeyedTaskQueue<>("검색 결과 보강", crawlScheduler, MAX_IN_FLIGHT, MAX_PENDING, null);
+    }
+
+    /**
+     * 검색 결과에 캐시된 중고 요약 반영, 캐시에 없는 책은 보강 작업 등록
+     */
+    public void enrich(List<BookSearchResult> results) {
+        int scheduled = 0;
+        for (BookSearchResult result : results) {
+            if (!needsEnrichment(result)) continue;
+
+            Optional<UsedSummary> cached = crawlerService.getCachedUsedSummary(result.getItemId());
+            if (cached.isPresent()) {
+                apply(result, cached.get());
+            } else {
+                summaryAsync(result.getItemId());
+                scheduled++;
+            }
+        }
+        log.debug("검색 결과 보강: {}건 중 {}건 백그라운드 조회", results.size(), scheduled);
+    }
+
+    /**
+     * 보강 결과 (itemId, usedCount, usedMinPrice만 채워짐)
+     * 진행 중인 작업은 끝날 때까지 기다리되 최대 MAX_WAIT_MS, 그때까지 끝나지 않았거나 실패한 책은 제외
+     */
+    public CompletableFuture<List<BookSearchResult>> getEnrichment(List<Long> itemIds) {
+        Map<Long, CompletableFuture<UsedSummary>> summaries = new LinkedHashMap<>();
+        for (Long itemId : new LinkedHashSet<>(itemIds)) {
+            CompletableFuture<UsedSummary> summary = crawlerService.getCachedUsedSummary(itemId)
+                    .map(CompletableFuture::completedFuture)
+                    .orElseGet(() -> summaryAsync(itemId));
+            summaries.put(itemId, summary);
+        }
+
+        return CompletableFuture.allOf(summaries.values().toArray(new CompletableFuture<?>[0]))
+            .exceptionally(e -> null)
+            .completeOnTimeout(null, MAX_WAIT_MS, TimeUnit.MILLISECONDS)
+            .thenApply(v -> summaries.entrySet().stream()
+                .filter(entry -> entry.getValue().isDone() && !entry.getValue().isCompletedExceptionally())
+                .map(entry -> {
+                    BookSearchResult result = BookSearchResult.builder().itemId(entry.getKey()).build();
+                    apply(result, entry.getValue().join());
+                    return result;
+                })
+                .collect(Collectors.toList()));
+    }
+
+    /**
+     * 중고 최저가가 없고, 중고가 없다고 확인되지 않은 책만 보강
+     */
+    private boolean needsEnrichment(BookSearchResult result) {
+        return result.getUsedMinPrice() == null
+                && (result.getUsedCount() == null || result.getUsedCount() > 0);
+    }
+
+    private void apply(BookSearchResult result, UsedSummary summary) {
+        if (result.getUsedCount() == null) {
+            result.setUsedCount(summary.sellerCount());
+        }
+        if (result.getUsedMinPrice() == null) {
+            result.setUsedMinPrice(summary.minPrice());
+        }
+    }
+
+    /**
+     * 보강 작업 등록 (이미 대기/진행 중이면 재사용, 대기 작업이 너무 많으면 가장 오래 기다린 작업은 취소로 완료)
+     */
+    private CompletableFuture<UsedSummary> summaryAsync(Long itemId) {
+        return enrichments.submit(itemId, PRIORITY_ENRICHMENT, () -> {
+            try {
+                return crawlerService.getUsedSummary(itemId);
+            } catch (Exception e) {
+                log.warn("중고 요약 조회 실패: ItemId={}, {}", itemId, e.getMessage());
+                throw e;
+            }
+        });
+    }
+}
@@ -0,0 +1,139 @@
+package com.bookbundle.service;
+
+import com.bookbundle.crawler.CrawlCoordinationStore;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * 판매자별 미확인 책 적중 통계 (지난 분석의 Phase 3 검증 결과로 누적, 노드 간 공유)
+ * - 적중률: Phase 1 판매자 목록에 없던 책을 상점에서 검색해 찾은 비율
+ * - 취급 범위: 후보가 되었던 장바구니의 책 중 Phase 1 목록에 있던 비율 (상점 규모 대용)
+ * - 이번 장바구니와 겹치는 정도: 이번 Phase 1 보유 비율 / 평소 취급 범위
+ *   → 평소보다 많이 겹치면 (취급 분야와 맞는 장바구니) 적중 확률을 높게 봄
+ *
+ * 판매자 기록이 없으면 전체 적중률을 사전 확률로 쓰고, 검색 결과가 쌓일수록 판매자 기록 비중이 커짐
+ * 여러 노드가 동시에 갱신하면 일부 증가분이 빠질 수 있음 (통계 용도라 허용)
+ */
+@Slf4j
+@Component
+public class SellerHitStatistics {
+
+    private static final String STATS_CACHE = "seller-stats";
+    private static final String GLOBAL_KEY = "*";
+    private static final Duration STATS_TTL = Duration.ofDays(30);
+
+    // 전체 적중률 사전값 (2/10 = 20%)
+    private static final double GLOBAL_PRIOR_HITS = 2;
+    private static final double GLOBAL_PRIOR_PROBES = 10;
+
+    // 판매자 사전 확률의 가중치 (검색 몇 건 분량으로 볼지), 취급 범위 사전값의 가중치 (장바구니 책 수 기준)
+    private static final double SELLER_PRIOR_WEIGHT = 3;
+    private static final double COVERAGE_PRIOR_WEIGHT = 5;
+
+    // 겹침 보정 범위
+    private static final double MIN_OVERLAP_FACTOR = 0.5;
+    private static final double MAX_OVERLAP_FACTOR = 2;
+
+    // 검색 수가 이를 넘으면 모든 값을 절반으로 (오래된 기록 비중 감소)
+    private static final int DECAY_THRESHOLD = 400;
+
+    private final CrawlCoordinationStore coordinationStore;
+    private final double minProbeProbability;
+
+    public SellerHitStatistics(
+            CrawlCoordinationStore coordinationStore,
+            @Value("${bundle.seller-stats.min-probe-probability}") double minProbeProbability) {
+        this.coordinationStore = coordinationStore;
+        this.minProbeProbability = minProbeProbability;
+    }
+
+    /**
+     * 누적 기록 (carts: 후보였던 장바구니 수, cartBooks/listed: 그 장바구니의 책 수 / Phase 1 목록에 있던 책 수,
+     * probes/hits: 미확인 책 검색 수 / 발견 수)
+     */
+    public record Counts(int carts, int cartBooks, int listed, int probes, int hits) {
+
+        static final Counts EMPTY = new Counts(0, 0, 0, 0, 0);
+
+        Counts plus(int carts, int cartBooks, int listed, int probes, int hits) {
+            Counts next = new Counts(this.carts + carts, this.cartBooks + cartBooks, this.listed + listed,
+                    this.probes + probes, this.hits + hits);
+            if (next.probes <= DECAY_THRESHOLD && next.cartBooks <= DECAY_THRESHOLD * 10) {
+                return next;
+            }
+            return new Counts(next.carts / 2, next.cartBooks / 2, next.listed / 2, next.probes / 2, next.hits / 2);
+        }
+    }
+
+    /**
+     * 판매자의 미확인 책 적중 확률 분포 (베타 분포, 분석 중 검색 결과로 갱신)
+     */
+    record HitEstimate(double alpha, double beta) {
+
+        /**
+         * 이번 분석에서 검색한 결과까지 반영한 다음 검색의 적중 확률
+         */
+        double probability(int hits, int probes) {
+            return (alpha + hits) / (alpha + beta + probes);
+        }
+    }
+
+    /**
+     * 이번 장바구니 기준 판매자 적중 확률 분포
+     *
+     * @param listedInCart Phase 1에서 이 판매자 목록에 있던 장바구니 책 수
+     * @param cartSize     장바구니 책 수
+     */
+    HitEstimate estimate(String sellerCode, int listedInCart, int cartSize) {
+        Counts global = load(GLOBAL_KEY);
+        Counts seller = load(sellerCode);
+
+        double globalRate = (global.hits() + GLOBAL_PRIOR_HITS) / (global.probes() + GLOBAL_PRIOR_PROBES);
+
+        // 평소 취급 범위 대비 이번 장바구니와 겹치는 정도 (기록이 없으면 1)
+        double overlap = cartSize > 0 ? (double) listedInCart / cartSize : 0;
+        double coverage = (seller.listed() + COVERAGE_PRIOR_WEIGHT * overlap) / (seller.cartBooks() + COVERAGE_PRIOR_WEIGHT);
+        double overlapFactor = coverage > 0
+                ? Math.max(MIN_OVERLAP_FACTOR, Math.min(MAX_OVERLAP_FACTOR, overlap / coverage))
+                : 1;
+
+        double prior = Math.min(0.95, globalRate * overlapFactor);
+        return new HitEstimate(
+                seller.hits() + SELLER_PRIOR_WEIGHT * prior,
+                seller.probes() - seller.hits() + SELLER_PRIOR_WEIGHT * (1 - prior));
+    }
+
+    /**
+     * 상세 검증 후보가 된 장바구니 기록 (취급 범위)
+     */
+    void recordCandidate(String sellerCode, int listedInCart, int cartSize) {
+        update(sellerCode, 1, cartSize, listedInCart, 0, 0);
+    }
+
+    /**
+     * 미확인 책 검색 결과 기록 (새 검색, 캐시된 결과, 다른 작업이 먼저 등록한 검증 모두 / 분석당 판매자-책 조합 1회)
+     */
+    void recordProbe(String sellerCode, boolean hit) {
+        int hits = hit ? 1 : 0;
+        update(sellerCode, 0, 0, 0, 1, hits);
+        update(GLOBAL_KEY, 0, 0, 0, 1, hits);
+    }
+
+    /**
+     * 다음 검색의 적중 확률이 이보다 낮으면 남은 미확인 책은 검색하지 않음
+     */
+    double getMinProbeProbability() {
+        return minProbeProbability;
+    }
+
+    private Counts load(String key) {
+        return coordinationStore.getCached(STATS_CACHE, key, Counts.class).orElse(Counts.EMPTY);
+    }
+
+    private synchronized void update(String key, int carts, int cartBooks, int listed, int probes, int hits) {
+        coordinationStore.putCached(STATS_CACHE, key, load(key).plus(carts, cartBooks, listed, probes, hits), STATS_TTL);
+    }
+}
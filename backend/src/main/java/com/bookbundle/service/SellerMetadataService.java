@@ -0,0 +1,181 @@
+package com.bookbundle.service;
+
+import com.bookbundle.crawler.AladinCrawlerService;
+import com.bookbundle.crawler.AladinCrawlerService.SellerMetadata;
+import com.bookbundle.dto.SellerInfo;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CancellationException;
+
+/**
+ * 판매자 정보 (유형, 만족도, 배송비, 무료배송 기준) 반영 + 백그라운드 갱신
+ * - 분석 결과에는 캐시된 정보만 반영 (분석 중 판매자 정보를 조회하지 않음)
+ * - 정보가 없거나 bundle.seller-metadata.refresh-after보다 오래된 판매자는 키별 대기열(KeyedTaskQueue)에 모아
+ *   요청 슬롯 bundle.seller-metadata.max-in-flight개까지만 써서 상점 첫 페이지 조회
+ *   → 판매자 코드당 한 번만 조회하고 결과는 조정 저장소에 길게 보관 (aladin.seller-metadata.ttl)
+ * - Phase 3 상점 검색 페이지에서 읽은 정보도 캐시에 반영되므로 자주 나오는 판매자는 따로 조회하지 않음
+ *   (크롤러는 정보가 없거나 refresh-after보다 오래된 판매자만 다시 저장)
+ *
+ * 배송비를 아직 모르는 판매자는 bundle.seller-metadata.default-shipping-fee로 총액을 추정
+ */
+@Slf4j
+@Service
+public class SellerMetadataService {
+
+    private static final int PRIORITY_REFRESH = 0;
+
+    // 노드 메모리에 두는 판매자 정보 수 (넘으면 가장 오래 안 쓴 판매자부터 제거)
+    private static final int MAX_LOCAL_SELLERS = 10_000;
+
+    private final AladinCrawlerService crawlerService;
+    private final int maxPending;
+    private final long refreshAfterMs;
+    private final long retryAfterMs;
+    private final int defaultShippingFee;
+
+    // 판매자 코드 -> 정보 (조정 저장소에서 읽은 값, 접근 순서)
+    private final LinkedHashMap<String, SellerMetadata> local = new LinkedHashMap<>(256, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, SellerMetadata> eldest) {
+            return size() > MAX_LOCAL_SELLERS;
+        }
+    };
+
+    // 판매자 코드별 조회 작업, 판매자 코드 -> 마지막 조회 등록 시각 (실패 후 재시도 간격)
+    private final KeyedTaskQueue<String> refreshes;
+    private final Map<String, Long> requestedAt = new HashMap<>();
+
+    public SellerMetadataService(
+            AladinCrawlerService crawlerService,
+            CrawlScheduler crawlScheduler,
+            @Value("${bundle.seller-metadata.max-in-flight}") int maxInFlight,
+            @Value("${bundle.seller-metadata.max-pending}") int maxPending,
+            @Value("${bundle.seller-metadata.refresh-after}") Duration refreshAfter,
+            @Value("${bundle.seller-metadata.retry-after}") Duration retryAfter,
+            @Value("${bundle.seller-metadata.default-shipping-fee}") int defaultShippingFee) {
+        this.crawlerService = crawlerService;
+        this.refreshes = new KeyedTaskQueue<>("판매자 정보 갱신", crawlScheduler, maxInFlight, maxPending, null);
+        this.maxPending = maxPending;
+        this.refreshAfterMs = refreshAfter.toMillis();
+        this.retryAfterMs = retryAfter.toMillis();
+        this.defaultShippingFee = defaultShippingFee;
+    }
+
+    /**
+     * 캐시된 판매자 정보를 결과에 반영 (요청 없음), 없거나 오래된 판매자는 갱신 등록
+     * 판매자 유형은 중고 모두보기 배지를 읽었으면 그대로 둠
+     */
+    public void apply(Collection<SellerInfo> sellers) {
+        long now = System.currentTimeMillis();
+        List<String> stale = new ArrayList<>();
+        for (SellerInfo seller : sellers) {
+            Optional<SellerMetadata> metadata = lookup(seller.getSellerCode(), now);
+            if (metadata.isEmpty() || now - metadata.get().fetchedAt() > refreshAfterMs) {
+                stale.add(seller.getSellerCode());
+            }
+            metadata.ifPresent(m -> {
+                if (seller.getSellerType() == null) seller.setSellerType(m.sellerType());
+                seller.setSatisfactionRate(m.satisfactionRate());
+                seller.setShippingFee(m.shippingFee());
+                seller.setFreeShippingThreshold(m.freeShippingThreshold());
+            });
+        }
+        refresh(stale);
+    }
+
+    /**
+     * 배송비 포함 예상 총액 계산 (totalPrice와 반영된 배송비 정책 기준)
+     * 무료배송 기준 이상이면 배송비 없음, 배송비를 모르면 기본 배송비
+     */
+    public void applyTotalCost(SellerInfo seller) {
+        int shippingFee = seller.getShippingFee() != null ? seller.getShippingFee() : defaultShippingFee;
+        Integer threshold = seller.getFreeShippingThreshold();
+        if (threshold != null && seller.getTotalPrice() >= threshold) {
+            shippingFee = 0;
+        }
+        seller.setTotalCost(seller.getTotalPrice() + shippingFee);
+    }
+
+    /**
+     * 노드 메모리 -> 조정 저장소 순으로 조회 (최근 조회를 등록한 판매자는 저장소를 다시 보지 않음)
+     */
+    private Optional<SellerMetadata> lookup(String sellerCode, long now) {
+        synchronized (this) {
+            SellerMetadata cached = local.get(sellerCode);
+            if (cached != null && now - cached.fetchedAt() <= refreshAfterMs) {
+                return Optional.of(cached);
+            }
+            Long requested = requestedAt.get(sellerCode);
+            if (requested != null && now - requested < retryAfterMs) {
+                return Optional.ofNullable(cached);
+            }
+        }
+
+        // 저장소 조회는 (Redis일 수 있으므로) 락 밖에서
+        Optional<SellerMetadata> stored = crawlerService.getCachedSellerMetadata(sellerCode);
+        stored.ifPresent(metadata -> remember(sellerCode, metadata));
+        return stored;
+    }
+
+    private synchronized void remember(String sellerCode, SellerMetadata metadata) {
+        SellerMetadata previous = local.get(sellerCode);
+        if (previous == null || previous.fetchedAt() <= metadata.fetchedAt()) {
+            local.put(sellerCode, metadata);
+        }
+    }
+
+    /**
+     * 갱신 대상 판매자 등록 (대기/조회 중이거나 최근 등록한 판매자 제외, 대기열이 차면 오래된 판매자부터 버림)
+     */
+    private void refresh(List<String> sellerCodes) {
+        if (sellerCodes.isEmpty()) return;
+
+        long now = System.currentTimeMillis();
+        List<String> added = new ArrayList<>();
+        synchronized (this) {
+            for (String sellerCode : sellerCodes) {
+                if (refreshes.contains(sellerCode)) continue;
+                Long requested = requestedAt.get(sellerCode);
+                if (requested != null && now - requested < retryAfterMs) continue;
+
+                requestedAt.put(sellerCode, now);
+                added.add(sellerCode);
+            }
+            // 재시도 간격이 지난 기록 정리
+            if (requestedAt.size() > maxPending * 10) {
+                requestedAt.values().removeIf(requested -> now - requested >= retryAfterMs);
+            }
+        }
+
+        for (String sellerCode : added) {
+            refreshes.submit(sellerCode, PRIORITY_REFRESH, () -> {
+                    // 다른 노드나 Phase 3 상점 검색이 이미 갱신했으면 조회하지 않음
+                    Optional<SellerMetadata> stored = crawlerService.getCachedSellerMetadata(sellerCode);
+                    if (stored.isPresent() && System.currentTimeMillis() - stored.get().fetchedAt() <= refreshAfterMs) {
+                        return stored.get();
+                    }
+                    return crawlerService.fetchSellerMetadata(sellerCode);
+                })
+                .whenComplete((metadata, e) -> {
+                    if (e == null) {
+                        remember(sellerCode, metadata);
+                    } else if (!(e instanceof CancellationException)) {
+                        log.debug("판매자 정보 조회 실패: SC={}, {}", sellerCode, e.getMessage());
+                    }
+                });
+        }
+        if (!added.isEmpty()) {
+            log.debug("판매자 정보 갱신 등록: {}명 (대기/조회 중 {}명)", added.size(), refreshes.size());
+        }
+    }
+}
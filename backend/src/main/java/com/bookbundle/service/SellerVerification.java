@@ -0,0 +1,313 @@
+package com.bookbundle.service;
+
+import com.bookbundle.dto.BookItem;
+import com.bookbundle.dto.SellerInfo;
+import com.bookbundle.dto.SellerInfo.SellerBookItem;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.IntPredicate;
+
+/**
+ * 판매자 1명의 Phase 3 검증 상태
+ * - Phase 1에서 가격/등급을 확인한 책은 발견된 것으로 시작
+ * - (판매자, 책) 조합마다 독립된 검색 작업으로 실행
+ * - 미확인 책 (Phase 1 목록에 없던 책): 판매자 적중 확률(SellerHitStatistics)로 검색 여부 결정
+ *   → 다음 검색의 적중 확률이 기준 이상인 동안만 검색, 결과가 나올 때마다 확률 갱신 (발견하면 오르고 못 찾으면 내려감)
+ *   → 동시에 검색하는 미확인 책 수 = 1건 발견을 기대할 수 있는 수 (최대 MAX_PROBE_WAVE)
+ *   → 기록상 적중 확률이 기준보다 낮은 판매자는 미확인 책을 검색하지 않음
+ *   → 적중 확률과 관계없이 못 찾은 검색이 MAX_PROBE_MISSES건이 되면 중단 (결과 대기 중인 검색도 못 찾은 것으로 셈)
+ *     (기록이 없는 판매자는 사전 확률만으로 검색이 길어지므로, 예전 샘플 3권 검색보다 많이 요청하지 않도록)
+ * - 보유 권수 상한 = 발견 권수 + 결과 대기 중인 검색 수 + 아직 검색 여부가 정해지지 않은 미확인 책 수
+ *   → 상한이 상위 K명에 들 수 없는 수준이면 남은 검색을 취소하고 종료
+ * - 마감 시각에 걸려 취소/미실행된 검색은 "미확인"으로 기록하고, 발견된 책까지만으로 결과 확정
+ */
+class SellerVerification {
+
+    // 동시에 검색하는 미확인 책 최대 수
+    private static final int MAX_PROBE_WAVE = 3;
+
+    // 판매자 1명당 못 찾은 미확인 책 검색 최대 수
+    static final int MAX_PROBE_MISSES = 3;
+
+    /**
+     * (판매자, 책) 검색 작업 등록
+     */
+    @FunctionalInterface
+    interface CheckScheduler {
+
+        /**
+         * @param probe          미확인 책 검색인지 (결과를 적중 통계에 기록)
+         * @param hitProbability 예상 적중 확률 (Phase 1에서 확인된 책은 1, 우선순위 결정용)
+         */
+        CompletableFuture<Optional<SellerBookItem>> schedule(BookItem book, boolean probe, double hitProbability);
+    }
+
+    private final SellerInfo seller;
+    private final List<BookItem> books;
+    private final SellerHitStatistics.HitEstimate hitEstimate;
+    private final double minProbeProbability;
+    private final CheckScheduler scheduleCheck;
+    private final IntPredicate canStillEnter;
+
+    private final List<SellerBookItem> found = new ArrayList<>();
+    private final List<CompletableFuture<Optional<SellerBookItem>>> checks = new ArrayList<>();
+    private final List<BookItem> pendingBooks = new ArrayList<>();
+    private final Set<Long> uncheckedItemIds = new LinkedHashSet<>();
+    private final CompletableFuture<SellerVerification> done = new CompletableFuture<>();
+
+    // 아직 검색 여부가 정해지지 않은 미확인 책 (장바구니 순서)
+    private final List<BookItem> unknownQueue = new ArrayList<>();
+
+    private int pendingChecks;
+    private int pendingProbes;
+    private int probeHits;
+    private int probeMisses;
+    private boolean pruned;
+    private boolean expired;
+
+    /**
+     * @param books               장바구니 전체 (결과 정렬용)
+     * @param unknownBooks        Phase 1 목록에 없던 책
+     * @param hitEstimate         이 판매자의 미확인 책 적중 확률 분포
+     * @param minProbeProbability 다음 검색의 적중 확률이 이보다 낮으면 남은 미확인 책은 검색하지 않음
+     * @param scheduleCheck       (판매자, 책) 검색 작업 등록
+     * @param canStillEnter       보유 권수 상한으로 상위 K명에 들 수 있는지 판단
+     */
+    SellerVerification(
+            SellerInfo seller,
+            List<BookItem> books,
+            List<BookItem> unknownBooks,
+            SellerHitStatistics.HitEstimate hitEstimate,
+            double minProbeProbability,
+            CheckScheduler scheduleCheck,
+            IntPredicate canStillEnter) {
+        this.seller = seller;
+        this.books = books;
+        this.unknownQueue.addAll(unknownBooks);
+        this.hitEstimate = hitEstimate;
+        this.minProbeProbability = minProbeProbability;
+        this.scheduleCheck = scheduleCheck;
+        this.canStillEnter = canStillEnter;
+    }
+
+    /**
+     * 검색 시작 (미확인 책 첫 검색 먼저 등록 -> 못 찾으면 상한이 빨리 줄어듦)
+     * 
+     * @param listedBooks Phase 1에서 가격/등급을 확인한 책 (검색하지 않음)
+     */
+    CompletableFuture<SellerVerification> start(
+            List<BookItem> confirmedBooks, 
+            List<SellerBookItem> listedBooks) {
+        List<BookItem> probes;
+        double probability;
+        synchronized (this) {
+            found.addAll(listedBooks);
+            pendingChecks = confirmedBooks.size();
+            probability = nextProbability();
+            probes = nextProbes();
+        }
+        
+        for (BookItem book : probes) {
+            track(book, true, probability);
+        }
+        for (BookItem book : confirmedBooks) {
+            track(book, false, 1);
+        }
+        
+        evaluate();
+        return done;
+    }
+
+    private void track(BookItem book, boolean probe, double hitProbability) {
+        CompletableFuture<Optional<SellerBookItem>> check = scheduleCheck.schedule(book, probe, hitProbability);
+        
+        boolean cancelNow;
+        synchronized (this) {
+            checks.add(check);
+            pendingBooks.add(book);
+            cancelNow = pruned || expired;
+        }
+        if (cancelNow) {
+            check.cancel(false);
+        }
+        
+        check.whenComplete((result, e) -> onCheckComplete(
+                book, probe, e == null ? result : Optional.empty(), isCancellation(e)));
+    }
+
+    private void onCheckComplete(BookItem book, boolean probe, Optional<SellerBookItem> result, boolean cancelled) {
+        List<BookItem> toSchedule = List.of();
+        double probability = 0;
+        
+        synchronized (this) {
+            if (done.isDone()) return;
+            
+            pendingChecks--;
+            pendingBooks.remove(book);
+            if (cancelled) {
+                // 마감 시각 때문에 검색하지 못함 (판매자 중단에 의한 취소는 done 이후라 여기 오지 않음)
+                uncheckedItemIds.add(book.getItemId());
+            }
+            result.ifPresent(item -> found.add(SellerBookItem.builder()
+                    .itemId(book.getItemId())
+                    .title(book.getTitle())
+                    .quality(item.getQuality())
+                    .price(item.getPrice())
+                    .productUrl(item.getProductUrl())
+                    .build()));
+            
+            if (probe) {
+                pendingProbes--;
+                if (cancelled) {
+                    // 검색하지 못한 미확인 책이 있으면 나머지도 미확인으로 남김 (마감 시각)
+                    unknownQueue.forEach(rest -> uncheckedItemIds.add(rest.getItemId()));
+                    unknownQueue.clear();
+                } else if (result.isPresent()) {
+                    probeHits++;
+                } else {
+                    probeMisses++;
+                }
+                if (!pruned) {
+                    probability = nextProbability();
+                    toSchedule = nextProbes();
+                }
+            }
+        }
+        
+        for (BookItem next : toSchedule) {
+            track(next, true, probability);
+        }
+        
+        evaluate();
+    }
+
+    /**
+     * 이번 분석의 검색 결과까지 반영한 다음 미확인 책 적중 확률
+     */
+    private double nextProbability() {
+        return hitEstimate.probability(probeHits, probeHits + probeMisses);
+    }
+
+    /**
+     * 다음에 검색할 미확인 책 (락을 잡은 상태에서 호출, 반환한 책은 호출한 쪽에서 track)
+     * 적중 확률이 기준보다 낮거나 못 찾은 검색이 최대 수에 이르면 남은 미확인 책은 검색하지 않기로 확정 (미보유로 간주)
+     */
+    private List<BookItem> nextProbes() {
+        if (unknownQueue.isEmpty()) return List.of();
+        
+        double probability = nextProbability();
+        if (probability < minProbeProbability || probeMisses >= MAX_PROBE_MISSES) {
+            if (pendingProbes == 0) {
+                unknownQueue.clear();
+            }
+            return List.of();
+        }
+        
+        // 1건 발견을 기대할 수 있는 만큼 동시에 검색 (모두 못 찾아도 못 찾은 검색 최대 수를 넘지 않게)
+        int wave = (int) Math.min(Math.min(MAX_PROBE_WAVE, Math.ceil(1 / probability)), MAX_PROBE_MISSES - probeMisses);
+        List<BookItem> next = new ArrayList<>();
+        while (pendingProbes < wave && !unknownQueue.isEmpty()) {
+            next.add(unknownQueue.remove(0));
+            pendingProbes++;
+            pendingChecks++;
+        }
+        return next;
+    }
+
+    /**
+     * 완료/중단 여부 판단 (다른 판매자 검증 완료로 K번째 기준이 바뀌었을 때도 호출)
+     */
+    void evaluate() {
+        List<CompletableFuture<Optional<SellerBookItem>>> toCancel = null;
+        
+        synchronized (this) {
+            if (done.isDone()) return;
+            
+            if (pendingChecks > 0 || !unknownQueue.isEmpty()) {
+                if (canStillEnter.test(upperBound())) return;
+                
+                // 상위 K명에 들 수 없음 -> 남은 검색 취소
+                pruned = true;
+                found.clear();
+                toCancel = new ArrayList<>(checks);
+            } else {
+                found.sort(Comparator.comparingInt(item -> indexOf(item.getItemId())));
+            }
+        }
+        
+        done.complete(this);
+        
+        if (toCancel != null) {
+            toCancel.forEach(check -> check.cancel(false));
+        }
+    }
+
+    /**
+     * 마감 시각 도달: 결과를 기다리는 검색은 미확인으로 남기고 발견된 책까지만으로 결과 확정
+     */
+    void expire() {
+        List<CompletableFuture<Optional<SellerBookItem>>> toCancel;
+        
+        synchronized (this) {
+            if (done.isDone()) return;
+            
+            expired = true;
+            pendingBooks.forEach(book -> uncheckedItemIds.add(book.getItemId()));
+            unknownQueue.forEach(book -> uncheckedItemIds.add(book.getItemId()));
+            unknownQueue.clear();
+            found.sort(Comparator.comparingInt(item -> indexOf(item.getItemId())));
+            toCancel = new ArrayList<>(checks);
+        }
+        
+        done.complete(this);
+        toCancel.forEach(check -> check.cancel(false));
+    }
+
+    private static boolean isCancellation(Throwable e) {
+        if (e instanceof CompletionException && e.getCause() != null) {
+            e = e.getCause();
+        }
+        return e instanceof CancellationException;
+    }
+
+    private int upperBound() {
+        return found.size() + pendingChecks + unknownQueue.size();
+    }
+
+    private int indexOf(Long itemId) {
+        for (int i = 0; i < books.size(); i++) {
+            if (books.get(i).getItemId().equals(itemId)) return i;
+        }
+        return books.size();
+    }
+
+    SellerInfo getSeller() {
+        return seller;
+    }
+
+    synchronized boolean isPruned() {
+        return pruned;
+    }
+
+    /**
+     * 모든 검색을 마쳤는지 (마감 시각에 걸려 확인하지 못한 책이 없는지)
+     */
+    synchronized boolean isComplete() {
+        return !expired && uncheckedItemIds.isEmpty();
+    }
+
+    /**
+     * 발견된 책 (장바구니 순서, 중단된 경우 빈 목록)
+     */
+    synchronized List<SellerBookItem> getFoundBooks() {
+        return new ArrayList<>(found);
+    }
+}
@@ -0,0 +1,60 @@
+package com.bookbundle.service;
+
+import com.bookbundle.dto.SellerInfo;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+
+/**
+ * 상위 K명 판매자 유지 (크기 제한 최소 힙)
+ * - 힙의 루트 = 현재 K번째(가장 순위가 낮은) 판매자
+ * - 보유 권수 상한이 K번째 판매자보다 낮은 판매자는 더 검증해도 결과에 들어갈 수 없음
+ */
+class TopKSellers {
+
+    // 순위: 보유 권수 내림차순 -> 배송비 포함 총액 오름차순
+    static final Comparator<SellerInfo> RANKING = Comparator
+            .comparingInt(SellerInfo::getTotalBookCount).reversed()
+            .thenComparingInt(SellerInfo::getTotalCost);
+
+    private final int k;
+
+    // 순위의 역순으로 정렬 -> peek()이 가장 순위가 낮은 판매자
+    private final PriorityQueue<SellerInfo> heap = new PriorityQueue<>(RANKING.reversed());
+
+    TopKSellers(int k) {
+        this.k = k;
+    }
+
+    /**
+     * 검증 완료된 판매자 추가 (K명을 넘으면 가장 순위가 낮은 판매자 제거)
+     */
+    synchronized void offer(SellerInfo seller) {
+        if (heap.size() < k) {
+            heap.add(seller);
+        } else if (RANKING.compare(seller, heap.peek()) < 0) {
+            heap.poll();
+            heap.add(seller);
+        }
+    }
+
+    /**
+     * 보유 권수 상한이 upperBound인 판매자가 상위 K명에 들어갈 수 있는지
+     * 권수가 같으면 총액으로 순위가 갈리므로 같은 권수까지는 가능성 있음으로 판단
+     */
+    synchronized boolean canEnter(int upperBound) {
+        if (upperBound <= 0) return false;
+        return heap.size() < k || upperBound >= heap.peek().getTotalBookCount();
+    }
+
+    /**
+     * 순위 순으로 정렬된 결과
+     */
+    synchronized List<SellerInfo> toSortedList() {
+        List<SellerInfo> sorted = new ArrayList<>(heap);
+        sorted.sort(RANKING);
+        return sorted;
+    }
+}
@@ -0,0 +1,83 @@
+package com.bookbundle.crawler;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.connection.RedisStandaloneConfiguration;
+import org.springframework.data.redis.connection.lettuce.LettuceClientConfiguration;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import java.net.ServerSocket;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 조정 저장소: 로컬 저장소의 만료/크기 제한, Redis에 연결할 수 없을 때 로컬 대체 동작
+ */
+class CoordinationStoreTest {
+
+    @Test
+    void localStoreExpiresAndSweepsEntries() throws Exception {
+        LocalCoordinationStore store = new LocalCoordinationStore(100);
+        store.putCached("search-page", "1:자바", "short", Duration.ofMillis(10));
+        store.putCached("original-id", "101", 201L, Duration.ofDays(7));
+
+        Thread.sleep(20);
+        // 다시 조회하지 않는 키도 정리 주기에 제거됨
+        store.evictExpired();
+        assertEquals(1, store.size());
+        assertTrue(store.getCached("search-page", "1:자바", String.class).isEmpty());
+        assertEquals(201L, store.getCached("original-id", "101", Long.class).orElseThrow());
+    }
+
+    @Test
+    void localStoreEvictsLeastRecentlyUsedBeyondMaxEntries() {
+        LocalCoordinationStore store = new LocalCoordinationStore(3);
+        for (int i = 1; i <= 3; i++) {
+            store.putCached("search-page", "1:" + i, i, Duration.ofMinutes(10));
+        }
+        // 1을 읽으면 가장 오래 안 쓴 항목은 2
+        store.getCached("search-page", "1:1", Integer.class);
+        store.putCached("search-page", "1:4", 4, Duration.ofMinutes(10));
+
+        assertEquals(3, store.size());
+        assertTrue(store.getCached("search-page", "1:2", Integer.class).isEmpty());
+        assertTrue(store.getCached("search-page", "1:1", Integer.class).isPresent());
+        assertTrue(store.getCached("search-page", "1:4", Integer.class).isPresent());
+    }
+
+    @Test
+    void redisStoreFallsBackToLocalBudgetWhenUnavailable() throws Exception {
+        int closedPort;
+        try (ServerSocket socket = new ServerSocket(0)) {
+            closedPort = socket.getLocalPort();
+        }
+        LettuceConnectionFactory connectionFactory = new LettuceConnectionFactory(
+                new RedisStandaloneConfiguration("localhost", closedPort),
+                LettuceClientConfiguration.builder().commandTimeout(Duration.ofMillis(500)).build());
+        connectionFactory.afterPropertiesSet();
+        try {
+            RedisCoordinationStore store = new RedisCoordinationStore(
+                    new StringRedisTemplate(connectionFactory), new ObjectMapper());
+
+            long spacing = TimeUnit.MILLISECONDS.toNanos(200);
+            long first = store.reserveRequestStart(spacing);
+            long second = store.reserveRequestStart(spacing);
+            // 노드 안에서는 요청 간격 유지
+            assertTrue(second - first > TimeUnit.MILLISECONDS.toNanos(100), "second=" + second);
+
+            // 캐시는 건너뜀 (예외 없이 빈 값)
+            store.putCached("original-id", "101", 201L, Duration.ofMinutes(1));
+            assertTrue(store.getCached("original-id", "101", Long.class).isEmpty());
+
+            // 연결 실패 후에는 Redis를 다시 기다리지 않음
+            long start = System.nanoTime();
+            store.getCached("original-id", "101", Long.class);
+            assertTrue(System.nanoTime() - start < TimeUnit.MILLISECONDS.toNanos(100));
+        } finally {
+            connectionFactory.destroy();
+        }
+    }
+}
@@ -0,0 +1,163 @@
+package com.bookbundle.crawler;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.jsoup.HttpStatusException;
+import org.jsoup.Jsoup;
+import org.jsoup.nodes.Document;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 요청 아카이브: 녹화한 응답을 재생하면 같은 문서로 파싱, 실패 재현, 색인 복구
+ */
+class FetchArchiveTest {
+
+    private static final Charset EUC_KR = Charset.forName("EUC-KR");
+
+    @TempDir
+    Path dir;
+
+    private HttpServer server;
+    private String baseUrl;
+    private final AtomicInteger repeatedRequests = new AtomicInteger();
+
+    @BeforeEach
+    void startServer() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        // 응답 헤더에 charset이 있는 EUC-KR 페이지
+        server.createContext("/euc-kr", exchange -> respond(exchange, 200, "text/html; charset=euc-kr",
+                "<html><head><title>중고 모두보기</title></head><body><a class='bo3' href='/shop/wproduct.aspx?ItemId=7'>자바의 정석</a></body></html>"
+                        .getBytes(EUC_KR)));
+        // charset이 본문 meta에만 있는 페이지 (재생할 때도 파싱하며 감지)
+        server.createContext("/meta-charset", exchange -> respond(exchange, 200, "text/html",
+                "<html><head><meta charset='euc-kr'><title>판매자 상점</title></head><body>8,000원 [중고-상]</body></html>"
+                        .getBytes(EUC_KR)));
+        server.createContext("/redirect", exchange -> {
+            exchange.getResponseHeaders().add("Location", baseUrl + "/euc-kr");
+            respond(exchange, 302, "text/html", new byte[0]);
+        });
+        server.createContext("/missing", exchange -> respond(exchange, 404, "text/html", new byte[0]));
+        // 같은 URL이라도 요청마다 다른 본문
+        server.createContext("/repeated", exchange -> respond(exchange, 200, "text/html; charset=utf-8",
+                ("<html><body>" + repeatedRequests.incrementAndGet() + "번째</body></html>").getBytes(StandardCharsets.UTF_8)));
+        server.start();
+        baseUrl = "http://localhost:" + server.getAddress().getPort();
+    }
+
+    @AfterEach
+    void stopServer() {
+        server.stop(0);
+    }
+
+    @Test
+    void replayedPagesParseToIdenticalDocuments() throws Exception {
+        Path archive = dir.resolve("aladin.bba");
+        List<String> urls = List.of(baseUrl + "/euc-kr", baseUrl + "/meta-charset", baseUrl + "/redirect");
+
+        List<Document> recorded = new ArrayList<>();
+        RecordingPageFetcher recording = new RecordingPageFetcher("test", archive);
+        for (String url : urls) {
+            recorded.add(parse(recording.fetch(url, 5000)));
+        }
+        HttpStatusException recordedError = assertThrows(HttpStatusException.class,
+                () -> recording.fetch(baseUrl + "/missing", 5000));
+        List<String> recordedRepeats = new ArrayList<>();
+        for (int i = 0; i < 2; i++) {
+            recordedRepeats.add(parse(recording.fetch(baseUrl + "/repeated", 5000)).body().text());
+        }
+        recording.destroy();
+        server.stop(0);
+
+        // 이미 있는 아카이브는 덮어쓰지 않음
+        assertThrows(IOException.class, () -> new RecordingPageFetcher("test", archive));
+
+        ReplayPageFetcher replay = new ReplayPageFetcher(archive, false);
+        try {
+            for (int i = 0; i < urls.size(); i++) {
+                Document replayed = parse(replay.fetch(urls.get(i), 5000));
+                assertEquals(recorded.get(i).outerHtml(), replayed.outerHtml(), urls.get(i));
+                assertEquals(recorded.get(i).location(), replayed.location(), urls.get(i));
+                assertEquals(recorded.get(i).charset(), replayed.charset(), urls.get(i));
+            }
+            assertEquals("자바의 정석", parse(replay.fetch(baseUrl + "/euc-kr", 5000)).select("a.bo3").text());
+            // 리다이렉트 후 최종 주소 유지
+            assertEquals(baseUrl + "/euc-kr", replay.fetch(baseUrl + "/redirect", 5000).url());
+
+            HttpStatusException replayedError = assertThrows(HttpStatusException.class,
+                    () -> replay.fetch(baseUrl + "/missing", 5000));
+            assertEquals(recordedError.getStatusCode(), replayedError.getStatusCode());
+
+            // 녹화 순서대로 응답하고, 다 쓰면 마지막 응답 반복
+            assertEquals(List.of("1번째", "2번째"), recordedRepeats);
+            assertEquals("1번째", parse(replay.fetch(baseUrl + "/repeated", 5000)).body().text());
+            assertEquals("2번째", parse(replay.fetch(baseUrl + "/repeated", 5000)).body().text());
+            assertEquals("2번째", parse(replay.fetch(baseUrl + "/repeated", 5000)).body().text());
+
+            assertThrows(IOException.class, () -> replay.fetch(baseUrl + "/unknown", 5000));
+        } finally {
+            replay.destroy();
+        }
+    }
+
+    @Test
+    void recoversRecordsMissingFromIndex() throws Exception {
+        Path archive = dir.resolve("aladin.bba");
+        try (FetchArchive.ArchiveWriter writer = FetchArchive.create(archive)) {
+            for (int i = 0; i < 3; i++) {
+                writer.append(new FetchArchive.Exchange("u" + i, "u" + i, 200, "UTF-8", i, 1000L * i,
+                        null, null, ("본문" + i).getBytes(StandardCharsets.UTF_8)));
+            }
+        }
+        List<FetchArchive.Entry> entries;
+        try (FetchArchive.ArchiveReader reader = FetchArchive.open(archive)) {
+            entries = reader.entries();
+        }
+        assertEquals(3, entries.size());
+
+        // 색인 마지막 줄 유실 + 데이터 파일 끝에 쓰다 만 기록
+        Path index = FetchArchive.indexPath(archive);
+        List<String> lines = Files.readAllLines(index, StandardCharsets.UTF_8);
+        Files.write(index, lines.subList(0, 2), StandardCharsets.UTF_8);
+        Files.write(archive, new byte[]{0, 0, 0, 100, 1, 2}, StandardOpenOption.APPEND);
+
+        try (FetchArchive.ArchiveReader reader = FetchArchive.open(archive)) {
+            assertEquals(entries, reader.entries());
+            FetchArchive.Exchange last = reader.read(reader.entries().get(2));
+            assertEquals("u2", last.url());
+            assertEquals(2000L, last.latencyNanos());
+            assertEquals("본문2", new String(last.body(), StandardCharsets.UTF_8));
+        }
+    }
+
+    // AladinCrawlerService와 같은 방식으로 파싱
+    private static Document parse(PageFetcher.Page page) throws IOException {
+        return Jsoup.parse(new ByteArrayInputStream(page.body()), page.charset(), page.url());
+    }
+
+    private static void respond(HttpExchange exchange, int status, String contentType,
+                                byte[] body) throws IOException {
+        exchange.getResponseHeaders().add("Content-Type", contentType);
+        exchange.sendResponseHeaders(status, body.length == 0 ? -1 : body.length);
+        if (body.length > 0) {
+            exchange.getResponseBody().write(body);
+        }
+        exchange.close();
+    }
+}
@@ -0,0 +1,128 @@
+package com.bookbundle.crawler;
+
+import com.bookbundle.crawler.SellerBookGraph.ListedSeller;
+import com.bookbundle.crawler.SellerBookGraph.Verification;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 판매자-책 그래프: 판매 목록 유효 시간, 검증 간선 보관 시간, 책 수 초과 제거, 판매자 번호 재배정
+ */
+class SellerBookGraphTest {
+
+    private static final Duration LONG = Duration.ofHours(1);
+    private static final Duration SHORT = Duration.ofMillis(30);
+
+    @Test
+    void listingIsServedUntilMaxAgeAndReflectsLatestCrawl() throws Exception {
+        SellerBookGraph graph = new SellerBookGraph(SHORT, LONG, LONG, 100);
+        graph.putListing(1, List.of(seller("A", 9000, 11), seller("B", 8000, 12)));
+
+        List<ListedSeller> listing = graph.getListing(1).orElseThrow();
+        assertEquals(List.of("A", "B"), codes(listing));
+        assertEquals(9000, listing.get(0).levelPrices()[0]);
+        assertEquals(12, listing.get(1).levelItemIds()[0]);
+
+        // 다시 조회한 목록에 없는 판매자는 빠짐
+        graph.putListing(1, List.of(seller("B", 7500, 13)));
+        listing = graph.getListing(1).orElseThrow();
+        assertEquals(List.of("B"), codes(listing));
+        assertEquals(7500, listing.get(0).levelPrices()[0]);
+
+        Thread.sleep(SHORT.toMillis() + 20);
+        assertTrue(graph.getListing(1).isEmpty());
+        assertTrue(graph.getListing(2).isEmpty());
+    }
+
+    @Test
+    void verificationEdgesExpireByOutcome() throws Exception {
+        SellerBookGraph graph = new SellerBookGraph(LONG, LONG, SHORT, 100);
+        graph.putListing(1, List.of(seller("A", 9000, 11)));
+        graph.putVerification("A", 1, true, 8500, 1, 777);
+        graph.putVerification("B", 1, false, 0, 0, 0);
+
+        assertEquals(new Verification(true, 8500, 1, 777), graph.getVerification("A", 1).orElseThrow());
+        assertFalse(graph.getVerification("B", 1).orElseThrow().found());
+        assertTrue(graph.getVerification("C", 1).isEmpty());
+        assertTrue(graph.getVerification("A", 2).isEmpty());
+        // 판매 목록에 없던 판매자의 검증 간선은 목록에 끼지 않음
+        assertEquals(List.of("A"), codes(graph.getListing(1).orElseThrow()));
+
+        // 미보유 결과만 짧게 보관
+        Thread.sleep(SHORT.toMillis() + 20);
+        assertTrue(graph.getVerification("B", 1).isEmpty());
+        assertEquals(777, graph.getVerification("A", 1).orElseThrow().itemId());
+    }
+
+    @Test
+    void evictsLeastRecentlyAccessedBooksBeyondMaxBooks() throws Exception {
+        SellerBookGraph graph = new SellerBookGraph(LONG, LONG, LONG, 3);
+        for (long book = 1; book <= 3; book++) {
+            graph.putListing(book, List.of(seller("A", 9000, book)));
+            Thread.sleep(5);
+        }
+        // 1을 읽으면 가장 오래 안 쓴 책은 2
+        graph.getListing(1);
+        Thread.sleep(5);
+
+        // 최대 책 수를 넘기면 판매 목록 반영 직후 정리
+        graph.putListing(4, List.of(seller("A", 9000, 4)));
+        assertTrue(graph.getListing(2).isEmpty());
+        for (long book : new long[]{1, 3, 4}) {
+            assertTrue(graph.getListing(book).isPresent(), "book " + book);
+        }
+    }
+
+    @Test
+    void sweepRemovesStaleEdgesAndCompactsSellers() throws Exception {
+        SellerBookGraph graph = new SellerBookGraph(LONG, LONG, SHORT, 100);
+        // 책 1: 곧 만료될 미보유 검증만 있는 판매자 300명
+        for (int i = 0; i < 300; i++) {
+            graph.putVerification("S" + i, 1, false, 0, 0, 0);
+        }
+        graph.putListing(2, List.of(seller("S150", 9000, 21), seller("X", 8000, 22)));
+        graph.putVerification("X", 3, true, 7000, 2, 33);
+
+        Thread.sleep(SHORT.toMillis() + 20);
+        graph.sweep();
+
+        // 간선이 모두 만료된 책 1은 제거, 남은 판매자 2명만 번호를 다시 받음
+        Map<?, ?> sellerIds = (Map<?, ?>) ReflectionTestUtils.getField(graph, "sellerIds");
+        assertEquals(2, sellerIds.size());
+        assertTrue(graph.getVerification("S0", 1).isEmpty());
+
+        List<ListedSeller> listing = graph.getListing(2).orElseThrow();
+        assertEquals(List.of("S150", "X"), codes(listing));
+        assertEquals(List.of("판매자S150", "판매자X"),
+                listing.stream().map(ListedSeller::sellerName).collect(Collectors.toList()));
+        assertEquals(22, listing.get(1).levelItemIds()[0]);
+        assertEquals(new Verification(true, 7000, 2, 33), graph.getVerification("X", 3).orElseThrow());
+
+        // 번호 재배정 뒤 새 판매자도 기존 판매자와 겹치지 않음
+        graph.putVerification("Y", 3, true, 6000, 0, 44);
+        assertEquals(44, graph.getVerification("Y", 3).orElseThrow().itemId());
+        assertEquals(33, graph.getVerification("X", 3).orElseThrow().itemId());
+    }
+
+    private static ListedSeller seller(String code, int price, long itemId) {
+        int[] prices = new int[SellerBookGraph.QUALITY_LEVELS];
+        long[] itemIds = new long[SellerBookGraph.QUALITY_LEVELS];
+        prices[0] = price;
+        itemIds[0] = itemId;
+        return new ListedSeller(code, "판매자" + code, null, prices, itemIds);
+    }
+
+    private static List<String> codes(List<ListedSeller> sellers) {
+        List<String> codes = new ArrayList<>();
+        sellers.forEach(seller -> codes.add(seller.sellerCode()));
+        return codes;
+    }
+}
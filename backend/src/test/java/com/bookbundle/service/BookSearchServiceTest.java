@@ -0,0 +1,177 @@
+package com.bookbundle.service;
+
+import com.bookbundle.crawler.AladinCrawlerService;
+import com.bookbundle.crawler.LocalCoordinationStore;
+import com.bookbundle.crawler.PageFetcher;
+import com.bookbundle.crawler.RequestThrottle;
+import com.bookbundle.crawler.SellerBookGraph;
+import com.bookbundle.dto.BookSearchPage;
+import com.bookbundle.dto.BookSearchResult;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.IntFunction;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 책 검색: 커서 왕복, 알라딘 페이지 경계 넘기, 중복 제거로 짧아진 페이지
+ */
+class BookSearchServiceTest {
+
+    private static final Pattern PAGE_PATTERN = Pattern.compile("[?&]page=(\\d+)");
+
+    private static final long FIRST_ITEM_ID = 1000;
+
+    private final ExecutorService executor = Executors.newFixedThreadPool(2);
+    private final CrawlScheduler scheduler = new CrawlScheduler(executor, 2);
+
+    // 알라딘 페이지 번호 -> 조회 횟수
+    private final Map<Integer, AtomicInteger> fetches = new ConcurrentHashMap<>();
+
+    @AfterEach
+    void shutdown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void cursorRoundTrips() {
+        assertEquals(BookSearchService.Cursor.FIRST, BookSearchService.Cursor.parse(null));
+        assertEquals(BookSearchService.Cursor.FIRST, BookSearchService.Cursor.parse(" "));
+        for (String value : List.of("1.0", "2.17", "40.24")) {
+            assertEquals(value, BookSearchService.Cursor.parse(value).toString());
+        }
+        for (String value : List.of("x.y", "1", "1.2.3", "0.0", "1.-1", "-1.0")) {
+            assertThrows(IllegalArgumentException.class, () -> BookSearchService.Cursor.parse(value), value);
+        }
+    }
+
+    @Test
+    void pagesThroughResultsAcrossAladinPages() throws Exception {
+        // 25 + 25 + 10건
+        BookSearchService service = service(page -> rows(page, page < 3 ? 25 : 10));
+
+        List<Long> itemIds = new ArrayList<>();
+        List<String> cursors = new ArrayList<>();
+        String cursor = null;
+        do {
+            BookSearchPage result = service.search(" 자바 ", cursor, 20);
+            result.getItems().forEach(book -> itemIds.add(book.getItemId()));
+            cursor = result.getNextCursor();
+            cursors.add(cursor);
+            awaitPrefetch();
+        } while (cursor != null);
+
+        // 마지막 요청은 3페이지(마지막 페이지) 끝에서 끝나므로 다음 커서 없음
+        assertEquals(Arrays.asList("1.20", "2.15", null), cursors);
+        assertEquals(LongStream.range(FIRST_ITEM_ID, FIRST_ITEM_ID + 60).boxed().collect(Collectors.toList()), itemIds);
+        // 각 알라딘 페이지는 미리 조회 또는 직접 조회로 한 번씩만
+        assertEquals(3, fetches.size());
+        fetches.values().forEach(count -> assertEquals(1, count.get()));
+
+        // 이전 응답의 커서로 다시 요청하면 같은 결과 (캐시에서 응답)
+        BookSearchPage again = service.search("자바", "2.15", 20);
+        assertEquals(LongStream.range(FIRST_ITEM_ID + 40, FIRST_ITEM_ID + 60).boxed().collect(Collectors.toList()),
+                again.getItems().stream().map(BookSearchResult::getItemId).collect(Collectors.toList()));
+        assertNull(again.getNextCursor());
+        fetches.values().forEach(count -> assertEquals(1, count.get()));
+    }
+
+    @Test
+    void deduplicatedFullPageIsNotLast() throws Exception {
+        // 1페이지: 25행 중 마지막 행이 첫 행과 같은 책 → 24건, 2페이지: 3건
+        BookSearchService service = service(page -> page == 1 ? rows(1, 24) + row(FIRST_ITEM_ID) : rows(2, 3));
+
+        BookSearchPage first = service.search("자바", null, 30);
+        assertEquals(27, first.getItems().size());
+        assertEquals(27, first.getItems().stream().map(BookSearchResult::getItemId).distinct().count());
+        assertNull(first.getNextCursor());
+    }
+
+    @Test
+    void prefetchesNextPageWhenShortPageRemainderIsNotEnough() throws Exception {
+        BookSearchService service = service(page -> page == 1 ? rows(1, 24) + row(FIRST_ITEM_ID) : rows(2, 25));
+
+        // 1.13부터 12건이면 25번째 결과까지 필요 → 중복 제거된 1페이지(24건)로는 모자라므로 2페이지 미리 조회
+        BookSearchPage result = service.search("자바", "1.1", 12);
+        assertEquals("1.13", result.getNextCursor());
+        awaitPrefetch();
+        assertEquals(1, fetches.get(2).get());
+
+        // 1페이지 남은 11건 + 2페이지 첫 결과
+        BookSearchPage next = service.search("자바", result.getNextCursor(), 12);
+        List<Long> expected = LongStream.range(FIRST_ITEM_ID + 13, FIRST_ITEM_ID + 24).boxed().collect(Collectors.toList());
+        expected.add(FIRST_ITEM_ID + 25);
+        assertEquals(expected, next.getItems().stream().map(BookSearchResult::getItemId).collect(Collectors.toList()));
+        assertEquals("2.1", next.getNextCursor());
+        assertEquals(1, fetches.get(2).get());
+    }
+
+    @Test
+    void doesNotPrefetchWhenPageRemainderIsEnough() throws Exception {
+        BookSearchService service = service(page -> rows(page, 25));
+
+        BookSearchPage result = service.search("자바", null, 10);
+        assertEquals("1.10", result.getNextCursor());
+        awaitPrefetch();
+        assertEquals(Map.of(1, 1), fetches.entrySet().stream()
+                .collect(Collectors.toMap(Map.Entry::getKey, entry -> entry.getValue().get())));
+    }
+
+    private BookSearchService service(IntFunction<String> pageRows) {
+        PageFetcher fetcher = (url, timeoutMs) -> {
+            Matcher matcher = PAGE_PATTERN.matcher(url);
+            assertTrue(matcher.find(), url);
+            int page = Integer.parseInt(matcher.group(1));
+            fetches.computeIfAbsent(page, p -> new AtomicInteger()).incrementAndGet();
+            String html = "<html><body>" + pageRows.apply(page) + "</body></html>";
+            return new PageFetcher.Page(url, 200, "UTF-8", html.getBytes(StandardCharsets.UTF_8));
+        };
+        LocalCoordinationStore store = new LocalCoordinationStore();
+        SellerBookGraph graph = new SellerBookGraph(
+                Duration.ofMinutes(10), Duration.ofMinutes(10), Duration.ofHours(1), 1000);
+        AladinCrawlerService crawler = new AladinCrawlerService(new RequestThrottle(store, 0, 2), store, fetcher, graph);
+        ReflectionTestUtils.setField(crawler, "baseUrl", "https://www.aladin.co.kr");
+        return new BookSearchService(crawler, scheduler);
+    }
+
+    // page 페이지의 검색 결과 count행 (ItemId는 전체 결과 안 위치 순)
+    private static String rows(int page, int count) {
+        StringBuilder html = new StringBuilder();
+        long first = FIRST_ITEM_ID + (page - 1) * 25L;
+        for (long i = first; i < first + count; i++) {
+            html.append(row(i));
+        }
+        return html.toString();
+    }
+
+    private static String row(long itemId) {
+        return "<div class='ss_book_box'><a class='bo3' href='/shop/wproduct.aspx?ItemId=" + itemId + "'>책"
+                + itemId + "</a></div>";
+    }
+
+    private void awaitPrefetch() throws InterruptedException {
+        // 미리 조회는 등록 즉시 슬롯을 배정받으므로, 실행 중인 작업이 없으면 끝난 것
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (scheduler.estimatedWaitMillis() > 0) {
+            assertTrue(System.nanoTime() < deadline, "미리 조회 대기 시간 초과");
+            TimeUnit.MILLISECONDS.sleep(1);
+        }
+    }
+}
@@ -0,0 +1,161 @@
+package com.bookbundle.service;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 크롤링 작업 스케줄러: 분석끼리 공정 배정, 백그라운드 작업은 남는 슬롯만
+ */
+class CrawlSchedulerTest {
+
+    private static final int SLOTS = 4;
+    private static final int TASKS_PER_ANALYSIS = 40;
+    private static final int BACKGROUND_LANES = 5;
+    private static final long TASK_MILLIS = 5;
+
+    private final ExecutorService executor = Executors.newFixedThreadPool(SLOTS * 2);
+    private final CrawlScheduler scheduler = new CrawlScheduler(executor, SLOTS);
+
+    // 작업 시작 순서 (분석 A/B), 실행 중인 작업 수
+    private final List<String> analysisStarts = new ArrayList<>();
+    private final AtomicInteger analysisRunning = new AtomicInteger();
+    private final AtomicInteger analysisPeak = new AtomicInteger();
+    private final AtomicInteger backgroundRunning = new AtomicInteger();
+    private final AtomicInteger backgroundPeak = new AtomicInteger();
+    private final AtomicInteger backgroundStartedWhileAnalysisQueued = new AtomicInteger();
+
+    // 먼저 시작한 백그라운드 작업을 분석 등록이 끝날 때까지 붙잡아 둠
+    private final CompletableFuture<Void> backgroundGate = new CompletableFuture<>();
+
+    @AfterEach
+    void shutdown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void analysesShareSlotsEquallyWhileBackgroundIsSaturated() throws Exception {
+        // 백그라운드 분배기가 모두 합쳐 슬롯보다 많은 작업을 동시에 원하도록 채워 둠
+        List<CompletableFuture<?>> background = submitBackground(200);
+        waitUntil(() -> backgroundRunning.get() == SLOTS - 1);
+
+        CrawlTaskDispatcher analysisA = new CrawlTaskDispatcher(scheduler, SLOTS);
+        CrawlTaskDispatcher analysisB = new CrawlTaskDispatcher(scheduler, SLOTS);
+        List<CompletableFuture<?>> analyses = new ArrayList<>();
+        for (int i = 0; i < TASKS_PER_ANALYSIS; i++) {
+            analyses.add(analysisA.submit(0, () -> runAnalysis("A")));
+            analyses.add(analysisB.submit(0, () -> runAnalysis("B")));
+        }
+        backgroundGate.complete(null);
+        CompletableFuture.allOf(analyses.toArray(CompletableFuture[]::new)).get(30, TimeUnit.SECONDS);
+
+        // 분석 작업이 대기 중인 동안 백그라운드 작업은 시작하지 않음 → 분석 둘이 슬롯을 모두 나눠 씀
+        assertEquals(0, backgroundStartedWhileAnalysisQueued.get());
+        assertEquals(SLOTS, analysisPeak.get());
+
+        // 두 분석이 모두 작업을 남겨 둔 동안 시작한 작업 수 차이는 동시에 배정될 수 있는 수 이내
+        int a = 0;
+        int b = 0;
+        for (String lane : snapshot()) {
+            if (a == TASKS_PER_ANALYSIS || b == TASKS_PER_ANALYSIS) break;
+            if (lane.equals("A")) a++; else b++;
+            assertTrue(Math.abs(a - b) <= SLOTS, "A=" + a + ", B=" + b);
+        }
+
+        // 분석이 끝나면 백그라운드 작업이 다시 진행됨
+        CompletableFuture.allOf(background.toArray(CompletableFuture[]::new)).get(30, TimeUnit.SECONDS);
+    }
+
+    @Test
+    void backgroundLanesShareOneBudgetBelowSlotCount() throws Exception {
+        backgroundGate.complete(null);
+        List<CompletableFuture<?>> background = submitBackground(20);
+        CompletableFuture.allOf(background.toArray(CompletableFuture[]::new)).get(30, TimeUnit.SECONDS);
+
+        // 분배기별 동시 실행 수의 합(10)과 관계없이 슬롯 1개는 분석/검색 몫으로 남김
+        assertEquals(SLOTS - 1, backgroundPeak.get());
+    }
+
+    @Test
+    void backgroundQueueDoesNotCountTowardAdmissionWait() throws Exception {
+        CrawlTaskDispatcher lane = CrawlTaskDispatcher.background(scheduler, 1);
+        CompletableFuture<Void> gate = new CompletableFuture<>();
+        List<CompletableFuture<?>> tasks = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            tasks.add(lane.submit(0, () -> gate.get(30, TimeUnit.SECONDS)));
+        }
+        waitUntil(() -> scheduler.estimatedWaitMillis() > 0);
+
+        // 실행 중인 1건만 반영 (대기 중인 백그라운드 99건은 새 분석 수락 여부에 영향 없음)
+        assertEquals(TimeUnit.SECONDS.toMillis(1) / SLOTS, scheduler.estimatedWaitMillis());
+        gate.complete(null);
+        CompletableFuture.allOf(tasks.toArray(CompletableFuture[]::new)).get(30, TimeUnit.SECONDS);
+    }
+
+    private List<CompletableFuture<?>> submitBackground(int tasksPerLane) {
+        List<CompletableFuture<?>> tasks = new ArrayList<>();
+        for (int l = 0; l < BACKGROUND_LANES; l++) {
+            CrawlTaskDispatcher lane = CrawlTaskDispatcher.background(scheduler, 2);
+            for (int i = 0; i < tasksPerLane; i++) {
+                tasks.add(lane.submit(0, this::runBackground));
+            }
+        }
+        return tasks;
+    }
+
+    private Void runAnalysis(String lane) throws InterruptedException {
+        synchronized (analysisStarts) {
+            analysisStarts.add(lane);
+        }
+        analysisPeak.accumulateAndGet(analysisRunning.incrementAndGet(), Math::max);
+        try {
+            Thread.sleep(TASK_MILLIS);
+        } finally {
+            analysisRunning.decrementAndGet();
+        }
+        return null;
+    }
+
+    private Void runBackground() throws Exception {
+        int notStarted;
+        synchronized (analysisStarts) {
+            notStarted = analysisStarts.isEmpty() ? 0 : TASKS_PER_ANALYSIS * 2 - analysisStarts.size();
+        }
+        // 슬롯 수만큼은 배정됐지만 아직 시작 기록 전일 수 있음 → 그보다 많이 남았으면 대기 중인 분석 작업이 있었음
+        if (notStarted > SLOTS) {
+            backgroundStartedWhileAnalysisQueued.incrementAndGet();
+        }
+        backgroundPeak.accumulateAndGet(backgroundRunning.incrementAndGet(), Math::max);
+        try {
+            backgroundGate.get(30, TimeUnit.SECONDS);
+            Thread.sleep(TASK_MILLIS);
+        } finally {
+            backgroundRunning.decrementAndGet();
+        }
+        return null;
+    }
+
+    private List<String> snapshot() {
+        synchronized (analysisStarts) {
+            return new ArrayList<>(analysisStarts);
+        }
+    }
+
+    private static void waitUntil(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (!condition.getAsBoolean()) {
+            assertTrue(System.nanoTime() < deadline, "조건 대기 시간 초과");
+            Thread.sleep(1);
+        }
+    }
+}
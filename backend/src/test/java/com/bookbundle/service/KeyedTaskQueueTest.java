@@ -0,0 +1,134 @@
+package com.bookbundle.service;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 키별 백그라운드 작업 대기열: 같은 키 한 번만 실행, 동시 실행 수 제한, 대기열 초과/오래 기다린 작업 버림
+ */
+class KeyedTaskQueueTest {
+
+    private final ExecutorService executor = Executors.newFixedThreadPool(4);
+    private final CrawlScheduler scheduler = new CrawlScheduler(executor, 4);
+
+    private final CompletableFuture<Void> gate = new CompletableFuture<>();
+    private final AtomicInteger running = new AtomicInteger();
+    private final AtomicInteger peak = new AtomicInteger();
+    private final AtomicInteger executions = new AtomicInteger();
+
+    @AfterEach
+    void shutdown() {
+        gate.complete(null);
+        executor.shutdownNow();
+    }
+
+    @Test
+    void runsEachKeyOnceWithinInFlightLimit() throws Exception {
+        KeyedTaskQueue<String> queue = new KeyedTaskQueue<>("테스트", scheduler, 2, 10, null);
+        List<CompletableFuture<String>> results = new ArrayList<>();
+        for (int i = 0; i < 6; i++) {
+            String key = "k" + i;
+            results.add(queue.submit(key, 0, () -> work(key)));
+        }
+        // 대기/실행 중인 키는 새로 등록하지 않고 같은 결과
+        assertSame(results.get(0), queue.<String>submit("k0", 0, () -> work("중복")));
+        assertSame(results.get(5), queue.<String>submit("k5", 0, () -> work("중복")));
+        assertEquals(6, queue.size());
+
+        waitUntilRunning(2);
+        gate.complete(null);
+        for (int i = 0; i < 6; i++) {
+            assertEquals("k" + i, results.get(i).get(10, TimeUnit.SECONDS));
+        }
+        assertEquals(6, executions.get());
+        assertEquals(2, peak.get());
+        waitUntil(queue, 0);
+        assertFalse(queue.contains("k0"));
+    }
+
+    @Test
+    void dropsOldestPendingWhenFull() throws Exception {
+        KeyedTaskQueue<String> queue = new KeyedTaskQueue<>("테스트", scheduler, 1, 2, null);
+        CompletableFuture<String> first = queue.submit("running", 0, () -> work("running"));
+        CompletableFuture<String> oldest = queue.submit("a", 0, () -> work("a"));
+        CompletableFuture<String> newer = queue.submit("b", 0, () -> work("b"));
+        CompletableFuture<String> newest = queue.submit("c", 0, () -> work("c"));
+
+        assertTrue(oldest.isCancelled());
+        assertFalse(queue.contains("a"));
+
+        gate.complete(null);
+        assertEquals("running", first.get(10, TimeUnit.SECONDS));
+        assertEquals("b", newer.get(10, TimeUnit.SECONDS));
+        assertEquals("c", newest.get(10, TimeUnit.SECONDS));
+        assertEquals(3, executions.get());
+    }
+
+    @Test
+    void skipsTasksThatWaitedLongerThanMaxAge() throws Exception {
+        KeyedTaskQueue<String> queue = new KeyedTaskQueue<>("테스트", scheduler, 1, 10, Duration.ofMillis(20));
+        CompletableFuture<String> first = queue.submit("running", 0, () -> work("running"));
+        CompletableFuture<String> stale = queue.submit("stale", 0, () -> work("stale"));
+
+        Thread.sleep(50);
+        gate.complete(null);
+        assertEquals("running", first.get(10, TimeUnit.SECONDS));
+        waitUntil(queue, 0);
+        assertTrue(stale.isCancelled());
+        assertEquals(1, executions.get());
+    }
+
+    @Test
+    void cancelDropsPendingAndLaterSubmissions() throws Exception {
+        KeyedTaskQueue<String> queue = new KeyedTaskQueue<>("테스트", scheduler, 1, 10, null);
+        CompletableFuture<String> first = queue.submit("running", 0, () -> work("running"));
+        CompletableFuture<String> waiting = queue.submit("waiting", 0, () -> work("waiting"));
+        waitUntilRunning(1);
+
+        queue.cancel();
+        assertTrue(waiting.isCancelled());
+        // 실행 중인 작업은 인터럽트되어 취소로 완료
+        assertThrows(Exception.class, () -> first.get(10, TimeUnit.SECONDS));
+        assertTrue(first.isCancelled());
+        assertTrue(queue.submit("later", 0, () -> work("later")).isCancelled());
+    }
+
+    private String work(String value) throws Exception {
+        executions.incrementAndGet();
+        peak.accumulateAndGet(running.incrementAndGet(), Math::max);
+        try {
+            gate.get(10, TimeUnit.SECONDS);
+            return value;
+        } finally {
+            running.decrementAndGet();
+        }
+    }
+
+    private void waitUntilRunning(int count) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (running.get() < count) {
+            assertTrue(System.nanoTime() < deadline, "작업 시작 대기 시간 초과");
+            Thread.sleep(1);
+        }
+    }
+
+    private static void waitUntil(KeyedTaskQueue<?> queue, int size) throws InterruptedException {
+        // 결과 전달 뒤에 키를 빼므로 결과를 받은 직후에는 아직 남아 있을 수 있음
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (queue.size() != size) {
+            assertTrue(System.nanoTime() < deadline, "대기열 정리 대기 시간 초과");
+            Thread.sleep(1);
+        }
+    }
+}
@@ -0,0 +1,105 @@
+package com.bookbundle.service;
+
+import com.bookbundle.dto.BookItem;
+import com.bookbundle.dto.SellerInfo;
+import com.bookbundle.dto.SellerInfo.SellerBookItem;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 판매자 1명의 Phase 3 검증: 미확인 책 검색 횟수 제한
+ */
+class SellerVerificationTest {
+
+    // application.yml의 bundle.seller-stats.min-probe-probability
+    private static final double MIN_PROBE_PROBABILITY = 0.05;
+
+    @Test
+    void coldSellerWithoutHitsStopsWithinMissCap() {
+        // 기록 없는 판매자: 전체 사전 적중률 2/10 x 판매자 사전 가중치 3
+        assertProbesWithoutHits(new SellerHitStatistics.HitEstimate(0.6, 2.4));
+        // 장바구니와 많이 겹치는 판매자 (겹침 보정 2배)
+        assertProbesWithoutHits(new SellerHitStatistics.HitEstimate(1.2, 1.8));
+    }
+
+    @Test
+    void pendingProbesCountTowardMissCap() {
+        // 결과를 늦게 받는 검색: 동시에 등록된 검색이 모두 못 찾아도 최대 수를 넘지 않음
+        List<CompletableFuture<Optional<SellerBookItem>>> checks = new ArrayList<>();
+        AtomicInteger probes = new AtomicInteger();
+        SellerVerification verification = new SellerVerification(
+                seller(), books(20), books(20), new SellerHitStatistics.HitEstimate(2.7, 0.3), MIN_PROBE_PROBABILITY,
+                (book, probe, hitProbability) -> {
+                    CompletableFuture<Optional<SellerBookItem>> check = new CompletableFuture<>();
+                    checks.add(check);
+                    probes.incrementAndGet();
+                    return check;
+                },
+                upperBound -> true);
+        CompletableFuture<SellerVerification> done = verification.start(List.of(), List.of());
+
+        while (!done.isDone()) {
+            List<CompletableFuture<Optional<SellerBookItem>>> wave = new ArrayList<>(checks);
+            checks.clear();
+            assertFalse(wave.isEmpty());
+            wave.forEach(check -> check.complete(Optional.empty()));
+        }
+        assertEquals(SellerVerification.MAX_PROBE_MISSES, probes.get());
+        assertTrue(verification.getFoundBooks().isEmpty());
+    }
+
+    @Test
+    void hitsKeepProbingUntilMissCap() {
+        // 찾은 검색은 제한에 세지 않음: 3권 찾고 3권 못 찾으면 중단
+        AtomicInteger probes = new AtomicInteger();
+        SellerVerification verification = new SellerVerification(
+                seller(), books(20), books(20), new SellerHitStatistics.HitEstimate(2.7, 0.3), MIN_PROBE_PROBABILITY,
+                (book, probe, hitProbability) -> {
+                    boolean hit = probes.incrementAndGet() % 2 == 1;
+                    return CompletableFuture.completedFuture(hit
+                            ? Optional.of(SellerBookItem.builder().itemId(book.getItemId()).price(1000).quality("상").build())
+                            : Optional.empty());
+                },
+                upperBound -> true);
+        verification.start(List.of(), List.of()).join();
+
+        assertEquals(SellerVerification.MAX_PROBE_MISSES * 2, probes.get());
+        assertEquals(SellerVerification.MAX_PROBE_MISSES, verification.getFoundBooks().size());
+    }
+
+    private void assertProbesWithoutHits(SellerHitStatistics.HitEstimate estimate) {
+        AtomicInteger probes = new AtomicInteger();
+        SellerVerification verification = new SellerVerification(
+                seller(), books(30), books(30), estimate, MIN_PROBE_PROBABILITY,
+                (book, probe, hitProbability) -> {
+                    assertTrue(probe);
+                    probes.incrementAndGet();
+                    return CompletableFuture.completedFuture(Optional.empty());
+                },
+                upperBound -> true);
+
+        SellerVerification result = verification.start(List.of(), List.of()).join();
+        assertEquals(SellerVerification.MAX_PROBE_MISSES, probes.get(), "estimate=" + estimate);
+        assertTrue(result.isComplete());
+        assertTrue(result.getFoundBooks().isEmpty());
+    }
+
+    private static SellerInfo seller() {
+        return SellerInfo.builder().sellerCode("1").sellerName("seller1").books(new ArrayList<>()).build();
+    }
+
+    private static List<BookItem> books(int count) {
+        return LongStream.rangeClosed(1, count)
+                .mapToObj(id -> BookItem.builder().itemId(id).title("책" + id).build())
+                .collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,252 @@
+package com.bookbundle.service;
+
+import com.bookbundle.dto.BookItem;
+import com.bookbundle.dto.SellerInfo;
+import com.bookbundle.dto.SellerInfo.SellerBookItem;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.PriorityQueue;
+import java.util.Random;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 상위 K명 최소 힙 조기 종료: 전체 판매자를 끝까지 검증해 정렬한 결과와 같은 상위 K명
+ */
+class TopKSellersTest {
+
+    // application.yml의 bundle.seller-stats.min-probe-probability
+    private static final double MIN_PROBE_PROBABILITY = 0.05;
+
+    private static final SellerHitStatistics.HitEstimate LIKELY_HIT = new SellerHitStatistics.HitEstimate(2.7, 0.3);
+    private static final SellerHitStatistics.HitEstimate UNLIKELY_HIT = new SellerHitStatistics.HitEstimate(0.1, 9.9);
+
+    @Test
+    void tiedCountIsDecidedByCostFoundInPhase3() {
+        List<BookItem> books = books(3);
+        Map<Long, Integer> latencies = Map.of(1L, 5, 2L, 5, 3L, 5);
+        // A: Phase 1에서 3권 모두 가격 확인 (즉시 12,000원으로 1위)
+        Candidate a = new Candidate("A", 0, LIKELY_HIT, listed(books, 4000), List.of(), List.of(), Map.of(), Map.of());
+        // B: 3권 모두 Phase 1 목록에만 있고 가격은 상세 검증 뒤에 확정 (9,000원)
+        // → 권수 상한이 A와 같으므로 중단하면 안 됨
+        Candidate b = new Candidate("B", 0, LIKELY_HIT, List.of(), books, List.of(),
+                found(books, 3000), latencies);
+        // C: 1권 확인 + 미확인 2권 동시 검색 → 먼저 끝난 검색이 못 찾으면 상한이 2권으로 줄어 남은 검색 취소
+        Candidate c = new Candidate("C", 0, LIKELY_HIT, listed(books.subList(0, 1), 1000), List.of(), books.subList(1, 3),
+                Map.of(2L, Optional.empty(), 3L, Optional.empty()), Map.of(2L, 1, 3L, 10));
+
+        Outcome outcome = simulate(books, List.of(a, b, c), 1, true);
+
+        assertEquals(List.of("B"), codes(outcome.topSellers()));
+        assertEquals(9000, outcome.topSellers().get(0).getTotalCost());
+        assertEquals(List.of("C"), outcome.prunedCodes());
+    }
+
+    @Test
+    void prunedRankingMatchesExhaustiveRanking() {
+        int prunedSellers = 0;
+        int costTies = 0;
+        for (long seed = 0; seed < 300; seed++) {
+            Random random = new Random(seed);
+            List<BookItem> books = books(4 + random.nextInt(7));
+            List<Candidate> candidates = candidates(books, 3 + random.nextInt(12), random);
+            int k = 1 + random.nextInt(4);
+
+            Outcome pruned = simulate(books, candidates, k, true);
+            Outcome exhaustive = simulate(books, candidates, k, false);
+            assertTrue(exhaustive.prunedCodes().isEmpty());
+
+            List<SellerInfo> expected = exhaustive.verifiedSellers().stream()
+                    .sorted(TopKSellers.RANKING)
+                    .limit(k)
+                    .collect(Collectors.toList());
+
+            // 순위가 완전히 같은 판매자끼리는 어느 쪽이 남아도 같은 결과
+            assertEquals(rankKeys(expected), rankKeys(pruned.topSellers()), "seed=" + seed);
+
+            // 조기 종료로 남은 판매자도 끝까지 검증한 것과 같은 책/가격
+            Map<String, SellerInfo> exhaustiveByCode = exhaustive.verifiedSellers().stream()
+                    .collect(Collectors.toMap(SellerInfo::getSellerCode, seller -> seller));
+            for (SellerInfo seller : pruned.topSellers()) {
+                SellerInfo full = exhaustiveByCode.get(seller.getSellerCode());
+                assertEquals(full.getBooks(), seller.getBooks(), "seed=" + seed + ", seller=" + seller.getSellerCode());
+                assertEquals(full.getTotalCost(), seller.getTotalCost());
+            }
+
+            prunedSellers += pruned.prunedCodes().size();
+            for (int i = 1; i < expected.size(); i++) {
+                if (TopKSellers.RANKING.compare(expected.get(i - 1), expected.get(i)) == 0) costTies++;
+            }
+        }
+        // 조기 종료와 동점이 실제로 일어난 경우를 포함해 비교했는지
+        assertTrue(prunedSellers > 100, "pruned=" + prunedSellers);
+        assertTrue(costTies > 10, "ties=" + costTies);
+    }
+
+    /**
+     * 판매자 후보 1명 (Phase 1 분류 + 상세 검증 결과와 응답 시간)
+     */
+    private record Candidate(String code, int shippingFee, SellerHitStatistics.HitEstimate hitEstimate,
+                             List<SellerBookItem> listed, List<BookItem> confirmed, List<BookItem> unknown,
+                             Map<Long, Optional<SellerBookItem>> results, Map<Long, Integer> latencies) {
+
+        int phase1Count() {
+            return listed.size() + confirmed.size();
+        }
+    }
+
+    private record Outcome(List<SellerInfo> topSellers, List<SellerInfo> verifiedSellers, List<String> prunedCodes) {
+    }
+
+    // 검색 완료 예정 (완료 시각 -> 등록 순서)
+    private record PendingCheck(long completesAt, long sequence, CompletableFuture<Optional<SellerBookItem>> future,
+                                Optional<SellerBookItem> result) {
+    }
+
+    /**
+     * BookBundleService.verifySellerBooks와 같은 순서로 검증 (검색은 판매자-책마다 정해진 시간 뒤 완료)
+     * 판매자마다 자기 검색의 완료 순서가 고정되므로, 조기 종료 여부와 관계없이 끝까지 검증한 판매자는 같은 결과
+     *
+     * @param pruning false면 상한과 관계없이 모든 판매자를 끝까지 검증
+     */
+    private static Outcome simulate(List<BookItem> books, List<Candidate> candidates, int k, boolean pruning) {
+        TopKSellers topSellers = new TopKSellers(k);
+        List<SellerVerification> verifications = new ArrayList<>();
+        List<SellerInfo> verifiedSellers = new ArrayList<>();
+        PriorityQueue<PendingCheck> pending = new PriorityQueue<>(Comparator
+                .comparingLong(PendingCheck::completesAt)
+                .thenComparingLong(PendingCheck::sequence));
+        long[] clock = {0};
+        long[] sequence = {0};
+
+        List<Candidate> ordered = candidates.stream()
+                .sorted(Comparator.comparingInt(Candidate::phase1Count).reversed())
+                .collect(Collectors.toList());
+        for (Candidate candidate : ordered) {
+            SellerInfo seller = SellerInfo.builder()
+                    .sellerCode(candidate.code())
+                    .books(new ArrayList<>())
+                    .build();
+            SellerVerification verification = new SellerVerification(
+                    seller,
+                    books,
+                    candidate.unknown(),
+                    candidate.hitEstimate(),
+                    MIN_PROBE_PROBABILITY,
+                    (book, probe, hitProbability) -> {
+                        CompletableFuture<Optional<SellerBookItem>> check = new CompletableFuture<>();
+                        pending.add(new PendingCheck(clock[0] + candidate.latencies().get(book.getItemId()),
+                                sequence[0]++, check, candidate.results().get(book.getItemId())));
+                        return check;
+                    },
+                    pruning ? topSellers::canEnter : upperBound -> true);
+            verifications.add(verification);
+
+            verification.start(candidate.confirmed(), candidate.listed()).thenAccept(v -> {
+                List<SellerBookItem> found = v.getFoundBooks();
+                if (!found.isEmpty()) {
+                    int totalPrice = found.stream().mapToInt(SellerBookItem::getPrice).sum();
+                    seller.setBooks(found);
+                    seller.setTotalBookCount(found.size());
+                    seller.setTotalPrice(totalPrice);
+                    seller.setTotalCost(totalPrice + candidate.shippingFee());
+                    topSellers.offer(seller);
+                    verifiedSellers.add(seller);
+                }
+                verifications.forEach(SellerVerification::evaluate);
+            });
+        }
+
+        while (!pending.isEmpty()) {
+            PendingCheck check = pending.poll();
+            clock[0] = check.completesAt();
+            check.future().complete(check.result());
+        }
+
+        List<String> prunedCodes = new ArrayList<>();
+        for (SellerVerification verification : verifications) {
+            assertTrue(verification.isPruned() || verification.isComplete(), verification.getSeller().getSellerCode());
+            if (verification.isPruned()) {
+                prunedCodes.add(verification.getSeller().getSellerCode());
+            }
+        }
+        return new Outcome(topSellers.toSortedList(), verifiedSellers, prunedCodes);
+    }
+
+    /**
+     * 무작위 후보 (가격/배송비 종류를 적게 두어 권수와 총액이 모두 같은 판매자가 자주 나오게)
+     */
+    private static List<Candidate> candidates(List<BookItem> books, int count, Random random) {
+        List<Candidate> candidates = new ArrayList<>();
+        for (int s = 0; s < count; s++) {
+            List<SellerBookItem> listed = new ArrayList<>();
+            List<BookItem> confirmed = new ArrayList<>();
+            List<BookItem> unknown = new ArrayList<>();
+            Map<Long, Optional<SellerBookItem>> results = new HashMap<>();
+            Map<Long, Integer> latencies = new HashMap<>();
+
+            for (BookItem book : books) {
+                int price = 1000 * (3 + random.nextInt(3));
+                SellerBookItem item = item(book, price);
+                latencies.put(book.getItemId(), 1 + random.nextInt(20));
+                int kind = random.nextInt(10);
+                if (kind < 3) {
+                    listed.add(item);
+                } else if (kind < 6) {
+                    // Phase 1 목록에는 있지만 상세 검증에서 못 찾을 수도 있음 (품절 등)
+                    confirmed.add(book);
+                    results.put(book.getItemId(), random.nextInt(5) == 0 ? Optional.empty() : Optional.of(item));
+                } else {
+                    unknown.add(book);
+                    results.put(book.getItemId(), random.nextInt(3) == 0 ? Optional.of(item) : Optional.empty());
+                }
+            }
+            candidates.add(new Candidate("S" + s, random.nextBoolean() ? 0 : 2500,
+                    random.nextInt(4) == 0 ? UNLIKELY_HIT : LIKELY_HIT,
+                    listed, confirmed, unknown, results, latencies));
+        }
+        return candidates;
+    }
+
+    private static List<String> rankKeys(List<SellerInfo> sellers) {
+        return sellers.stream()
+                .map(seller -> seller.getTotalBookCount() + "권/" + seller.getTotalCost() + "원")
+                .collect(Collectors.toList());
+    }
+
+    private static List<String> codes(List<SellerInfo> sellers) {
+        return sellers.stream().map(SellerInfo::getSellerCode).collect(Collectors.toList());
+    }
+
+    private static List<SellerBookItem> listed(List<BookItem> books, int price) {
+        return books.stream().map(book -> item(book, price)).collect(Collectors.toList());
+    }
+
+    private static Map<Long, Optional<SellerBookItem>> found(List<BookItem> books, int price) {
+        return books.stream().collect(Collectors.toMap(BookItem::getItemId, book -> Optional.of(item(book, price))));
+    }
+
+    private static SellerBookItem item(BookItem book, int price) {
+        return SellerBookItem.builder()
+                .itemId(book.getItemId())
+                .title(book.getTitle())
+                .quality("상")
+                .price(price)
+                .build();
+    }
+
+    private static List<BookItem> books(int count) {
+        return LongStream.rangeClosed(1, count)
+                .mapToObj(id -> BookItem.builder().itemId(id).title("책" + id).build())
+                .collect(Collectors.toList());
+    }
+}
@@ -18,6 +18,30 @@ if (window.location.href.includes('aladin.co.kr/shop/wbasket.aspx')) {
 function extractCartItems() {
   const items = [];
   
+  // popup.js가 executeScript로 이 함수만 주입하므로 보조 함수도 안에 둠
+  // 장바구니 행의 "중고 모두보기" 링크(원본 책의 판매 목록)가 가리키는 ItemId (없으면 null)
+  // 다른 상품 링크(추천, 같은 저자 등)는 원본이 아닐 수 있으므로 보지 않음
+  function findOriginalItemId(row, itemId) {
+    const links = row.querySelectorAll('a[href*="wuseditemall.aspx"][href*="ItemId="]');
+    for (const link of links) {
+      const match = link.getAttribute('href').match(/ItemId=(\d+)/i);
+      if (match && match[1] !== itemId) {
+        return parseInt(match[1]);
+      }
+    }
+    return null;
+  }
+
+  // 체크박스 속성이나 행 안 링크의 ISBN (13자리만, 없으면 null)
+  function findIsbn13(row, checkbox) {
+    const candidates = [checkbox.getAttribute('isbn13'), checkbox.getAttribute('isbn')];
+    row.querySelectorAll('a[href*="ISBN="]').forEach(link => {
+      const match = link.getAttribute('href').match(/ISBN=(\d{13})/i);
+      if (match) candidates.push(match[1]);
+    });
+    return candidates.find(value => value && /^97[89]\d{10}$/.test(value)) || null;
+  }
+  
   // 모든 장바구니 체크박스 선택
   const checkboxes = document.querySelectorAll('input.ShopCode_Basket_Check.basket_CheckBox');
   
@@ -40,6 +64,10 @@ function extractCartItems() {
     const quality = qualityMatch ? qualityMatch[1] : '상';
     const title = fullTitle.replace(/\[중고-[^\]]+\]\s*/, '').trim();
     
+    // 원본 책 ID / ISBN (장바구니 행에 있으면 함께 전달 → 서버의 상품 페이지 조회 생략)
+    const originalItemId = findOriginalItemId(row, itemId);
+    const isbn13 = findIsbn13(row, checkbox);
+    
     // 표지 이미지
     const coverImg = row.querySelector('img[src*="aladin.co.kr/product"]');
     let cover = coverImg?.getAttribute('src') || '';
@@ -51,6 +79,8 @@ function extractCartItems() {
     
     items.push({
       itemId: parseInt(itemId),
+      originalItemId,
+      isbn13,
       title,
       quality,       // 최상, 상, 중
       price,
@@ -1,6 +1,9 @@
 // 북번들 웹앱 URL
 const BOOKBUNDLE_URL = 'http://localhost:5173';
 
+// 북번들 백엔드 API URL (장바구니 미리 조회)
+const BOOKBUNDLE_API_URL = 'http://localhost:8080/api';
+
 // DOM 요소
 const statusEl = document.getElementById('status');
 const statusIconEl = statusEl.querySelector('.status-icon');
@@ -88,6 +91,7 @@ extractBtn.addEventListener('click', async () => {
       extractedBooks = results[0].result;
       
       if (extractedBooks.length > 0) {
+        prefetchCart(extractedBooks);
         displayBooks(extractedBooks);
         setStatus('success', 'success', `${extractedBooks.length}권의 책을 찾았습니다`);
         sendBtn.style.display = 'flex';
@@ -107,6 +111,16 @@ extractBtn.addEventListener('click', async () => {
   }
 });
 
+// 장바구니 미리 조회 요청 (분석 전에 판매자 목록을 받아 두도록, 실패해도 분석에는 영향 없음)
+function prefetchCart(books) {
+  const itemIds = books.slice(0, 50).map(book => book.itemId);
+  fetch(`${BOOKBUNDLE_API_URL}/bundle/prefetch`, {
+    method: 'POST',
+    headers: { 'Content-Type': 'application/json' },
+    body: JSON.stringify({ itemIds })
+  }).catch(error => console.warn('[북번들] 미리 조회 요청 실패:', error));
+}
+
 // 책 목록 표시
 function displayBooks(books) {
   bookCountEl.textContent = books.length;
@@ -167,6 +181,30 @@ sendBtn.addEventListener('click', async () => {
 function extractCartItems() {
   const items = [];
   
+  // popup.js가 executeScript로 이 함수만 주입하므로 보조 함수도 안에 둠
+  // 장바구니 행의 "중고 모두보기" 링크(원본 책의 판매 목록)가 가리키는 ItemId (없으면 null)
+  // 다른 상품 링크(추천, 같은 저자 등)는 원본이 아닐 수 있으므로 보지 않음
+  function findOriginalItemId(row, itemId) {
+    const links = row.querySelectorAll('a[href*="wuseditemall.aspx"][href*="ItemId="]');
+    for (const link of links) {
+      const match = link.getAttribute('href').match(/ItemId=(\d+)/i);
+      if (match && match[1] !== itemId) {
+        return parseInt(match[1]);
+      }
+    }
+    return null;
+  }
+
+  // 체크박스 속성이나 행 안 링크의 ISBN (13자리만, 없으면 null)
+  function findIsbn13(row, checkbox) {
+    const candidates = [checkbox.getAttribute('isbn13'), checkbox.getAttribute('isbn')];
+    row.querySelectorAll('a[href*="ISBN="]').forEach(link => {
+      const match = link.getAttribute('href').match(/ISBN=(\d{13})/i);
+      if (match) candidates.push(match[1]);
+    });
+    return candidates.find(value => value && /^97[89]\d{10}$/.test(value)) || null;
+  }
+  
   // 모든 장바구니 체크박스 선택
   const checkboxes = document.querySelectorAll('input.ShopCode_Basket_Check.basket_CheckBox');
   
@@ -189,6 +227,10 @@ function extractCartItems() {
     const quality = qualityMatch ? qualityMatch[1] : '상';
     const title = fullTitle.replace(/\[중고-[^\]]+\]\s*/, '').trim();
     
+    // 원본 책 ID / ISBN (장바구니 행에 있으면 함께 전달 → 서버의 상품 페이지 조회 생략)
+    const originalItemId = findOriginalItemId(row, itemId);
+    const isbn13 = findIsbn13(row, checkbox);
+    
     // 표지 이미지
     const coverImg = row.querySelector('img[src*="aladin.co.kr/product"]');
     let cover = coverImg?.getAttribute('src') || '';
@@ -200,6 +242,8 @@ function extractCartItems() {
     
     items.push({
       itemId: parseInt(itemId),
+      originalItemId,
+      isbn13,
       title,
       quality,       // 최상, 상, 중
       price,
@@ -1,12 +1,14 @@
-import { useState, useEffect, useCallback } from 'react';
+import { useState, useEffect, useCallback, useRef } from 'react';
 import { BookSearch, BookList, BundleResultView } from './components';
 import type { BookItem, BundleResult, Quality } from './types';
-import { analyzeBundle } from './api/bookApi';
+import { analyzeBundle, cancelAnalysis } from './api/bookApi';
 import './App.css';
 
 // 확장에서 전달받은 책 데이터 타입
 interface ExtensionBookData {
   itemId: number;
+  originalItemId?: number | null;
+  isbn13?: string | null;
   title: string;
   quality: string;
   price: number;
@@ -27,6 +29,18 @@ function App() {
   const [showScrollTop, setShowScrollTop] = useState(false);
   const [hasSearchResults, setHasSearchResults] = useState(false);
   const [searchResetKey, setSearchResetKey] = useState(0);
+  const analyzeAbortRef = useRef<AbortController | null>(null);
+
+  // 탭을 닫거나 떠날 때 진행 중인 분석 취소 (서버 크롤링 중단)
+  useEffect(() => {
+    const handlePageHide = () => {
+      if (analyzeAbortRef.current) {
+        cancelAnalysis();
+      }
+    };
+    window.addEventListener('pagehide', handlePageHide);
+    return () => window.removeEventListener('pagehide', handlePageHide);
+  }, []);
 
   // 스크롤 위치 감지
   useEffect(() => {
@@ -49,6 +63,8 @@ function App() {
   const convertExtensionData = useCallback((data: ExtensionBookData[]): BookItem[] => {
     return data.map((item) => ({
       itemId: item.itemId,
+      originalItemId: item.originalItemId ?? undefined,
+      isbn13: item.isbn13 ?? undefined,
       title: item.title,
       cover: item.cover,
       priceStandard: item.price,
@@ -114,18 +130,28 @@ function App() {
 
   const handleAnalyze = async () => {
     if (books.length < 2) return;
+    
+    // 이전 분석 응답은 더 이상 필요 없음 (서버 쪽은 같은 clientId의 새 요청으로 중단됨)
+    analyzeAbortRef.current?.abort();
+    const controller = new AbortController();
+    analyzeAbortRef.current = controller;
+    
     setIsAnalyzing(true);
     setError(null);
     setBundleResult(null);
     
     try {
-      const result = await analyzeBundle({ books });
+      const result = await analyzeBundle({ books }, controller.signal);
       setBundleResult(result);
     } catch (err) {
+      if (controller.signal.aborted) return;
       setError('분석에 실패했습니다. 백엔드 서버가 실행 중인지 확인해주세요.');
       console.error(err);
     } finally {
-      setIsAnalyzing(false);
+      if (analyzeAbortRef.current === controller) {
+        analyzeAbortRef.current = null;
+        setIsAnalyzing(false);
+      }
     }
   };
 
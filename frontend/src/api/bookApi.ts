@@ -1,13 +1,14 @@
-import type { BookSearchResult, BundleRequest, BundleResult } from '../types';
+import type { BookSearchPage, BookSearchResult, BundleRequest, BundleResult } from '../types';
 
 const API_BASE_URL = 'http://localhost:8080/api';
 
 /**
- * 책 검색
+ * 책 검색 (cursor: 이전 페이지의 nextCursor, 없으면 처음부터)
  */
-export async function searchBooks(keyword: string): Promise<BookSearchResult[]> {
+export async function searchBooks(keyword: string, cursor?: string | null): Promise<BookSearchPage> {
+  const cursorParam = cursor ? `&cursor=${encodeURIComponent(cursor)}` : '';
   const response = await fetch(
-    `${API_BASE_URL}/books/search?keyword=${encodeURIComponent(keyword)}`
+    `${API_BASE_URL}/books/search?keyword=${encodeURIComponent(keyword)}${cursorParam}`
   );
   
   if (!response.ok) {
@@ -17,18 +18,58 @@ export async function searchBooks(keyword: string): Promise<BookSearchResult[]>
   return response.json();
 }
 
+/**
+ * 검색 결과 보강 (중고 판매자 수, 중고 최저가)
+ * 서버가 백그라운드로 조회 중인 책은 끝날 때까지 기다렸다가 응답 (끝나지 않은 책은 빠짐)
+ */
+export async function getSearchEnrichment(itemIds: number[]): Promise<BookSearchResult[]> {
+  const response = await fetch(
+    `${API_BASE_URL}/books/enrichment?itemIds=${itemIds.join(',')}`
+  );
+  
+  if (!response.ok) {
+    throw new Error('검색 결과 보강에 실패했습니다');
+  }
+  
+  return response.json();
+}
+
+const CLIENT_ID_KEY = 'bookbundle-client-id';
+
+/**
+ * 탭별 클라이언트 식별자 (같은 탭의 이전 분석을 서버에서 중단하는 데 사용)
+ */
+function getClientId(): string {
+  let clientId = sessionStorage.getItem(CLIENT_ID_KEY);
+  if (!clientId) {
+    clientId = crypto.randomUUID();
+    sessionStorage.setItem(CLIENT_ID_KEY, clientId);
+  }
+  return clientId;
+}
+
 /**
  * 북번들 분석
+ * 같은 탭에서 새 분석을 요청하면 서버가 이전 분석을 중단함
  */
-export async function analyzeBundle(request: BundleRequest): Promise<BundleResult> {
+export async function analyzeBundle(request: BundleRequest, signal?: AbortSignal): Promise<BundleResult> {
   const response = await fetch(`${API_BASE_URL}/bundle/analyze`, {
     method: 'POST',
     headers: {
       'Content-Type': 'application/json',
     },
-    body: JSON.stringify(request),
+    body: JSON.stringify({ clientId: getClientId(), ...request }),
+    signal,
   });
   
+  if (response.status === 503) {
+    // 서버가 바쁘면 Retry-After(초) 후 재시도 권장 (응답 시간 초과 시에는 헤더 없음)
+    const retryAfter = response.headers.get('Retry-After');
+    throw new Error(retryAfter
+      ? `요청이 많아 분석을 시작하지 못했습니다. ${retryAfter}초 후 다시 시도해주세요`
+      : '북번들 분석 시간이 초과되었습니다');
+  }
+  
   if (!response.ok) {
     throw new Error('북번들 분석에 실패했습니다');
   }
@@ -36,6 +77,14 @@ export async function analyzeBundle(request: BundleRequest): Promise<BundleResul
   return response.json();
 }
 
+/**
+ * 진행 중인 북번들 분석 취소
+ * 탭을 닫는 중에도 전송되도록 sendBeacon 사용
+ */
+export function cancelAnalysis(): void {
+  navigator.sendBeacon(`${API_BASE_URL}/bundle/analyze/${encodeURIComponent(getClientId())}/cancel`);
+}
+
 /**
  * 헬스 체크
  */
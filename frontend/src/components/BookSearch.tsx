@@ -1,6 +1,6 @@
-import { useState } from 'react';
+import { useRef, useState } from 'react';
 import type { BookSearchResult, BookItem, Quality } from '../types';
-import { searchBooks } from '../api/bookApi';
+import { getSearchEnrichment, searchBooks } from '../api/bookApi';
 
 interface BookSearchProps {
   onAddBook: (book: BookItem) => void;
@@ -15,19 +15,52 @@ export function BookSearch({ onAddBook, selectedBookIds, compact = false, onSear
   const [isLoading, setIsLoading] = useState(false);
   const [error, setError] = useState<string | null>(null);
   const [showResults, setShowResults] = useState(false);
+  // 다음 페이지 커서 (마지막 페이지면 null), 검색한 검색어 (더 보기는 입력창이 바뀌어도 같은 검색어로)
+  const [nextCursor, setNextCursor] = useState<string | null>(null);
+  const [searchedKeyword, setSearchedKeyword] = useState('');
+  const [isLoadingMore, setIsLoadingMore] = useState(false);
+  // 마지막 검색 번호 (이전 검색의 보강 결과가 늦게 도착하면 무시)
+  const searchSeq = useRef(0);
+
+  /**
+   * 중고 최저가가 비어 있는 결과를 보강 결과로 채움 (실패해도 검색 결과는 그대로)
+   */
+  const enrichResults = async (results: BookSearchResult[], seq: number) => {
+    const itemIds = results
+      .filter((book) => book.usedMinPrice == null && book.usedCount !== 0)
+      .map((book) => book.itemId);
+    if (itemIds.length === 0) return;
+    
+    try {
+      const enrichment = await getSearchEnrichment(itemIds);
+      if (seq !== searchSeq.current) return;
+      
+      const byId = new Map(enrichment.map((e) => [e.itemId, e]));
+      setSearchResults((current) => current.map((book) => {
+        const e = byId.get(book.itemId);
+        return e ? { ...book, usedCount: book.usedCount ?? e.usedCount, usedMinPrice: e.usedMinPrice } : book;
+      }));
+    } catch (err) {
+      console.error(err);
+    }
+  };
 
   const handleSearch = async () => {
     if (!keyword.trim()) return;
     
+    const seq = ++searchSeq.current;
     setIsLoading(true);
     setError(null);
     onSearchStateChange?.(true); // 검색 시작 시 바로 검색창 위로 올리기
     
     try {
-      const results = await searchBooks(keyword);
-      setSearchResults(results);
+      const page = await searchBooks(keyword);
+      setSearchResults(page.items);
+      setNextCursor(page.nextCursor);
+      setSearchedKeyword(keyword);
       setShowResults(true);
-      onSearchStateChange?.(results.length > 0);
+      onSearchStateChange?.(page.items.length > 0);
+      enrichResults(page.items, seq);
     } catch (err) {
       setError('검색에 실패했습니다. 서버 연결을 확인해주세요.');
       console.error(err);
@@ -37,6 +70,43 @@ export function BookSearch({ onAddBook, selectedBookIds, compact = false, onSear
     }
   };
 
+  /**
+   * 다음 페이지 결과를 이어 붙임 (서버가 미리 조회해 두므로 대부분 바로 응답)
+   */
+  const handleLoadMore = async () => {
+    if (!nextCursor || isLoadingMore) return;
+    
+    const seq = searchSeq.current;
+    setIsLoadingMore(true);
+    try {
+      const page = await searchBooks(searchedKeyword, nextCursor);
+      if (seq !== searchSeq.current) return;
+      
+      setSearchResults((current) => {
+        const seen = new Set(current.map((book) => book.itemId));
+        return [...current, ...page.items.filter((book) => !seen.has(book.itemId))];
+      });
+      setNextCursor(page.nextCursor);
+      enrichResults(page.items, seq);
+    } catch (err) {
+      console.error(err);
+    } finally {
+      setIsLoadingMore(false);
+    }
+  };
+
+  const loadMoreButton = nextCursor && (
+    <div className="p-3 text-center">
+      <button
+        onClick={handleLoadMore}
+        disabled={isLoadingMore}
+        className="apple-button apple-button-secondary apple-button-small"
+      >
+        {isLoadingMore ? '불러오는 중...' : '검색 결과 더 보기'}
+      </button>
+    </div>
+  );
+
   const handleKeyPress = (e: React.KeyboardEvent) => {
     if (e.key === 'Enter') {
       handleSearch();
@@ -293,6 +363,7 @@ export function BookSearch({ onAddBook, selectedBookIds, compact = false, onSear
                     )}
                   </button>
                 ))}
+                {loadMoreButton}
               </div>
             </div>
           </>
@@ -500,8 +571,8 @@ export function BookSearch({ onAddBook, selectedBookIds, compact = false, onSear
                     )}
                   </div>
                   
-                  {/* 중고 개수 - 세로 가운데 배치 */}
-                  {book.usedCount !== undefined && book.usedCount > 0 && (
+                  {/* 중고 개수, 최저가 - 세로 가운데 배치 */}
+                  {book.usedCount != null && book.usedCount > 0 && (
                     <div 
                       className="flex flex-col items-center justify-center ml-3"
                       style={{
@@ -526,6 +597,15 @@ export function BookSearch({ onAddBook, selectedBookIds, compact = false, onSear
                       }}>
                         중고
                       </span>
+                      {book.usedMinPrice != null && (
+                        <span style={{ 
+                          fontSize: '11px', 
+                          color: 'var(--color-text-secondary)',
+                          marginTop: '2px'
+                        }}>
+                          {book.usedMinPrice.toLocaleString()}원~
+                        </span>
+                      )}
                     </div>
                   )}
                 </div>
@@ -570,6 +650,7 @@ export function BookSearch({ onAddBook, selectedBookIds, compact = false, onSear
               </div>
             ))}
           </div>
+          {loadMoreButton}
         </div>
       )}
     </div>
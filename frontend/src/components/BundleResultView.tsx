@@ -9,7 +9,7 @@ interface BundleResultViewProps {
 const INITIAL_DISPLAY_COUNT = 5;
 
 export function BundleResultView({ result, onClose }: BundleResultViewProps) {
-  const { sellers, totalRequestedCount, hasCompleteSeller, analysisTimeMs, requestedBooks } = result;
+  const { sellers, totalRequestedCount, hasCompleteSeller, analysisTimeMs, requestedBooks, complete } = result;
   const [showAll, setShowAll] = useState(false);
   const [expandedSellers, setExpandedSellers] = useState<Set<string>>(new Set());
 
@@ -89,6 +89,17 @@ export function BundleResultView({ result, onClose }: BundleResultViewProps) {
         </div>
       </div>
 
+      {/* Partial Result Notice */}
+      {complete === false && (
+        <p 
+          className="mb-8"
+          style={{ fontSize: '14px', color: 'var(--color-text-secondary)' }}
+        >
+          시간 제한으로 일부 책/판매자는 확인하지 못했습니다. 
+          (미확인 책 {result.uncheckedItemIds?.length ?? 0}권, 확인 중이던 판매자 {result.incompleteSellerCodes?.length ?? 0}명)
+        </p>
+      )}
+
       {/* Complete Seller Alert */}
       {hasCompleteSeller && (
         <div 
@@ -206,8 +217,13 @@ export function BundleResultView({ result, onClose }: BundleResultViewProps) {
                               </span>
                             )}
                           </h3>
-                          {seller.sellerType && (
-                            <span className="text-caption">{seller.sellerType}</span>
+                          {(seller.sellerType || seller.satisfactionRate != null) && (
+                            <span className="text-caption">
+                              {[
+                                seller.sellerType,
+                                seller.satisfactionRate != null && `만족도 ${seller.satisfactionRate}%`,
+                              ].filter(Boolean).join(' · ')}
+                            </span>
                           )}
                         </div>
                       </div>
@@ -376,12 +392,21 @@ export function BundleResultView({ result, onClose }: BundleResultViewProps) {
                         backgroundColor: 'var(--color-background)'
                       }}
                     >
-                      <span style={{ 
-                        fontSize: '14px',
-                        color: 'var(--color-text-secondary)'
-                      }}>
-                        총 가격
-                      </span>
+                      <div style={{ display: 'flex', flexDirection: 'column', gap: '2px' }}>
+                        <span style={{ 
+                          fontSize: '14px',
+                          color: 'var(--color-text-secondary)'
+                        }}>
+                          총 가격
+                        </span>
+                        <span className="text-caption">
+                          {seller.shippingFee == null
+                            ? '배송비 별도'
+                            : seller.totalCost === seller.totalPrice
+                              ? '무료배송'
+                              : `배송비 포함 ${seller.totalCost.toLocaleString()}원`}
+                        </span>
+                      </div>
                       <span style={{ 
                         fontSize: '21px',
                         fontWeight: 'var(--font-weight-semibold)',
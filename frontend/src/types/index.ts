@@ -11,8 +11,16 @@ export interface BookSearchResult {
   cover?: string;
   priceStandard?: number;
   priceSales?: number;
-  usedCount?: number;
-  usedMinPrice?: number;
+  usedCount?: number | null;     // null: 검색 결과 페이지에서 확인하지 못함 (보강 대상)
+  usedMinPrice?: number | null;  // null: 아직 모름 (보강 결과로 채워짐)
+}
+
+/**
+ * 책 검색 결과 한 페이지 (nextCursor: 다음 페이지 요청에 전달, 마지막이면 null)
+ */
+export interface BookSearchPage {
+  items: BookSearchResult[];
+  nextCursor: string | null;
 }
 
 /**
@@ -20,6 +28,7 @@ export interface BookSearchResult {
  */
 export interface BookItem {
   itemId: number;
+  originalItemId?: number;
   isbn13?: string;
   title: string;
   author?: string;
@@ -58,6 +67,7 @@ export interface SellerInfo {
   totalPrice: number;
   shippingFee?: number;
   freeShippingThreshold?: number;
+  totalCost: number;
 }
 
 /**
@@ -65,6 +75,10 @@ export interface SellerInfo {
  */
 export interface BundleRequest {
   books: BookItem[];
+  topK?: number;           // 추천 판매자 수 (기본 20)
+  candidateLimit?: number; // 상세 검증 대상 판매자 수 (기본 25)
+  timeBudgetMs?: number;   // 분석 시간 제한 (ms, 초과 시 부분 결과)
+  clientId?: string;       // 탭 식별자 (같은 값의 새 분석 시 이전 분석 중단)
 }
 
 /**
@@ -76,5 +90,8 @@ export interface BundleResult {
   sellers: SellerInfo[];
   hasCompleteSeller: boolean;
   analysisTimeMs: number;
+  complete: boolean;                // 시간 제한 안에 모두 확인했는지
+  uncheckedItemIds: number[];       // 판매자 목록 조회를 마치지 못한 책
+  incompleteSellerCodes: string[];  // 상세 검증을 마치지 못한 판매자
 }
 